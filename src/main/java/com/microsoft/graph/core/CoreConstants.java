@@ -46,6 +46,8 @@ public final class CoreConstants {
         public static final String FEATURE_FLAG = "FeatureFlag";
         /** Default version value constant. */
         public static final String DEFAULT_VERSION_VALUE = "0";
+        /** Retry after header constant. */
+        public static final String RETRY_AFTER = "Retry-After";
     }
 
     /**
@@ -55,6 +57,8 @@ public final class CoreConstants {
         private BatchRequest(){}
         /** Batch request max requests property */
         public static final int MAX_REQUESTS = 20;
+        /** Batch request step status code of a step depending on a failed step */
+        public static final int FAILED_DEPENDENCY = 424;
         /** Batch request step id property */
         public static final String ID = "id";
         /** Batch request step url property */
@@ -108,6 +112,8 @@ public final class CoreConstants {
         public static final String NEXT_LINK = "@odata.nextLink";
         /** DeltaLink odata instance annotation */
         public static final String DELTA_LINK = "@odata.deltaLink";
+        /** Removed instance annotation, set on the entities of a delta response that were deleted or moved out of the collection */
+        public static final String REMOVED = "@removed";
     }
 
     /**
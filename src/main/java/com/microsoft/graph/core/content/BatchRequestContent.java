@@ -1,7 +1,5 @@
 package com.microsoft.graph.core.content;
 
-import com.google.gson.*;
-import com.google.gson.stream.JsonWriter;
 import com.microsoft.graph.core.CoreConstants;
 import com.microsoft.graph.core.ErrorConstants;
 import com.microsoft.graph.core.models.BatchRequestStep;
@@ -12,11 +10,16 @@ import com.microsoft.kiota.RequestInformation;
 
 import okhttp3.*;
 import okio.Buffer;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Sink;
+import okio.Timeout;
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 
 import java.io.*;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 
@@ -156,77 +159,91 @@ public class BatchRequestContent {
     }
     /**
      * Builds the json content of the batch request.
+     * The content is written one step at a time as the stream is read, so it is never held in memory as a whole, only the content of one step at a time.
+     * The JSON body of each step is copied as it is, after checking that it holds a single JSON value, and fails the read with an IOException otherwise.
      * @return The json content of the batch request as an InputStream.
      * @throws IOException if there was an error writing the batch request content.
      */
     @Nonnull
     public InputStream getBatchRequestContent() throws IOException {
-        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        JsonWriter writer = new JsonWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
-        writer.beginObject();
-        writer.name(CoreConstants.BatchRequest.REQUESTS);
-        writer.beginArray();
-        for (BatchRequestStep requestStep : this.batchRequestSteps.values()) {
-            writeBatchRequestStep(requestStep, writer);
-        }
-        writer.endArray();
-        writer.endObject();
-        writer.flush();
-        final ByteArrayInputStream out = new ByteArrayInputStream(outputStream.toByteArray());
-        outputStream.close();
-        return out;
+        return new BatchRequestContentStream(new ArrayList<>(this.batchRequestSteps.values()));
     }
     private static final String AUTHORIZATION_HEADER_KEY = "authorization";
-    private void writeBatchRequestStep(BatchRequestStep requestStep, JsonWriter writer) throws IOException {
+    private void writeBatchRequestStep(BatchRequestStep requestStep, BufferedSink sink) throws IOException {
             Request request = requestStep.getRequest();
-            writer.beginObject();
-            writer.name(CoreConstants.BatchRequest.ID).value(requestStep.getRequestId());
-            writer.name(CoreConstants.BatchRequest.URL).value(getRelativeUrl(request.url()));
-            writer.name(CoreConstants.BatchRequest.METHOD).value(request.method());
+            sink.writeByte('{');
+            writeJsonName(CoreConstants.BatchRequest.ID, sink);
+            writeJsonString(requestStep.getRequestId(), sink);
+            sink.writeByte(',');
+            writeJsonName(CoreConstants.BatchRequest.URL, sink);
+            writeJsonString(getRelativeUrl(request.url()), sink);
+            sink.writeByte(',');
+            writeJsonName(CoreConstants.BatchRequest.METHOD, sink);
+            writeJsonString(request.method(), sink);
 
             List<String> dependsOn = requestStep.getDependsOn();
             if(!dependsOn.isEmpty()) {
-                writer.name(CoreConstants.BatchRequest.DEPENDS_ON);
-                writer.beginArray();
-                for(String id : dependsOn) {
-                    writer.value(id);
+                sink.writeByte(',');
+                writeJsonName(CoreConstants.BatchRequest.DEPENDS_ON, sink);
+                sink.writeByte('[');
+                for(int i = 0; i < dependsOn.size(); i++) {
+                    if(i > 0) {
+                        sink.writeByte(',');
+                    }
+                    writeJsonString(dependsOn.get(i), sink);
                 }
-                writer.endArray();
+                sink.writeByte(']');
             }
             RequestBody requestBody = request.body();
             Headers headers = request.headers();
             if(requestBody != null) {
                 String contentType = Objects.requireNonNull(requestBody.contentType()).toString();
                 headers = headers.newBuilder().add("Content-Type", contentType).build();
-                writer.name(CoreConstants.BatchRequest.BODY);
+                sink.writeByte(',');
+                writeJsonName(CoreConstants.BatchRequest.BODY, sink);
                 if(contentType.toLowerCase(Locale.US).contains(CoreConstants.MimeTypeNames.APPLICATION_JSON)){
-                    JsonObject bodyObject = getJsonRequestContent(requestBody);
-                    writer.jsonValue(bodyObject.toString());
+                    writeJsonRequestContent(requestBody, sink);
                 } else {
                     String rawBodyContent = getRawRequestContent(requestBody);
-                    writer.value(rawBodyContent);
+                    writeJsonString(rawBodyContent, sink);
                 }
             }
             //Remove the header if it is some version of 'authorization'
             //RemoveAll utilizes ignoreCase natively
             headers = headers.newBuilder().removeAll(AUTHORIZATION_HEADER_KEY).build();
             if(headers.size() != 0 || requestBody != null) {
-                writer.name(CoreConstants.BatchRequest.HEADERS);
-                writer.beginObject();
+                sink.writeByte(',');
+                writeJsonName(CoreConstants.BatchRequest.HEADERS, sink);
+                sink.writeByte('{');
                 for (int i = 0; i < headers.size(); i++) {
-                    writer.name(headers.name(i)).value(headers.value(i));
+                    if(i > 0) {
+                        sink.writeByte(',');
+                    }
+                    writeJsonName(headers.name(i), sink);
+                    writeJsonString(headers.value(i), sink);
                 }
-                writer.endObject();
+                sink.writeByte('}');
             }
-            writer.endObject();
+            sink.writeByte('}');
     }
-    private JsonObject getJsonRequestContent(RequestBody requestBody) throws IOException {
-        try {
+    /**
+     * Splices the JSON body of a step into the batch request content as raw bytes, failing if the body is empty or is not a single JSON value.
+     */
+    private void writeJsonRequestContent(RequestBody requestBody, BufferedSink sink) throws IOException {
+        JsonValueSink valueSink = new JsonValueSink(sink);
+        BufferedSink bodySink = Okio.buffer(valueSink);
+        Charset charset = Objects.requireNonNull(requestBody.contentType()).charset();
+        if(charset == null || StandardCharsets.UTF_8.equals(charset)) {
+            requestBody.writeTo(bodySink);
+        } else {
+            //The batch content is UTF-8, bodies in other charsets are decoded first
             Buffer buffer = new Buffer();
             requestBody.writeTo(buffer);
-            return JsonParser.parseString(buffer.readUtf8()).getAsJsonObject();
-        } catch(IOException e) {
-            throw new IOException(ErrorConstants.Messages.UNABLE_TO_DESERIALIZE_CONTENT, e);
+            bodySink.writeUtf8(buffer.readString(charset));
+        }
+        bodySink.flush();
+        if(!valueSink.isSingleValue()) {
+            throw new IOException(ErrorConstants.Messages.UNABLE_TO_DESERIALIZE_CONTENT);
         }
     }
     private String getRawRequestContent(RequestBody requestBody) throws IOException {
@@ -238,6 +255,37 @@ public class BatchRequestContent {
             throw new IOException(ErrorConstants.Messages.UNABLE_TO_DESERIALIZE_CONTENT, e);
         }
     }
+    private static void writeJsonName(String name, BufferedSink sink) throws IOException {
+        writeJsonString(name, sink);
+        sink.writeByte(':');
+    }
+    private static void writeJsonString(String value, BufferedSink sink) throws IOException {
+        sink.writeByte('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            String escaped;
+            switch (c) {
+                case '"': escaped = "\\\""; break;
+                case '\\': escaped = "\\\\"; break;
+                case '\n': escaped = "\\n"; break;
+                case '\r': escaped = "\\r"; break;
+                case '\t': escaped = "\\t"; break;
+                case '\b': escaped = "\\b"; break;
+                case '\f': escaped = "\\f"; break;
+                default:
+                    if(c >= 0x20 && c != '\u2028' && c != '\u2029') {
+                        continue;
+                    }
+                    escaped = String.format(Locale.US, "\\u%04x", (int) c);
+            }
+            sink.writeUtf8(value, start, i);
+            sink.writeUtf8(escaped);
+            start = i + 1;
+        }
+        sink.writeUtf8(value, start, value.length());
+        sink.writeByte('"');
+    }
     private boolean containsCorrespondingRequestId(List<String> dependsOn) {
         return dependsOn.stream().allMatch(id -> this.batchRequestSteps.containsKey(id));
     }
@@ -249,4 +297,150 @@ public class BatchRequestContent {
         }
         return (path + "?" + query); // `v1.0/` and `beta/` are both 5 characters
     }
+    /**
+     * Writes the json content of the batch request into a buffer one step at a time, each time the reader has consumed the previous one.
+     */
+    private final class BatchRequestContentStream extends InputStream {
+        private final Buffer buffer = new Buffer();
+        private final Iterator<BatchRequestStep> steps;
+        private boolean started;
+        private boolean finished;
+        private BatchRequestContentStream(List<BatchRequestStep> steps) {
+            this.steps = steps.iterator();
+        }
+        private boolean fill() throws IOException {
+            while(buffer.size() == 0 && !finished) {
+                if(!started) {
+                    buffer.writeByte('{');
+                    writeJsonName(CoreConstants.BatchRequest.REQUESTS, buffer);
+                    buffer.writeByte('[');
+                    started = true;
+                } else if(steps.hasNext()) {
+                    writeBatchRequestStep(steps.next(), buffer);
+                    if(steps.hasNext()) {
+                        buffer.writeByte(',');
+                    }
+                } else {
+                    buffer.writeUtf8("]}");
+                    finished = true;
+                }
+            }
+            return buffer.size() > 0;
+        }
+        @Override
+        public int read() throws IOException {
+            return fill() ? buffer.readByte() & 0xff : -1;
+        }
+        @Override
+        public int read(@Nonnull byte[] b, int off, int len) throws IOException {
+            if(len == 0) {
+                return 0;
+            }
+            return fill() ? buffer.read(b, off, len) : -1;
+        }
+        @Override
+        public void close() {
+            buffer.clear();
+            finished = true;
+        }
+    }
+    /**
+     * Forwards the bytes of a JSON body to the sink as they are, while tracking strings and brackets to check that they form a single JSON value.
+     * The tokens between the brackets are not parsed, the server still rejects a body that is otherwise malformed.
+     */
+    private static final class JsonValueSink implements Sink {
+        private final BufferedSink sink;
+        private final byte[] chunk = new byte[8192];
+        private final BitSet openedArrays = new BitSet();
+        private int depth;
+        private boolean started;
+        private boolean inString;
+        private boolean escaped;
+        private boolean inScalar;
+        private boolean complete;
+        private boolean invalid;
+        private JsonValueSink(BufferedSink sink) {
+            this.sink = sink;
+        }
+        @Override
+        public void write(@Nonnull Buffer source, long byteCount) throws IOException {
+            long remaining = byteCount;
+            while (remaining > 0) {
+                int read = source.read(chunk, 0, (int) Math.min(chunk.length, remaining));
+                if(read == -1) {
+                    throw new EOFException();
+                }
+                for (int i = 0; i < read; i++) {
+                    scan(chunk[i]);
+                }
+                sink.write(chunk, 0, read);
+                remaining -= read;
+            }
+        }
+        private void scan(byte b) {
+            if(invalid) {
+                return;
+            }
+            if(inString) {
+                if(escaped) {
+                    escaped = false;
+                } else if(b == '\\') {
+                    escaped = true;
+                } else if(b == '"') {
+                    inString = false;
+                    complete = depth == 0;
+                }
+                return;
+            }
+            if(b == ' ' || b == '\t' || b == '\n' || b == '\r') {
+                if(inScalar && depth == 0) {
+                    inScalar = false;
+                    complete = true;
+                }
+                return;
+            }
+            if(complete || (!started && "{[\"-0123456789tfn".indexOf(b) == -1)) {
+                invalid = true;
+                return;
+            }
+            started = true;
+            switch (b) {
+                case '{':
+                case '[':
+                    invalid = inScalar;
+                    openedArrays.set(depth++, b == '[');
+                    break;
+                case '}':
+                case ']':
+                    if(depth == 0 || openedArrays.get(depth - 1) != (b == ']')) {
+                        invalid = true;
+                        return;
+                    }
+                    complete = --depth == 0;
+                    break;
+                case '"':
+                    invalid = inScalar;
+                    inString = true;
+                    break;
+                default:
+                    inScalar = inScalar || depth == 0;
+            }
+        }
+        private boolean isSingleValue() {
+            return !invalid && started && depth == 0 && !inString && (complete || inScalar);
+        }
+        @Nonnull
+        @Override
+        public Timeout timeout() {
+            return sink.timeout();
+        }
+        @Override
+        public void flush() {
+            //Flushing the sink is left to its owner
+        }
+        @Override
+        public void close() {
+            //The sink is owned by the caller
+        }
+    }
 }
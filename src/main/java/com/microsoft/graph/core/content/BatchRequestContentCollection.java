@@ -12,12 +12,14 @@ import java.util.*;
 
 /**
  * A collection of batch requests
+ * The steps of the collection may depend on steps of any batch of the collection, they are packed again before execution so that the steps depending on each other are posted together.
  */
 public class BatchRequestContentCollection {
     private IBaseClient baseClient;
     private List<BatchRequestContent> batchRequests;
     private int batchRequestLimit;
     private BatchRequestContent currentBatchRequest;
+    private List<List<BatchRequestContent>> executionWaves;
     private boolean readOnly = false;
     /**
      * Creates a new batch request collection with the default maximum number of requests.
@@ -61,6 +63,26 @@ public class BatchRequestContentCollection {
         setupCurrentRequest();
         return currentBatchRequest.addBatchRequestStep(requestInformation);
     }
+    /**
+     * Adds a step to the current BatchRequestContent object of the collection.
+     * The dependsOn relations of the step may refer to any step of the collection, including steps added later, they are validated when the collection is packed for execution.
+     * @param requestStep the step to add, which is copied.
+     * @return true if the step was added, false if a step with the same id is already in the current BatchRequestContent object.
+     */
+    public boolean addBatchRequestStep(@Nonnull BatchRequestStep requestStep) {
+        Objects.requireNonNull(requestStep, ErrorConstants.Messages.NULL_PARAMETER + "requestStep");
+        setupCurrentRequest();
+        BatchRequestStep addedStep = new BatchRequestStep(requestStep.getRequestId(), requestStep.getRequest());
+        if(!currentBatchRequest.addBatchRequestStep(addedStep)) {
+            return false;
+        }
+        List<String> dependsOn = requestStep.getDependsOn();
+        if(!dependsOn.isEmpty()) {
+            //set once added, as the batch only accepts relations to its own steps
+            addedStep.setDependsOn(dependsOn);
+        }
+        return true;
+    }
     /**
      * removes a request from a BatchRequestContent object within the collection.
      * @param requestId the id of the request to remove.
@@ -69,27 +91,69 @@ public class BatchRequestContentCollection {
     public boolean removeBatchRequestStepWithId(@Nonnull String requestId) {
         validateReadOnly();
         boolean removed = currentBatchRequest.removeBatchRequestStepWithId(requestId);
-        if(!removed && !batchRequests.isEmpty()) {
-            for (BatchRequestContent batchRequest : batchRequests) {
-                removed = batchRequest.removeBatchRequestStepWithId(requestId);
-                if(removed) {
-                    return true;
+        for (BatchRequestContent batchRequest : batchRequests) {
+            removed = batchRequest.removeBatchRequestStepWithId(requestId) || removed;
+        }
+        if(removed) {
+            //steps of other batches may depend on the removed step as well
+            for (BatchRequestStep requestStep : getBatchRequestSteps().values()) {
+                if(requestStep.getDependsOn().contains(requestId)) {
+                    requestStep.removeDependsOnId(requestId);
                 }
             }
         }
         return removed;
     }
     /**
-     * Get list of BatchRequestContent objects for execution.
+     * Get list of BatchRequestContent objects for execution, the batches of a wave come before the batches of the next wave.
      * @return list of BatchRequestContent objects for execution.
      */
     @Nonnull
     public List<BatchRequestContent> getBatchRequestsForExecution() {
+        List<BatchRequestContent> requests = new ArrayList<>();
+        for (List<BatchRequestContent> wave : getBatchRequestWavesForExecution()) {
+            requests.addAll(wave);
+        }
+        return requests;
+    }
+    /**
+     * Get the waves of BatchRequestContent objects for execution.
+     * The steps are packed into as few batches as possible, the steps connected by dependsOn relations being placed in the same batch whenever they fit in a single batch.
+     * The steps of larger dependency chains are split across batches of successive waves, the batches of a wave should only be posted once all the batches of the previous waves completed.
+     * The batches of a wave do not depend on each other and can be posted concurrently.
+     * The packed batches do not keep the dependsOn relations of their steps to the steps of other batches, while the steps of the collection, returned by {@link #getBatchRequestSteps()}, keep all their relations.
+     * The collection can no longer be changed once packed.
+     * @return the waves of BatchRequestContent objects for execution.
+     * @throws IllegalArgumentException if a step depends on a step missing from the collection, the dependsOn relations contain a cycle or two steps have the same id.
+     */
+    @Nonnull
+    public List<List<BatchRequestContent>> getBatchRequestWavesForExecution() {
+        if(executionWaves == null) {
+            List<BatchRequestStep> steps = new ArrayList<>();
+            for (BatchRequestContent batchRequest : batchRequests) {
+                steps.addAll(batchRequest.getBatchRequestSteps().values());
+            }
+            steps.addAll(currentBatchRequest.getBatchRequestSteps().values());
+            List<List<BatchRequestContent>> waves = new ArrayList<>();
+            for (List<List<BatchRequestStep>> wave : BatchRequestStepPacker.pack(steps, batchRequestLimit)) {
+                List<BatchRequestContent> waveRequests = new ArrayList<>();
+                for (List<BatchRequestStep> batch : wave) {
+                    BatchRequestContent batchRequest = new BatchRequestContent(baseClient);
+                    for (BatchRequestStep requestStep : batch) {
+                        batchRequest.addBatchRequestStep(requestStep);
+                    }
+                    waveRequests.add(batchRequest);
+                }
+                waves.add(waveRequests);
+            }
+            executionWaves = waves;
+        }
         readOnly = true;
-        if(currentBatchRequest.getBatchRequestSteps().size() > 0) {
-            batchRequests.add(currentBatchRequest);
+        List<List<BatchRequestContent>> waves = new ArrayList<>();
+        for (List<BatchRequestContent> wave : executionWaves) {
+            waves.add(new ArrayList<>(wave));
         }
-        return new ArrayList<>(batchRequests);
+        return waves;
     }
     /**
      * Get all BatchRequestSteps from all BatchRequestContent objects within the collection.
@@ -0,0 +1,184 @@
+package com.microsoft.graph.core.content;
+
+import com.microsoft.graph.core.ErrorConstants;
+import com.microsoft.graph.core.models.BatchRequestStep;
+
+import jakarta.annotation.Nonnull;
+import java.util.*;
+
+/**
+ * Packs batch request steps into batches of a maximum size, keeping the steps that depend on each other together.
+ * The steps connected by dependsOn relations form a component that is packed into a single batch when it fits, components are bin-packed largest first.
+ * A component larger than a batch is split in dependency order, the steps depending on steps of an earlier batch are placed in a later wave,
+ * and their dependsOn relations to the steps of the earlier batch are dropped as the earlier wave completes before the batch is posted.
+ * The steps depending on a step of an earlier wave that failed are then answered with a 424 Failed Dependency status code by the poster instead of being posted.
+ */
+final class BatchRequestStepPacker {
+    private BatchRequestStepPacker() {
+    }
+    /**
+     * Packs the steps into waves of batches.
+     * @param steps the steps to pack, in the order they were added.
+     * @param batchRequestLimit the maximum number of steps of a batch.
+     * @return the waves of batches, the batches of a wave do not depend on each other.
+     */
+    @Nonnull
+    static List<List<List<BatchRequestStep>>> pack(@Nonnull List<BatchRequestStep> steps, int batchRequestLimit) {
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < steps.size(); i++) {
+            if(indexes.put(steps.get(i).getRequestId(), i) != null) {
+                throw new IllegalArgumentException("The batch request steps contain more than one step with the id " + steps.get(i).getRequestId() + ".");
+            }
+        }
+        List<List<Integer>> dependencies = new ArrayList<>();
+        for (BatchRequestStep step : steps) {
+            List<Integer> stepDependencies = new ArrayList<>();
+            for (String id : step.getDependsOn()) {
+                Integer index = indexes.get(id);
+                if(index == null) {
+                    throw new IllegalArgumentException(ErrorConstants.Messages.INVALID_DEPENDS_ON_REQUEST_ID);
+                }
+                stepDependencies.add(index);
+            }
+            dependencies.add(stepDependencies);
+        }
+        int[] order = sortByDependencies(dependencies);
+        int[] components = new int[steps.size()];
+        for (int i = 0; i < components.length; i++) {
+            components[i] = i;
+        }
+        for (int i = 0; i < steps.size(); i++) {
+            for (int dependency : dependencies.get(i)) {
+                components[findComponent(components, i)] = findComponent(components, dependency);
+            }
+        }
+        Map<Integer, List<Integer>> stepsByComponent = new LinkedHashMap<>();
+        for (int index : order) {
+            stepsByComponent.computeIfAbsent(findComponent(components, index), key -> new ArrayList<>()).add(index);
+        }
+
+        List<Bin> bins = new ArrayList<>();
+        List<List<Integer>> smallComponents = new ArrayList<>();
+        int[] binOfStep = new int[steps.size()];
+        for (List<Integer> component : stepsByComponent.values()) {
+            if(component.size() <= batchRequestLimit) {
+                smallComponents.add(component);
+                continue;
+            }
+            for (int start = 0; start < component.size(); start += batchRequestLimit) {
+                Bin bin = new Bin(bins.size());
+                for (int index : component.subList(start, Math.min(start + batchRequestLimit, component.size()))) {
+                    // the steps a step depends on come first in the component, so they were already placed in this bin or an earlier one
+                    for (int dependency : dependencies.get(index)) {
+                        if(binOfStep[dependency] != bin.position) {
+                            bin.wave = Math.max(bin.wave, bins.get(binOfStep[dependency]).wave + 1);
+                        }
+                    }
+                    binOfStep[index] = bin.position;
+                    bin.steps.add(index);
+                }
+                bins.add(bin);
+            }
+        }
+        // largest first, the sort is stable so components of the same size keep the order of their first step
+        smallComponents.sort(Comparator.comparingInt(component -> -component.size()));
+        List<Bin> binsByWave = new ArrayList<>(bins);
+        binsByWave.sort(Comparator.comparingInt(bin -> bin.wave));
+        for (List<Integer> component : smallComponents) {
+            Bin target = null;
+            for (Bin bin : binsByWave) {
+                if(bin.steps.size() + component.size() <= batchRequestLimit) {
+                    target = bin;
+                    break;
+                }
+            }
+            if(target == null) {
+                target = new Bin(bins.size());
+                bins.add(target);
+                binsByWave.add(0, target);
+            }
+            for (int index : component) {
+                binOfStep[index] = target.position;
+            }
+            target.steps.addAll(component);
+        }
+
+        List<List<List<BatchRequestStep>>> waves = new ArrayList<>();
+        for (Bin bin : bins) {
+            while (waves.size() <= bin.wave) {
+                waves.add(new ArrayList<>());
+            }
+            List<BatchRequestStep> batch = new ArrayList<>();
+            for (int index : bin.steps) {
+                batch.add(keepDependenciesInBin(steps.get(index), dependencies.get(index), binOfStep, bin.position, steps));
+            }
+            waves.get(bin.wave).add(batch);
+        }
+        return waves;
+    }
+    /**
+     * Sorts the steps so that every step comes after the steps it depends on, keeping the order the steps were added in otherwise.
+     */
+    private static int[] sortByDependencies(@Nonnull List<List<Integer>> dependencies) {
+        int[] remainingDependencies = new int[dependencies.size()];
+        List<List<Integer>> dependents = new ArrayList<>();
+        for (int i = 0; i < dependencies.size(); i++) {
+            dependents.add(new ArrayList<>());
+        }
+        for (int i = 0; i < dependencies.size(); i++) {
+            remainingDependencies[i] = dependencies.get(i).size();
+            for (int dependency : dependencies.get(i)) {
+                dependents.get(dependency).add(i);
+            }
+        }
+        PriorityQueue<Integer> readySteps = new PriorityQueue<>();
+        for (int i = 0; i < remainingDependencies.length; i++) {
+            if(remainingDependencies[i] == 0) {
+                readySteps.add(i);
+            }
+        }
+        int[] order = new int[dependencies.size()];
+        int sorted = 0;
+        while (!readySteps.isEmpty()) {
+            int index = readySteps.poll();
+            order[sorted++] = index;
+            for (int dependent : dependents.get(index)) {
+                if(--remainingDependencies[dependent] == 0) {
+                    readySteps.add(dependent);
+                }
+            }
+        }
+        if(sorted != order.length) {
+            throw new IllegalArgumentException("The dependsOn relations of the batch request steps contain a cycle.");
+        }
+        return order;
+    }
+    private static int findComponent(@Nonnull int[] components, int index) {
+        while (components[index] != index) {
+            components[index] = components[components[index]];
+            index = components[index];
+        }
+        return index;
+    }
+    @Nonnull
+    private static BatchRequestStep keepDependenciesInBin(@Nonnull BatchRequestStep step, @Nonnull List<Integer> dependencies, @Nonnull int[] binOfStep, int bin, @Nonnull List<BatchRequestStep> steps) {
+        List<String> dependsOn = new ArrayList<>();
+        for (int dependency : dependencies) {
+            if(binOfStep[dependency] == bin) {
+                dependsOn.add(steps.get(dependency).getRequestId());
+            }
+        }
+        if(dependsOn.size() == dependencies.size()) {
+            return step;
+        }
+        return new BatchRequestStep(step.getRequestId(), step.getRequest(), dependsOn);
+    }
+    private static final class Bin {
+        private final int position;
+        private final List<Integer> steps = new ArrayList<>();
+        private int wave;
+        private Bin(int position) {
+            this.position = position;
+        }
+    }
+}
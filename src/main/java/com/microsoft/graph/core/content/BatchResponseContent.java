@@ -1,6 +1,11 @@
 package com.microsoft.graph.core.content;
 
-import com.google.gson.*;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
 import com.microsoft.graph.core.CoreConstants;
 import com.microsoft.graph.core.ErrorConstants;
 import com.microsoft.graph.core.requests.ResponseBodyHandler;
@@ -19,10 +24,13 @@ import java.util.*;
 
 /**
  * A class representing the content of a batch request response.
+ * The payload is read in a single streaming pass into an index of the responses by id, their bodies are only turned into responses when requested.
+ * A payload that is not a well formed batch response, such as a truncated one, fails the lookups with a JsonSyntaxException.
  */
 public class BatchResponseContent {
     private Response batchResponse;
-    private JsonObject jsonBatchResponseObject;
+    private Map<String, ResponseEntry> responseEntries;
+    private String nextLink;
     private HashMap<String, ParsableFactory<? extends Parsable>> apiErrorMappings;
     private Protocol batchResponseProtocol;
     private Request batchResponseRequest;
@@ -51,15 +59,8 @@ public class BatchResponseContent {
     @Nonnull
     public Map<String, Response> getResponses() {
         HashMap<String, Response> responses = new HashMap<>();
-        jsonBatchResponseObject = jsonBatchResponseObject != null ? jsonBatchResponseObject : getBatchResponseContent();
-        if (jsonBatchResponseObject != null) {
-            JsonElement responsesElement = jsonBatchResponseObject.get(CoreConstants.BatchRequest.RESPONSES);
-            if (responsesElement != null && responsesElement.isJsonArray()) { //ensure "responses" is not null and is an array.
-                JsonArray responsesArray = responsesElement.getAsJsonArray();
-                for (JsonElement responseElement : responsesArray) {
-                    responses.put(responseElement.getAsJsonObject().get("id").getAsString(), getResponseFromJsonObject(responseElement));
-                }
-            }
+        for (ResponseEntry entry : getResponseEntries().values()) {
+            responses.put(entry.id, getResponseFromEntry(entry));
         }
         return responses;
     }
@@ -70,15 +71,11 @@ public class BatchResponseContent {
     @Nonnull
     public Map<String, Integer> getResponsesStatusCode() {
         HashMap<String, Integer> statusCodes = new HashMap<>();
-        jsonBatchResponseObject = jsonBatchResponseObject != null ? jsonBatchResponseObject : getBatchResponseContent();
-        if (jsonBatchResponseObject != null) {
-            JsonElement responsesElement = jsonBatchResponseObject.get(CoreConstants.BatchRequest.RESPONSES);
-            if (responsesElement != null && responsesElement.isJsonArray()) { //ensure "responses" is not null and is an array.
-                JsonArray responsesArray = responsesElement.getAsJsonArray();
-                for (JsonElement responseElement : responsesArray) {
-                    statusCodes.put(responseElement.getAsJsonObject().get("id").getAsString(), getStatusCodeFromJsonObject(responseElement));
-                }
+        for (ResponseEntry entry : getResponseEntries().values()) {
+            if(entry.status == null) {
+                throw new IllegalArgumentException("Response object does not contain status code");
             }
+            statusCodes.put(entry.id, entry.status);
         }
         return statusCodes;
     }
@@ -91,17 +88,9 @@ public class BatchResponseContent {
     public Response getResponseById(@Nonnull String requestId) {
         Objects.requireNonNull(requestId);
         if(!requestId.isEmpty()) {
-            jsonBatchResponseObject = jsonBatchResponseObject != null ? jsonBatchResponseObject : getBatchResponseContent();
-            if (jsonBatchResponseObject != null) {
-                JsonElement responsesElement = jsonBatchResponseObject.get(CoreConstants.BatchRequest.RESPONSES);
-                if (responsesElement != null && responsesElement.isJsonArray()) { //ensure "responses" is not null and is an array.
-                    JsonArray responsesArray = responsesElement.getAsJsonArray();
-                    for (JsonElement responseElement : responsesArray) {
-                        if (responseElement.getAsJsonObject().get("id").getAsString().equals(requestId)) {
-                            return getResponseFromJsonObject(responseElement);
-                        }
-                    }
-                }
+            ResponseEntry entry = getResponseEntries().get(requestId);
+            if(entry != null) {
+                return getResponseFromEntry(entry);
             }
         }
         return null;
@@ -152,55 +141,189 @@ public class BatchResponseContent {
      */
     @Nullable
     public String getNextLink() {
-        jsonBatchResponseObject = jsonBatchResponseObject != null ? jsonBatchResponseObject : getBatchResponseContent();
-        if(jsonBatchResponseObject != null) {
-            JsonElement nextLinkElement = jsonBatchResponseObject.get(CoreConstants.Serialization.ODATA_NEXT_LINK);
-            if (nextLinkElement != null && nextLinkElement.isJsonPrimitive()) {
-                return nextLinkElement.getAsString();
+        getResponseEntries();
+        return nextLink;
+    }
+    /**
+     * Reads the index of the responses on first use.
+     * @throws JsonSyntaxException if the payload is not a well formed batch response, such as a truncated payload.
+     * @throws JsonIOException if the payload could not be read.
+     */
+    private Map<String, ResponseEntry> getResponseEntries() {
+        if(responseEntries == null) {
+            Map<String, ResponseEntry> entries = new HashMap<>();
+            if (this.batchResponse.body() != null && this.batchResponse.body().contentType() != null) {
+                InputStream in = this.batchResponse.body().byteStream();
+                try(JsonReader reader = new JsonReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                    readBatchResponseContent(reader, entries);
+                } catch (MalformedJsonException | EOFException | IllegalStateException | NumberFormatException e) {
+                    throw new JsonSyntaxException("The batch response content is malformed", e);
+                } catch (IOException e) {
+                    throw new JsonIOException("Unable to read the batch response content", e);
+                }
             }
+            responseEntries = entries;
         }
-        return null;
+        return responseEntries;
     }
-    private JsonObject getBatchResponseContent() {
-        if (this.batchResponse.body() != null && this.batchResponse.body().contentType() != null) {
-            InputStream in = this.batchResponse.body().byteStream();
-            try(InputStreamReader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
-                return JsonParser.parseReader(reader).getAsJsonObject();
-            } catch (IOException e) {
-                return null;
+    private void readBatchResponseContent(@Nonnull JsonReader reader, @Nonnull Map<String, ResponseEntry> entries) throws IOException {
+        if(reader.peek() != JsonToken.BEGIN_OBJECT) {
+            return;
+        }
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if(name.equals(CoreConstants.BatchRequest.RESPONSES) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    ResponseEntry entry = readResponseEntry(reader);
+                    if(entry != null && entry.id != null) {
+                        entries.putIfAbsent(entry.id, entry);
+                    }
+                }
+                reader.endArray();
+            } else if(name.equals(CoreConstants.Serialization.ODATA_NEXT_LINK) && reader.peek() == JsonToken.STRING) {
+                nextLink = reader.nextString();
+            } else {
+                reader.skipValue();
             }
         }
-        return null;
+        reader.endObject();
     }
-    private Response getResponseFromJsonObject(JsonElement responseElement) {
+    @Nullable
+    private ResponseEntry readResponseEntry(@Nonnull JsonReader reader) throws IOException {
+        if(reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return null;
+        }
+        ResponseEntry entry = new ResponseEntry();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if(reader.peek() == JsonToken.NULL) {
+                reader.skipValue();
+            } else if(name.equals(CoreConstants.BatchRequest.ID)) {
+                entry.id = reader.nextString();
+            } else if(name.equals(CoreConstants.BatchRequest.STATUS)) {
+                entry.status = reader.nextInt();
+            } else if(name.equals(CoreConstants.BatchRequest.HEADERS) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                entry.headers = new ArrayList<>();
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    readHeader(reader, reader.nextName(), entry.headers);
+                }
+                reader.endObject();
+            } else if(name.equals(CoreConstants.BatchRequest.BODY)) {
+                entry.bodyIsObject = reader.peek() == JsonToken.BEGIN_OBJECT;
+                StringWriter body = new StringWriter();
+                try(JsonWriter writer = new JsonWriter(body)) {
+                    copyValue(reader, writer);
+                }
+                entry.body = body.toString();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return entry;
+    }
+    /**
+     * Reads the value of a header, a header with an array of values being added once per value.
+     * Null values and values that are neither strings, numbers nor booleans are skipped.
+     */
+    private static void readHeader(@Nonnull JsonReader reader, @Nonnull String name, @Nonnull List<String> headers) throws IOException {
+        switch (reader.peek()) {
+            case STRING:
+            case NUMBER:
+                headers.add(name);
+                headers.add(reader.nextString());
+                break;
+            case BOOLEAN:
+                headers.add(name);
+                headers.add(String.valueOf(reader.nextBoolean()));
+                break;
+            case BEGIN_ARRAY:
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    readHeader(reader, name, headers);
+                }
+                reader.endArray();
+                break;
+            default:
+                reader.skipValue();
+                break;
+        }
+    }
+    /**
+     * Copies the next value of the reader token by token, so that the raw body of a response is kept as text without building a tree of it.
+     */
+    private static void copyValue(@Nonnull JsonReader reader, @Nonnull JsonWriter writer) throws IOException {
+        int depth = 0;
+        do {
+            switch (reader.peek()) {
+                case BEGIN_OBJECT:
+                    reader.beginObject();
+                    writer.beginObject();
+                    depth++;
+                    break;
+                case END_OBJECT:
+                    reader.endObject();
+                    writer.endObject();
+                    depth--;
+                    break;
+                case BEGIN_ARRAY:
+                    reader.beginArray();
+                    writer.beginArray();
+                    depth++;
+                    break;
+                case END_ARRAY:
+                    reader.endArray();
+                    writer.endArray();
+                    depth--;
+                    break;
+                case NAME:
+                    writer.name(reader.nextName());
+                    break;
+                case STRING:
+                    writer.value(reader.nextString());
+                    break;
+                case NUMBER:
+                    writer.jsonValue(reader.nextString());
+                    break;
+                case BOOLEAN:
+                    writer.value(reader.nextBoolean());
+                    break;
+                case NULL:
+                    reader.nextNull();
+                    writer.nullValue();
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected end of the batch response content");
+            }
+        } while (depth > 0);
+    }
+    private Response getResponseFromEntry(@Nonnull ResponseEntry entry) {
         Response.Builder response = new Response.Builder();
-        JsonObject responseObject = responseElement.getAsJsonObject();
-        String message = null;
-        if(responseObject.has(CoreConstants.BatchRequest.STATUS)) {
-            response.code(responseObject.get("status").getAsInt());
+        if(entry.status != null) {
+            response.code(entry.status);
         }
         String contentType = null;
-        if(responseObject.has(CoreConstants.BatchRequest.HEADERS)) {
-            JsonObject headers = responseObject.get(CoreConstants.BatchRequest.HEADERS).getAsJsonObject();
-            for(Map.Entry<String, JsonElement> header : headers.entrySet()) {
-                String key = header.getKey();
-                String value = header.getValue().getAsString();
+        if(entry.headers != null) {
+            for (int i = 0; i < entry.headers.size(); i += 2) {
+                String key = entry.headers.get(i);
+                String value = entry.headers.get(i + 1);
                 if(key.equalsIgnoreCase("Content-Type")) {
                     contentType = value;
                 }
                 response.addHeader(key, value);
             }
         }
-        if(responseObject.has(CoreConstants.BatchRequest.BODY)) {
-            String body = responseObject.get(CoreConstants.BatchRequest.BODY).toString();
-            if(responseObject.get("body").isJsonObject()) {
-                JsonObject bodyObject = responseObject.get("body").getAsJsonObject();
-                if(bodyObject.has(CoreConstants.BatchRequest.ERROR)) {
-                    JsonObject errorObject = bodyObject.get(CoreConstants.BatchRequest.ERROR).getAsJsonObject();
-                    message = errorObject.get("message").getAsString();
-                }
+        String message = null;
+        if(entry.body != null) {
+            if(entry.bodyIsObject) {
+                message = getErrorMessage(entry.body);
             }
-            ResponseBody responseBody = ResponseBody.create(body, MediaType.parse(contentType != null ? contentType : CoreConstants.MimeTypeNames.APPLICATION_JSON));
+            ResponseBody responseBody = ResponseBody.create(entry.body, MediaType.parse(contentType != null ? contentType : CoreConstants.MimeTypeNames.APPLICATION_JSON));
             response.body(responseBody);
             responseBody.close();
         }
@@ -209,14 +332,35 @@ public class BatchResponseContent {
         response.request(this.batchResponseRequest);
         return response.build();
     }
-
-    private int getStatusCodeFromJsonObject(JsonElement responseElement) {
-        JsonObject responseObject = responseElement.getAsJsonObject();
-        if(responseObject.has(CoreConstants.BatchRequest.STATUS)) {
-            return responseObject.get(CoreConstants.BatchRequest.STATUS).getAsInt();
-        } else {
-            throw new IllegalArgumentException("Response object does not contain status code");
+    @Nullable
+    private static String getErrorMessage(@Nonnull String body) {
+        try(JsonReader reader = new JsonReader(new StringReader(body))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if(reader.nextName().equals(CoreConstants.BatchRequest.ERROR) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        if(reader.nextName().equals("message") && reader.peek() == JsonToken.STRING) {
+                            return reader.nextString();
+                        }
+                        reader.skipValue();
+                    }
+                    return null;
+                }
+                reader.skipValue();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // the body was written by copyValue and is well formed
         }
+        return null;
+    }
+    private static final class ResponseEntry {
+        private String id;
+        private Integer status;
+        /** The names and values of the headers, one after the other. */
+        private List<String> headers;
+        private String body;
+        private boolean bodyIsObject;
     }
     /**
      * Checks if the status code is a success status code.
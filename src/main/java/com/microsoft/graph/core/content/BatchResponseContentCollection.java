@@ -1,13 +1,21 @@
 package com.microsoft.graph.core.content;
 
+import com.google.gson.stream.JsonWriter;
+import com.microsoft.graph.core.CoreConstants;
+import com.microsoft.graph.core.models.BatchRequestStep;
 import com.microsoft.kiota.ResponseHandler;
 import com.microsoft.kiota.serialization.Parsable;
 import com.microsoft.kiota.serialization.ParsableFactory;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
 import okhttp3.Response;
+import okhttp3.ResponseBody;
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringWriter;
 import java.util.*;
 
 /**
@@ -31,6 +39,49 @@ public class BatchResponseContentCollection {
     public void addBatchResponse(@Nonnull Collection<String> keys, @Nonnull BatchResponseContent content) {
         batchResponses.add(new KeyedBatchResponseContent(new HashSet<>(keys), content));
     }
+    /**
+     * Adds responses for steps that were not posted because a step they depend on failed.
+     * The steps are answered with a 424 Failed Dependency status code, as the service does within a batch.
+     * @param requestSteps the steps that were not posted.
+     * @param errorMappings the error mappings to use when deserializing the failed responses bodies.
+     * @throws IOException if there was an error writing the responses.
+     */
+    public void addFailedDependencyResponses(@Nonnull List<BatchRequestStep> requestSteps, @Nullable Map<String, ParsableFactory<? extends Parsable>> errorMappings) throws IOException {
+        Objects.requireNonNull(requestSteps);
+        if(requestSteps.isEmpty()) {
+            return;
+        }
+        StringWriter content = new StringWriter();
+        List<String> keys = new ArrayList<>();
+        try(JsonWriter writer = new JsonWriter(content)) {
+            writer.beginObject();
+            writer.name(CoreConstants.BatchRequest.RESPONSES);
+            writer.beginArray();
+            for (BatchRequestStep requestStep : requestSteps) {
+                keys.add(requestStep.getRequestId());
+                writer.beginObject();
+                writer.name(CoreConstants.BatchRequest.ID).value(requestStep.getRequestId());
+                writer.name(CoreConstants.BatchRequest.STATUS).value(CoreConstants.BatchRequest.FAILED_DEPENDENCY);
+                writer.name(CoreConstants.BatchRequest.BODY).beginObject();
+                writer.name(CoreConstants.BatchRequest.ERROR).beginObject();
+                writer.name("code").value("failedDependency");
+                writer.name("message").value("The request was not executed because a request it depends on failed.");
+                writer.endObject();
+                writer.endObject();
+                writer.endObject();
+            }
+            writer.endArray();
+            writer.endObject();
+        }
+        Response response = new Response.Builder()
+            .request(requestSteps.get(0).getRequest())
+            .protocol(Protocol.HTTP_1_1)
+            .code(200)
+            .message("OK")
+            .body(ResponseBody.create(content.toString(), MediaType.get(CoreConstants.MimeTypeNames.APPLICATION_JSON)))
+            .build();
+        addBatchResponse(keys, new BatchResponseContent(response, errorMappings));
+    }
     /**
      * Gets the BatchResponseContent object containing the response for the request with the given id.
      * @param requestId the id of the request to get the response for.
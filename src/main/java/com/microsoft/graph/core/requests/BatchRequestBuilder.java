@@ -6,6 +6,7 @@ import com.microsoft.graph.core.content.BatchRequestContentCollection;
 import com.microsoft.graph.core.content.BatchResponseContent;
 import com.microsoft.graph.core.content.BatchResponseContentCollection;
 import com.microsoft.graph.core.ErrorConstants;
+import com.microsoft.graph.core.models.BatchRequestStep;
 import com.microsoft.kiota.HttpMethod;
 import com.microsoft.kiota.NativeResponseHandler;
 import com.microsoft.kiota.RequestAdapter;
@@ -19,10 +20,21 @@ import jakarta.annotation.Nullable;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * A request builder for creating batch requests.
@@ -53,7 +65,8 @@ public class BatchRequestBuilder {
         return new BatchResponseContent((Response) nativeResponseHandler.getValue(), errorMappings);
     }
     /**
-     * Posts a BatchRequestContentCollection.
+     * Posts a BatchRequestContentCollection, one batch after another and one wave after another.
+     * Steps depending on a failed step of an earlier wave are not posted, they are answered with a 424 Failed Dependency status code.
      * @param batchRequestContentCollection the BatchRequestContentCollection to post.
      * @param errorMappings the error mappings to use when parsing the response.
      * @return the BatchResponseContentCollection.
@@ -61,14 +74,84 @@ public class BatchRequestBuilder {
      */
     @Nonnull
     public BatchResponseContentCollection post(@Nonnull BatchRequestContentCollection batchRequestContentCollection, @Nullable Map<String, ParsableFactory<? extends Parsable>> errorMappings) throws IOException {
+        Objects.requireNonNull(batchRequestContentCollection, ErrorConstants.Messages.NULL_PARAMETER + "batchRequestContentCollection");
         BatchResponseContentCollection collection = new BatchResponseContentCollection();
-        List<BatchRequestContent> requests = batchRequestContentCollection.getBatchRequestsForExecution();
-        for (BatchRequestContent request : requests) {
-            BatchResponseContent responseContent = post(request, errorMappings);
-            collection.addBatchResponse(request.getBatchRequestSteps().keySet(), responseContent);
+        // the steps are taken before packing, which drops their relations to the steps of earlier waves from the packed batches
+        Map<String, BatchRequestStep> steps = batchRequestContentCollection.getBatchRequestSteps();
+        List<List<BatchRequestContent>> waves = batchRequestContentCollection.getBatchRequestWavesForExecution();
+        Set<String> failedIds = new HashSet<>();
+        for (int wave = 0; wave < waves.size(); wave++) {
+            for (BatchRequestContent batch : waves.get(wave)) {
+                BatchRequestContent request = removeFailedDependents(batch, steps, failedIds, errorMappings, collection);
+                if(request == null) {
+                    continue;
+                }
+                BatchResponseContent responseContent = post(request, errorMappings);
+                collection.addBatchResponse(request.getBatchRequestSteps().keySet(), responseContent);
+                if(wave < waves.size() - 1) {
+                    addFailedIds(request, responseContent, failedIds);
+                }
+            }
         }
         return collection;
     }
+    /**
+     * Posts the batches of a BatchRequestContentCollection, up to maxConcurrentBatches at the same time, on maxConcurrentBatches threads owned by the call.
+     * @param batchRequestContentCollection the BatchRequestContentCollection to post.
+     * @param errorMappings the error mappings to use when parsing the response.
+     * @param maxConcurrentBatches the maximum number of batches posted at the same time.
+     * @return the BatchResponseContentCollection.
+     * @throws IOException if there was an error writing the request content.
+     */
+    @Nonnull
+    public BatchResponseContentCollection post(@Nonnull BatchRequestContentCollection batchRequestContentCollection, @Nullable Map<String, ParsableFactory<? extends Parsable>> errorMappings, int maxConcurrentBatches) throws IOException {
+        if(maxConcurrentBatches < 1) {
+            throw new IllegalArgumentException("maxConcurrentBatches must be greater than 0");
+        }
+        // posting a batch blocks on the network, so the batches are not posted on a shared pool
+        ExecutorService executor = Executors.newFixedThreadPool(maxConcurrentBatches, runnable -> {
+            Thread thread = new Thread(runnable, "batch-request-post");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            return postAsync(batchRequestContentCollection, errorMappings, maxConcurrentBatches, executor).join();
+        } catch (CompletionException ex) {
+            if(ex.getCause() instanceof IOException) {
+                throw (IOException) ex.getCause();
+            }
+            if(ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        } finally {
+            executor.shutdown();
+        }
+    }
+    /**
+     * Posts the batches of a BatchRequestContentCollection, up to maxConcurrentBatches at the same time.
+     * The batches of a wave of the collection do not depend on each other, their responses are added to the collection as they arrive.
+     * The batches of a wave are only posted once all the batches of the previous waves completed.
+     * Steps depending on a failed step of an earlier wave are not posted, they are answered with a 424 Failed Dependency status code.
+     * No further batch is posted once a batch failed or the returned future was cancelled.
+     * @param batchRequestContentCollection the BatchRequestContentCollection to post.
+     * @param errorMappings the error mappings to use when parsing the response.
+     * @param maxConcurrentBatches the maximum number of batches posted at the same time.
+     * @param executor the executor to post the batches on, which should have at least maxConcurrentBatches threads as posting a batch blocks on the network.
+     * @return a future completing with the BatchResponseContentCollection once all the batches were posted, or with the first failure.
+     */
+    @Nonnull
+    public CompletableFuture<BatchResponseContentCollection> postAsync(@Nonnull BatchRequestContentCollection batchRequestContentCollection, @Nullable Map<String, ParsableFactory<? extends Parsable>> errorMappings, int maxConcurrentBatches, @Nonnull Executor executor) {
+        Objects.requireNonNull(batchRequestContentCollection, ErrorConstants.Messages.NULL_PARAMETER + "batchRequestContentCollection");
+        Objects.requireNonNull(executor, ErrorConstants.Messages.NULL_PARAMETER + "executor");
+        if(maxConcurrentBatches < 1) {
+            throw new IllegalArgumentException("maxConcurrentBatches must be greater than 0");
+        }
+        Map<String, BatchRequestStep> steps = batchRequestContentCollection.getBatchRequestSteps();
+        ConcurrentBatchPost concurrentPost = new ConcurrentBatchPost(batchRequestContentCollection.getBatchRequestWavesForExecution(), steps, errorMappings, maxConcurrentBatches, executor);
+        concurrentPost.postPendingBatches();
+        return concurrentPost.result;
+    }
     /**
      * Creates the request information for a batch request.
      * @param requestContent the batch request content.
@@ -93,4 +176,136 @@ public class BatchRequestBuilder {
     public RequestAdapter getRequestAdapter() {
         return requestAdapter;
     }
+    /**
+     * Removes from a batch the steps depending on a failed step, and answers them with a 424 Failed Dependency status code.
+     * The packing of the collection drops the dependsOn relations of a step to the steps of earlier waves, so these relations are checked here against the steps of the collection.
+     * @return the batch to post, null if none of its steps is left to post.
+     */
+    @Nullable
+    private BatchRequestContent removeFailedDependents(@Nonnull BatchRequestContent batch, @Nonnull Map<String, BatchRequestStep> steps, @Nonnull Set<String> failedIds, @Nullable Map<String, ParsableFactory<? extends Parsable>> errorMappings, @Nonnull BatchResponseContentCollection responses) throws IOException {
+        if(failedIds.isEmpty()) {
+            return batch;
+        }
+        List<BatchRequestStep> postedSteps = new ArrayList<>();
+        List<BatchRequestStep> blockedSteps = new ArrayList<>();
+        // the steps of a batch come after the steps they depend on, so a step blocked by a failed step also blocks its dependents within the batch
+        for (BatchRequestStep requestStep : batch.getBatchRequestSteps().values()) {
+            if(steps.get(requestStep.getRequestId()).getDependsOn().stream().anyMatch(failedIds::contains)) {
+                failedIds.add(requestStep.getRequestId());
+                blockedSteps.add(requestStep);
+            } else {
+                postedSteps.add(requestStep);
+            }
+        }
+        if(blockedSteps.isEmpty()) {
+            return batch;
+        }
+        responses.addFailedDependencyResponses(blockedSteps, errorMappings);
+        return postedSteps.isEmpty() ? null : new BatchRequestContent(requestAdapter, postedSteps);
+    }
+    private static void addFailedIds(@Nonnull BatchRequestContent request, @Nonnull BatchResponseContent responseContent, @Nonnull Set<String> failedIds) {
+        Map<String, Integer> statusCodes = responseContent.getResponsesStatusCode();
+        for (String requestId : request.getBatchRequestSteps().keySet()) {
+            Integer statusCode = statusCodes.get(requestId);
+            if(statusCode == null || !BatchResponseContent.isSuccessStatusCode(statusCode)) {
+                failedIds.add(requestId);
+            }
+        }
+    }
+    private final class ConcurrentBatchPost {
+        private final Iterator<List<BatchRequestContent>> pendingWaves;
+        private Iterator<BatchRequestContent> pendingBatches = Collections.emptyIterator();
+        private final Map<String, BatchRequestStep> steps;
+        private final Set<String> failedIds = new HashSet<>();
+        private final boolean checksDependencies;
+        private final Map<String, ParsableFactory<? extends Parsable>> errorMappings;
+        private final int maxConcurrentBatches;
+        private final Executor executor;
+        private final BatchResponseContentCollection responses = new BatchResponseContentCollection();
+        private final CompletableFuture<BatchResponseContentCollection> result = new CompletableFuture<>();
+        private int runningBatches;
+        private ConcurrentBatchPost(@Nonnull List<List<BatchRequestContent>> waves, @Nonnull Map<String, BatchRequestStep> steps, @Nullable Map<String, ParsableFactory<? extends Parsable>> errorMappings, int maxConcurrentBatches, @Nonnull Executor executor) {
+            this.pendingWaves = waves.iterator();
+            this.steps = steps;
+            this.checksDependencies = waves.size() > 1;
+            this.errorMappings = errorMappings;
+            this.maxConcurrentBatches = maxConcurrentBatches;
+            this.executor = executor;
+        }
+        /**
+         * Posts pending batches up to the limit of running batches, moving to the next wave once all the batches of the current wave completed.
+         * Completes the result once no batch is pending nor running.
+         */
+        private void postPendingBatches() {
+            List<BatchRequestContent> batches = new ArrayList<>();
+            synchronized (this) {
+                while (!result.isDone() && runningBatches < maxConcurrentBatches) {
+                    if(pendingBatches.hasNext()) {
+                        batches.add(pendingBatches.next());
+                        runningBatches++;
+                    } else if(runningBatches == 0 && pendingWaves.hasNext()) {
+                        pendingBatches = startWave(pendingWaves.next()).iterator();
+                    } else {
+                        break;
+                    }
+                }
+                if(runningBatches == 0 && !pendingBatches.hasNext() && !pendingWaves.hasNext()) {
+                    result.complete(responses);
+                }
+            }
+            for (BatchRequestContent batch : batches) {
+                try {
+                    executor.execute(() -> postBatch(batch));
+                } catch (RejectedExecutionException ex) {
+                    onBatchCompleted(ex);
+                }
+            }
+        }
+        /**
+         * Gets the batches of a wave left to post once the steps depending on a failed step of the earlier waves were answered.
+         * Must be called while holding the lock of the post, once all the batches of the earlier waves completed.
+         */
+        @Nonnull
+        private List<BatchRequestContent> startWave(@Nonnull List<BatchRequestContent> wave) {
+            List<BatchRequestContent> batches = new ArrayList<>();
+            try {
+                for (BatchRequestContent batch : wave) {
+                    BatchRequestContent request = removeFailedDependents(batch, steps, failedIds, errorMappings, responses);
+                    if(request != null) {
+                        batches.add(request);
+                    }
+                }
+            } catch (IOException | RuntimeException ex) {
+                result.completeExceptionally(ex);
+                return Collections.emptyList();
+            }
+            return batches;
+        }
+        private void postBatch(@Nonnull BatchRequestContent batch) {
+            Exception failure = null;
+            try {
+                BatchResponseContent responseContent = post(batch, errorMappings);
+                Set<String> batchFailedIds = new HashSet<>();
+                if(checksDependencies) {
+                    addFailedIds(batch, responseContent, batchFailedIds);
+                }
+                synchronized (this) {
+                    responses.addBatchResponse(batch.getBatchRequestSteps().keySet(), responseContent);
+                    failedIds.addAll(batchFailedIds);
+                }
+            } catch (IOException | RuntimeException ex) {
+                failure = ex;
+            }
+            onBatchCompleted(failure);
+        }
+        private void onBatchCompleted(@Nullable Exception failure) {
+            synchronized (this) {
+                runningBatches--;
+            }
+            if(failure != null) {
+                result.completeExceptionally(failure);
+            }
+            postPendingBatches();
+        }
+    }
 }
@@ -0,0 +1,75 @@
+package com.microsoft.graph.core.requests;
+
+import com.microsoft.graph.core.CoreConstants;
+import com.microsoft.kiota.ApiException;
+import com.microsoft.kiota.ResponseHeaders;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+
+/**
+ * Reads the delay requested by the service before a throttled request is retried.
+ */
+public final class RetryAfter {
+    /** Too many requests status code. */
+    public static final int TOO_MANY_REQUESTS = 429;
+    /** Service unavailable status code. */
+    public static final int SERVICE_UNAVAILABLE = 503;
+    /** Gateway timeout status code. */
+    public static final int GATEWAY_TIMEOUT = 504;
+    private RetryAfter() {
+    }
+    /**
+     * Whether the status code reports that the request was throttled or that the service is temporarily unable to process it.
+     * @param statusCode the status code of the response.
+     * @return true if the request can be retried after a delay.
+     */
+    public static boolean isRetryable(int statusCode) {
+        return statusCode == TOO_MANY_REQUESTS || statusCode == SERVICE_UNAVAILABLE || statusCode == GATEWAY_TIMEOUT;
+    }
+    /**
+     * Reads the Retry-After header of the response that caused the exception.
+     * @param exception the exception thrown for the response.
+     * @return the requested delay, null if the response did not request one.
+     */
+    @Nullable
+    public static Duration fromException(@Nonnull ApiException exception) {
+        ResponseHeaders headers = exception.getResponseHeaders();
+        if(headers == null) {
+            return null;
+        }
+        Set<String> values = headers.get(CoreConstants.Headers.RETRY_AFTER);
+        if(values == null || values.isEmpty()) {
+            return null;
+        }
+        return parse(values.iterator().next());
+    }
+    /**
+     * Parses the value of a Retry-After header, either a number of seconds or an HTTP date.
+     * @param value the value of the header.
+     * @return the requested delay, null if the value could not be parsed.
+     */
+    @Nullable
+    public static Duration parse(@Nullable String value) {
+        if(value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        String trimmedValue = value.trim();
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(trimmedValue)));
+        } catch (NumberFormatException ex) {
+            // not a number of seconds, the value can also be an HTTP date
+        }
+        try {
+            Duration delay = Duration.between(ZonedDateTime.now(), ZonedDateTime.parse(trimmedValue, DateTimeFormatter.RFC_1123_DATE_TIME));
+            return delay.isNegative() ? Duration.ZERO : delay;
+        } catch (DateTimeParseException ex) {
+            return null;
+        }
+    }
+}
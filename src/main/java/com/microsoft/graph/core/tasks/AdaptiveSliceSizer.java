@@ -0,0 +1,67 @@
+package com.microsoft.graph.core.tasks;
+
+import jakarta.annotation.Nonnull;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Chooses the size of the next slice of an upload from the throughput observed on the previous slices.
+ * The size targets slices taking about the target slice duration to upload, so that the round trip of each request is small compared to its transfer on fast networks, while a failed slice only loses a bounded amount of work on slow ones.
+ * Sizes are multiples of 320 KiB and at most 60 MiB, as required by OneDrive and SharePoint. A size grows at most twice and shrinks at most half per slice, and is halved when a slice fails.
+ */
+public final class AdaptiveSliceSizer {
+    /** The size all slice sizes are a multiple of, 320 KiB. */
+    public static final long SLICE_SIZE_INCREMENT = 320L * 1024;
+    /** The maximum size of a slice, 60 MiB. */
+    public static final long MAX_SLICE_SIZE = 60L * 1024 * 1024;
+    private static final double THROUGHPUT_SMOOTHING = 0.5;
+    private final double targetSliceSeconds;
+    private long sliceSize;
+    private double throughput;
+    /**
+     * Creates a new AdaptiveSliceSizer.
+     * @param initialSliceSize the size of the first slice, rounded down to a multiple of 320 KiB within the allowed bounds.
+     * @param targetSliceDuration the time the upload of a slice should take.
+     */
+    public AdaptiveSliceSizer(long initialSliceSize, @Nonnull Duration targetSliceDuration) {
+        Objects.requireNonNull(targetSliceDuration);
+        if(targetSliceDuration.isZero() || targetSliceDuration.isNegative()) {
+            throw new IllegalArgumentException("targetSliceDuration must be greater than 0");
+        }
+        this.targetSliceSeconds = targetSliceDuration.toNanos() / 1e9;
+        this.sliceSize = boundSliceSize(initialSliceSize);
+    }
+    /**
+     * Gets the size of the next slice.
+     * @return the size of the next slice in bytes.
+     */
+    public synchronized long getSliceSize() {
+        return sliceSize;
+    }
+    /**
+     * Records a slice that was uploaded successfully and adapts the size of the next slices to the observed throughput.
+     * @param length the length of the slice in bytes.
+     * @param elapsed the time the upload of the slice took, including its round trip.
+     */
+    public synchronized void recordSlice(long length, @Nonnull Duration elapsed) {
+        Objects.requireNonNull(elapsed);
+        if (length <= 0) {
+            return;
+        }
+        double seconds = Math.max(elapsed.toNanos(), 1L) / 1e9;
+        double sliceThroughput = length / seconds;
+        throughput = throughput == 0 ? sliceThroughput : THROUGHPUT_SMOOTHING * sliceThroughput + (1 - THROUGHPUT_SMOOTHING) * throughput;
+        long targetSize = (long) Math.min(throughput * targetSliceSeconds, MAX_SLICE_SIZE);
+        sliceSize = boundSliceSize(Math.max(sliceSize / 2, Math.min(sliceSize * 2, targetSize)));
+    }
+    /**
+     * Records a slice that failed to upload, halving the size of the next slices.
+     */
+    public synchronized void recordFailure() {
+        sliceSize = boundSliceSize(sliceSize / 2);
+    }
+    private static long boundSliceSize(long size) {
+        long bounded = Math.max(SLICE_SIZE_INCREMENT, Math.min(MAX_SLICE_SIZE, size));
+        return bounded - bounded % SLICE_SIZE_INCREMENT;
+    }
+}
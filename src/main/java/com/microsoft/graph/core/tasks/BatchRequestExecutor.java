@@ -0,0 +1,261 @@
+package com.microsoft.graph.core.tasks;
+
+import com.microsoft.graph.core.CoreConstants;
+import com.microsoft.graph.core.ErrorConstants;
+import com.microsoft.graph.core.content.BatchRequestContent;
+import com.microsoft.graph.core.content.BatchRequestContentCollection;
+import com.microsoft.graph.core.content.BatchResponseContent;
+import com.microsoft.graph.core.content.BatchResponseContentCollection;
+import com.microsoft.graph.core.models.BatchRequestStep;
+import com.microsoft.graph.core.requests.IBaseClient;
+import com.microsoft.graph.core.requests.RetryAfter;
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParsableFactory;
+import okhttp3.Response;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes the steps of a BatchRequestContentCollection, retrying the steps throttled or temporarily rejected by the service.
+ * Steps answered with a 429, 503 or 504 status code are posted again in a following round, together with the steps depending on them, after the largest delay requested by their Retry-After headers.
+ * The steps of a round are packed again into as few batches as possible, so that retried steps share full batches instead of being posted one batch per failure.
+ * A step is posted at most maxAttempts times, the last response received for each step is kept in the returned collection.
+ * Steps depending on a step that failed are not posted, they are answered with a 424 Failed Dependency status code like the service does within a batch.
+ */
+public class BatchRequestExecutor {
+    private static final int MAX_BACKOFF_EXPONENT = 6;
+    private final IBaseClient client;
+    private final int maxAttempts;
+    private final int batchRequestLimit;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    /**
+     * Creates a new BatchRequestExecutor from its builder.
+     * @param builder the builder holding the options of the executor.
+     */
+    protected BatchRequestExecutor(@Nonnull Builder builder) {
+        Objects.requireNonNull(builder);
+        this.client = builder.client;
+        this.maxAttempts = builder.maxAttempts;
+        this.batchRequestLimit = builder.batchRequestLimit;
+        this.initialBackoff = builder.initialBackoff;
+        this.maxBackoff = builder.maxBackoff;
+    }
+    /**
+     * Executes the steps of a collection, which can no longer be changed once executed.
+     * @param batchRequestContentCollection the collection of steps to execute.
+     * @param errorMappings the error mappings to use when parsing the responses.
+     * @return the last response received for each step of the collection.
+     * @throws IOException if there was an error writing the request content.
+     * @throws InterruptedException if the thread is interrupted while waiting before a retry.
+     * @throws IllegalArgumentException if a step depends on a step missing from the collection or the dependsOn relations contain a cycle.
+     */
+    @Nonnull
+    public BatchResponseContentCollection execute(@Nonnull BatchRequestContentCollection batchRequestContentCollection, @Nullable Map<String, ParsableFactory<? extends Parsable>> errorMappings) throws IOException, InterruptedException {
+        Objects.requireNonNull(batchRequestContentCollection, ErrorConstants.Messages.NULL_PARAMETER + "batchRequestContentCollection");
+        Map<String, BatchRequestStep> steps = batchRequestContentCollection.getBatchRequestSteps();
+        // validates the relations of the steps and prevents further changes to the collection
+        batchRequestContentCollection.getBatchRequestWavesForExecution();
+        BatchResponseContentCollection responses = new BatchResponseContentCollection();
+        Map<String, Integer> attempts = new HashMap<>();
+        Set<String> failedSteps = new HashSet<>();
+        List<BatchRequestStep> pendingSteps = new ArrayList<>(steps.values());
+        for (int round = 1; !pendingSteps.isEmpty(); round++) {
+            Round currentRound = new Round(steps, attempts, failedSteps);
+            currentRound.execute(pendingSteps, errorMappings, responses);
+            pendingSteps = currentRound.retriedSteps;
+            if(!pendingSteps.isEmpty()) {
+                TimeUnit.NANOSECONDS.sleep(retryDelay(round, currentRound.requestedDelay).toNanos());
+            }
+        }
+        return responses;
+    }
+    @Nonnull
+    private Duration retryDelay(int round, @Nullable Duration requestedDelay) {
+        Duration delay = requestedDelay;
+        if(delay == null) {
+            long halfBackoff = initialBackoff.multipliedBy(1L << Math.min(round - 1, MAX_BACKOFF_EXPONENT)).toNanos() / 2;
+            delay = Duration.ofNanos(halfBackoff + ThreadLocalRandom.current().nextLong(halfBackoff + 1));
+        }
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+    /**
+     * Posts the pending steps once, sorting out the steps to retry in the next round.
+     */
+    private final class Round {
+        private final Map<String, BatchRequestStep> steps;
+        private final Map<String, Integer> attempts;
+        private final Set<String> failedSteps;
+        private final Set<String> retriedIds = new HashSet<>();
+        private final List<BatchRequestStep> retriedSteps = new ArrayList<>();
+        private final List<BatchRequestStep> blockedSteps = new ArrayList<>();
+        private Duration requestedDelay;
+        private Round(@Nonnull Map<String, BatchRequestStep> steps, @Nonnull Map<String, Integer> attempts, @Nonnull Set<String> failedSteps) {
+            this.steps = steps;
+            this.attempts = attempts;
+            this.failedSteps = failedSteps;
+        }
+        private void execute(@Nonnull List<BatchRequestStep> pendingSteps, @Nullable Map<String, ParsableFactory<? extends Parsable>> errorMappings, @Nonnull BatchResponseContentCollection responses) throws IOException {
+            Set<String> pendingIds = new HashSet<>();
+            for (BatchRequestStep requestStep : pendingSteps) {
+                pendingIds.add(requestStep.getRequestId());
+            }
+            BatchRequestContentCollection roundCollection = new BatchRequestContentCollection(client, batchRequestLimit);
+            for (BatchRequestStep requestStep : pendingSteps) {
+                // relations to steps that completed in previous rounds are already satisfied
+                List<String> dependsOn = new ArrayList<>(requestStep.getDependsOn());
+                dependsOn.retainAll(pendingIds);
+                roundCollection.addBatchRequestStep(new BatchRequestStep(requestStep.getRequestId(), requestStep.getRequest(), dependsOn));
+            }
+            for (List<BatchRequestContent> wave : roundCollection.getBatchRequestWavesForExecution()) {
+                for (BatchRequestContent batch : wave) {
+                    postBatch(batch, errorMappings, responses);
+                }
+            }
+            responses.addFailedDependencyResponses(blockedSteps, errorMappings);
+        }
+        /**
+         * Posts the steps of a batch whose dependencies did not fail nor wait for a retry, the relations of the steps to steps of earlier batches being checked here.
+         */
+        private void postBatch(@Nonnull BatchRequestContent batch, @Nullable Map<String, ParsableFactory<? extends Parsable>> errorMappings, @Nonnull BatchResponseContentCollection responses) throws IOException {
+            BatchRequestContent postedBatch = new BatchRequestContent(client.getRequestAdapter(), new ArrayList<>());
+            for (BatchRequestStep requestStep : batch.getBatchRequestSteps().values()) {
+                List<String> dependsOn = steps.get(requestStep.getRequestId()).getDependsOn();
+                if(dependsOn.stream().anyMatch(failedSteps::contains)) {
+                    failedSteps.add(requestStep.getRequestId());
+                    blockedSteps.add(requestStep);
+                } else if(dependsOn.stream().anyMatch(retriedIds::contains)) {
+                    retry(requestStep);
+                } else {
+                    postedBatch.addBatchRequestStep(requestStep);
+                    attempts.merge(requestStep.getRequestId(), 1, Integer::sum);
+                }
+            }
+            Map<String, BatchRequestStep> postedSteps = postedBatch.getBatchRequestSteps();
+            if(postedSteps.isEmpty()) {
+                return;
+            }
+            BatchResponseContent responseContent = client.getBatchRequestBuilder().post(postedBatch, errorMappings);
+            Map<String, Integer> statusCodes = responseContent.getResponsesStatusCode();
+            List<String> completedIds = new ArrayList<>();
+            // the steps of a batch come after the steps they depend on, so the steps retried because of a dependency are known when their dependents are checked
+            for (BatchRequestStep requestStep : postedSteps.values()) {
+                String requestId = requestStep.getRequestId();
+                Integer statusCode = statusCodes.get(requestId);
+                if(statusCode != null && RetryAfter.isRetryable(statusCode) && attempts.get(requestId) < maxAttempts) {
+                    Response response = responseContent.getResponseById(requestId);
+                    Duration delay = response == null ? null : RetryAfter.parse(response.header(CoreConstants.Headers.RETRY_AFTER));
+                    if(delay != null && (requestedDelay == null || delay.compareTo(requestedDelay) > 0)) {
+                        requestedDelay = delay;
+                    }
+                    retry(requestStep);
+                } else if(statusCode != null && statusCode == CoreConstants.BatchRequest.FAILED_DEPENDENCY && requestStep.getDependsOn().stream().anyMatch(retriedIds::contains)) {
+                    // the step was not run by the service, the attempt is not counted
+                    attempts.merge(requestId, -1, Integer::sum);
+                    retry(requestStep);
+                } else {
+                    if(statusCode == null || !BatchResponseContent.isSuccessStatusCode(statusCode)) {
+                        failedSteps.add(requestId);
+                    }
+                    completedIds.add(requestId);
+                }
+            }
+            if(!completedIds.isEmpty()) {
+                responses.addBatchResponse(completedIds, responseContent);
+            }
+        }
+        private void retry(@Nonnull BatchRequestStep requestStep) {
+            retriedIds.add(requestStep.getRequestId());
+            retriedSteps.add(steps.get(requestStep.getRequestId()));
+        }
+    }
+    /**
+     * A builder class for building a BatchRequestExecutor.
+     */
+    public static class Builder {
+        private final IBaseClient client;
+        private int maxAttempts = 3;
+        private int batchRequestLimit = CoreConstants.BatchRequest.MAX_REQUESTS;
+        private Duration initialBackoff = Duration.ofSeconds(1);
+        private Duration maxBackoff = Duration.ofMinutes(1);
+        /**
+         * Constructor for the Builder class of a BatchRequestExecutor.
+         * @param client the client to post the batches with.
+         */
+        public Builder(@Nonnull IBaseClient client) {
+            this.client = Objects.requireNonNull(client, ErrorConstants.Messages.NULL_PARAMETER + "client");
+        }
+        /**
+         * Sets the number of times a step is posted at most, including its first attempt. Defaults to 3.
+         * @param maxAttempts the maximum number of attempts of a step, 1 to never retry steps.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder maxAttempts(int maxAttempts) {
+            if(maxAttempts < 1) {
+                throw new IllegalArgumentException("maxAttempts must be greater than 0");
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+        /**
+         * Sets the maximum number of steps posted in a batch. Defaults to 20.
+         * @param batchRequestLimit the maximum number of steps of a batch.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder batchRequestLimit(int batchRequestLimit) {
+            if(batchRequestLimit < 2 || batchRequestLimit > CoreConstants.BatchRequest.MAX_REQUESTS) {
+                throw new IllegalArgumentException("batchRequestLimit must be between 2 and " + CoreConstants.BatchRequest.MAX_REQUESTS);
+            }
+            this.batchRequestLimit = batchRequestLimit;
+            return this;
+        }
+        /**
+         * Sets the delay before a round of retries when none of the retried steps carried a Retry-After header, doubled for each following round and jittered. Defaults to 1 second.
+         * @param initialBackoff the delay before the first round of retries.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder initialBackoff(@Nonnull Duration initialBackoff) {
+            if(Objects.requireNonNull(initialBackoff).isNegative()) {
+                throw new IllegalArgumentException("initialBackoff cannot be negative");
+            }
+            this.initialBackoff = initialBackoff;
+            return this;
+        }
+        /**
+         * Sets the longest delay before a round of retries, including the delays requested by the service. Defaults to 1 minute.
+         * @param maxBackoff the longest delay before a round of retries.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder maxBackoff(@Nonnull Duration maxBackoff) {
+            if(Objects.requireNonNull(maxBackoff).isNegative()) {
+                throw new IllegalArgumentException("maxBackoff cannot be negative");
+            }
+            this.maxBackoff = maxBackoff;
+            return this;
+        }
+        /**
+         * Builds the BatchRequestExecutor object.
+         * @return the built BatchRequestExecutor.
+         */
+        @Nonnull
+        public BatchRequestExecutor build() {
+            return new BatchRequestExecutor(this);
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package com.microsoft.graph.core.tasks;
+
+import com.microsoft.graph.core.CoreConstants;
+import com.microsoft.graph.core.requests.IBaseClient;
+import com.microsoft.kiota.ApiException;
+import com.microsoft.kiota.Compatibility;
+import com.microsoft.kiota.RequestAdapter;
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.serialization.AdditionalDataHolder;
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParsableFactory;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Keeps a local copy of a collection in sync by running rounds of delta queries.
+ * The first round enumerates the collection from the initial page, later rounds request the deltaLink of the previous round and only receive the changes since.
+ * The position of the synchronization is saved to a PageIteratorCheckpointStore at every page, so that a restarted process continues from the last page it processed.
+ * The store is required, as a store that does not outlive the process loses the deltaLink on restart and forces the next round to enumerate the whole collection.
+ * As a round that fails is retried from its last saved page, the handlers can be called more than once for the same entity and must be idempotent.
+ * @param <TEntity> The type of the entity returned in the collection. This type must implement {@link Parsable}
+ * @param <TCollectionPage> The Microsoft Graph collection response type returned in the collection response. This type must implement {@link Parsable} and {@link AdditionalDataHolder}
+ */
+public class DeltaSyncEngine<TEntity extends Parsable, TCollectionPage extends Parsable & AdditionalDataHolder> implements Closeable {
+    private static final int GONE_STATUS_CODE = 410;
+    private final RequestAdapter requestAdapter;
+    private final ParsableFactory<TCollectionPage> collectionPageFactory;
+    private final Supplier<TCollectionPage> initialPageSupplier;
+    private final Consumer<TEntity> changedItemHandler;
+    private final Consumer<TEntity> removedItemHandler;
+    private final Predicate<TEntity> removedItemPredicate;
+    private final PageIteratorCheckpointStore stateStore;
+    private final UnaryOperator<RequestInformation> requestConfigurator;
+    private final Consumer<DeltaSyncRoundMetrics> metricsListener;
+    private final Runnable deltaLinkExpiredHandler;
+    private final AtomicLong rounds = new AtomicLong();
+    private ScheduledFuture<?> scheduledRounds;
+    /**
+     * Creates a new DeltaSyncEngine from its builder.
+     * @param builder the builder holding the options of the engine.
+     */
+    protected DeltaSyncEngine(@Nonnull Builder<TEntity, TCollectionPage> builder) {
+        Objects.requireNonNull(builder);
+        this.requestAdapter = Objects.requireNonNull(builder.requestAdapter, "requestAdapter");
+        this.collectionPageFactory = Objects.requireNonNull(builder.collectionPageFactory, "collectionPageFactory");
+        this.initialPageSupplier = Objects.requireNonNull(builder.initialPageSupplier, "initialPage");
+        this.changedItemHandler = Objects.requireNonNull(builder.changedItemHandler, "changedItemHandler");
+        this.removedItemHandler = Objects.requireNonNull(builder.removedItemHandler, "removedItemHandler");
+        this.removedItemPredicate = builder.removedItemPredicate == null ? DeltaSyncEngine::hasRemovedAnnotation : builder.removedItemPredicate;
+        this.stateStore = Objects.requireNonNull(builder.stateStore, "stateStore");
+        this.requestConfigurator = builder.requestConfigurator;
+        this.metricsListener = builder.metricsListener;
+        this.deltaLinkExpiredHandler = builder.deltaLinkExpiredHandler;
+    }
+    /**
+     * Runs a round of synchronization on the calling thread.
+     * Without a saved deltaLink, the round enumerates the whole collection from the initial page.
+     * When the service reports that the saved deltaLink expired, the saved state is cleared and the round enumerates the whole collection again.
+     * The entities removed since the previous round are not reported by that enumeration, the round is flagged in its metrics and the deltaLinkExpired handler is called before the enumeration starts.
+     * When the collection does not return a deltaLink, the saved state is cleared so that the next round enumerates the whole collection.
+     * @return the metrics of the round.
+     * @throws ApiException if a request was unable to complete for any reason.
+     * @throws ReflectiveOperationException if the entity or collection page could not be instantiated or if they are of invalid types.
+     */
+    @Nonnull
+    public synchronized DeltaSyncRoundMetrics runRound() throws ApiException, ReflectiveOperationException {
+        long round = rounds.incrementAndGet();
+        Instant startTime = Instant.now();
+        long startNanos = System.nanoTime();
+        RoundCounters counters = new RoundCounters();
+        try {
+            PageIteratorCheckpoint checkpoint = loadState();
+            counters.fullSync = checkpoint == null;
+            try {
+                synchronize(checkpoint, counters);
+            } catch (ApiException ex) {
+                if(ex.getResponseStatusCode() != GONE_STATUS_CODE || counters.fullSync) {
+                    throw ex;
+                }
+                clearState();
+                counters.fullSync = true;
+                counters.deltaLinkExpired = true;
+                if(deltaLinkExpiredHandler != null) {
+                    deltaLinkExpiredHandler.run();
+                }
+                synchronize(null, counters);
+            }
+        } catch (Exception ex) {
+            reportMetrics(counters.toMetrics(round, startTime, startNanos, ex));
+            throw ex;
+        }
+        DeltaSyncRoundMetrics metrics = counters.toMetrics(round, startTime, startNanos, null);
+        reportMetrics(metrics);
+        return metrics;
+    }
+    /**
+     * Runs rounds of synchronization on the scheduler, the first one immediately and each following one the given delay after the previous one ended.
+     * A round that fails is reported to the metrics listener and does not stop the following rounds.
+     * @param scheduler the scheduler to run the rounds on.
+     * @param delay the delay between the end of a round and the start of the next one.
+     * @param unit the unit of the delay.
+     * @throws IllegalStateException if the rounds are already scheduled, or if no metrics listener was set to receive the failures of the rounds.
+     */
+    public synchronized void start(@Nonnull ScheduledExecutorService scheduler, long delay, @Nonnull TimeUnit unit) {
+        Objects.requireNonNull(scheduler);
+        Objects.requireNonNull(unit);
+        if(delay <= 0) {
+            throw new IllegalArgumentException("delay must be greater than 0");
+        }
+        if(metricsListener == null) {
+            throw new IllegalStateException("A metricsListener must be set to receive the failures of the scheduled rounds.");
+        }
+        if(scheduledRounds != null && !scheduledRounds.isDone()) {
+            throw new IllegalStateException("The delta synchronization is already scheduled.");
+        }
+        scheduledRounds = scheduler.scheduleWithFixedDelay(this::runScheduledRound, 0, delay, unit);
+    }
+    /**
+     * Stops the scheduled rounds. A round in progress completes.
+     */
+    public synchronized void stop() {
+        if(scheduledRounds != null) {
+            scheduledRounds.cancel(false);
+            scheduledRounds = null;
+        }
+    }
+    @Override
+    public void close() {
+        stop();
+    }
+    /**
+     * Gets the deltaLink saved by the last completed round.
+     * @return the saved deltaLink, null if no round completed yet or the last round is still in progress.
+     */
+    @Nullable
+    public String getDeltaLink() {
+        PageIteratorCheckpoint checkpoint = loadState();
+        return checkpoint == null || checkpoint.getState() != PageIterator.PageIteratorState.DELTA ? null : checkpoint.getDeltaLink();
+    }
+    private void runScheduledRound() {
+        try {
+            runRound();
+        } catch (Exception ex) {
+            // runRound reported the failure to the metrics listener before rethrowing it, the next round starts from the last saved page
+        }
+    }
+    private void synchronize(@Nullable PageIteratorCheckpoint checkpoint, @Nonnull RoundCounters counters) throws ReflectiveOperationException {
+        PageIterator.Builder<TEntity, TCollectionPage> builder = new PageIterator.Builder<TEntity, TCollectionPage>()
+            .requestAdapter(requestAdapter)
+            .collectionPageFactory(collectionPageFactory)
+            .checkpointStore(stateStore)
+            .requestConfigurator(requestInformation -> {
+                counters.requestCount++;
+                return requestConfigurator == null ? requestInformation : requestConfigurator.apply(requestInformation);
+            })
+            .processPageItemCallback(item -> {
+                if(removedItemPredicate.test(item)) {
+                    removedItemHandler.accept(item);
+                    counters.removedCount++;
+                } else {
+                    changedItemHandler.accept(item);
+                    counters.changedCount++;
+                }
+                return true;
+            });
+        if(checkpoint == null || (Compatibility.isBlank(checkpoint.getPageLink()) && checkpoint.getState() != PageIterator.PageIteratorState.DELTA)) {
+            counters.requestCount++;
+            builder.collectionPage(Objects.requireNonNull(initialPageSupplier.get(), "The initial page supplier returned null."));
+        }
+        if(checkpoint != null) {
+            builder.checkpoint(checkpoint);
+        }
+        PageIterator<TEntity, TCollectionPage> pageIterator = builder.build();
+        pageIterator.iterate();
+        if(pageIterator.getPageIteratorState() != PageIterator.PageIteratorState.DELTA) {
+            clearState();
+        }
+    }
+    @Nullable
+    private PageIteratorCheckpoint loadState() {
+        try {
+            PageIteratorCheckpoint checkpoint = stateStore.load();
+            return checkpoint == null || checkpoint.getState() == PageIterator.PageIteratorState.COMPLETE ? null : checkpoint;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to load the delta synchronization state.", ex);
+        }
+    }
+    private void clearState() {
+        try {
+            stateStore.clear();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to clear the delta synchronization state.", ex);
+        }
+    }
+    private void reportMetrics(@Nonnull DeltaSyncRoundMetrics metrics) {
+        if(metricsListener != null) {
+            metricsListener.accept(metrics);
+        }
+    }
+    private static boolean hasRemovedAnnotation(@Nonnull Object item) {
+        return item instanceof AdditionalDataHolder
+            && ((AdditionalDataHolder) item).getAdditionalData() != null
+            && ((AdditionalDataHolder) item).getAdditionalData().containsKey(CoreConstants.OdataInstanceAnnotations.REMOVED);
+    }
+    private static final class RoundCounters {
+        private boolean fullSync;
+        private boolean deltaLinkExpired;
+        private int requestCount;
+        private long changedCount;
+        private long removedCount;
+        @Nonnull
+        private DeltaSyncRoundMetrics toMetrics(long round, @Nonnull Instant startTime, long startNanos, @Nullable Throwable failure) {
+            return new DeltaSyncRoundMetrics(round, fullSync, deltaLinkExpired, startTime, Duration.ofNanos(System.nanoTime() - startNanos), requestCount, changedCount, removedCount, failure);
+        }
+    }
+
+    /**
+     * A builder class for building a DeltaSyncEngine.
+     * @param <TEntity> The type of the entity returned in the collection. This type must implement {@link Parsable}
+     * @param <TCollectionPage> The Microsoft Graph collection response type returned in the collection response. This type must implement {@link Parsable} and {@link AdditionalDataHolder}
+     */
+    public static class Builder<TEntity extends Parsable, TCollectionPage extends Parsable & AdditionalDataHolder> {
+        private RequestAdapter requestAdapter;
+        private ParsableFactory<TCollectionPage> collectionPageFactory;
+        private Supplier<TCollectionPage> initialPageSupplier;
+        private Consumer<TEntity> changedItemHandler;
+        private Consumer<TEntity> removedItemHandler;
+        private Predicate<TEntity> removedItemPredicate;
+        private PageIteratorCheckpointStore stateStore;
+        private UnaryOperator<RequestInformation> requestConfigurator;
+        private Consumer<DeltaSyncRoundMetrics> metricsListener;
+        private Runnable deltaLinkExpiredHandler;
+        /**
+         * Constructor for the Builder class of a DeltaSyncEngine.
+         */
+        public Builder() {
+            // Default constructor
+        }
+        /**
+         * Sets the client whose request adapter is used to request the pages.
+         * @param client the client to use for requests.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder<TEntity, TCollectionPage> client(@Nonnull IBaseClient client) {
+            Objects.requireNonNull(client);
+            return this.requestAdapter(client.getRequestAdapter());
+        }
+        /**
+         * Sets the request adapter used to request the pages.
+         * @param requestAdapter the request adapter to use for requests.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder<TEntity, TCollectionPage> requestAdapter(@Nonnull RequestAdapter requestAdapter) {
+            this.requestAdapter = Objects.requireNonNull(requestAdapter);
+            return this;
+        }
+        /**
+         * Sets the factory used to create the collection pages.
+         * @param collectionPageFactory the factory to use for creating the collection pages.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder<TEntity, TCollectionPage> collectionPageFactory(@Nonnull ParsableFactory<TCollectionPage> collectionPageFactory) {
+            this.collectionPageFactory = Objects.requireNonNull(collectionPageFactory);
+            return this;
+        }
+        /**
+         * Sets the supplier of the first page of the delta query, called by the rounds that enumerate the whole collection.
+         * @param initialPageSupplier the supplier sending the initial delta request, for example {@code () -> client.users().delta().get()}.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder<TEntity, TCollectionPage> initialPage(@Nonnull Supplier<TCollectionPage> initialPageSupplier) {
+            this.initialPageSupplier = Objects.requireNonNull(initialPageSupplier);
+            return this;
+        }
+        /**
+         * Sets the handler called for each entity that was added or updated.
+         * @param changedItemHandler the handler to apply an added or updated entity to the local copy.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder<TEntity, TCollectionPage> onChanged(@Nonnull Consumer<TEntity> changedItemHandler) {
+            this.changedItemHandler = Objects.requireNonNull(changedItemHandler);
+            return this;
+        }
+        /**
+         * Sets the handler called for each entity that was removed. Removed entities usually only carry their id.
+         * @param removedItemHandler the handler to apply a removed entity to the local copy.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder<TEntity, TCollectionPage> onRemoved(@Nonnull Consumer<TEntity> removedItemHandler) {
+            this.removedItemHandler = Objects.requireNonNull(removedItemHandler);
+            return this;
+        }
+        /**
+         * Sets the predicate identifying removed entities. Defaults to entities carrying the {@code @removed} annotation in their additional data.
+         * @param removedItemPredicate the predicate identifying removed entities.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder<TEntity, TCollectionPage> removedItemPredicate(@Nonnull Predicate<TEntity> removedItemPredicate) {
+            this.removedItemPredicate = Objects.requireNonNull(removedItemPredicate);
+            return this;
+        }
+        /**
+         * Sets the store the synchronization state is saved to, which is required.
+         * Use a {@link FilePageIteratorCheckpointStore} for the synchronization to continue after the process restarts, an {@link InMemoryPageIteratorCheckpointStore} enumerates the whole collection again after a restart.
+         * @param stateStore the store to save the synchronization state to.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder<TEntity, TCollectionPage> stateStore(@Nonnull PageIteratorCheckpointStore stateStore) {
+            this.stateStore = Objects.requireNonNull(stateStore);
+            return this;
+        }
+        /**
+         * Sets the request configurator applied to the page requests.
+         * @param requestConfigurator the request configurator to use when modifying requests.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder<TEntity, TCollectionPage> requestConfigurator(@Nonnull UnaryOperator<RequestInformation> requestConfigurator) {
+            this.requestConfigurator = Objects.requireNonNull(requestConfigurator);
+            return this;
+        }
+        /**
+         * Sets the listener receiving the metrics of each round, including the rounds that failed.
+         * @param metricsListener the listener receiving the metrics of each round.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder<TEntity, TCollectionPage> metricsListener(@Nonnull Consumer<DeltaSyncRoundMetrics> metricsListener) {
+            this.metricsListener = Objects.requireNonNull(metricsListener);
+            return this;
+        }
+        /**
+         * Sets the handler called when the service expired the saved deltaLink, before the round enumerates the whole collection again.
+         * The enumeration only returns the entities that still exist, so the entities removed since the previous round are not passed to onRemoved.
+         * The handler lets the local copy prepare for that, for example by marking its entities to drop the ones the enumeration does not return.
+         * @param deltaLinkExpiredHandler the handler called before the collection is enumerated again.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder<TEntity, TCollectionPage> onDeltaLinkExpired(@Nonnull Runnable deltaLinkExpiredHandler) {
+            this.deltaLinkExpiredHandler = Objects.requireNonNull(deltaLinkExpiredHandler);
+            return this;
+        }
+        /**
+         * Builds the DeltaSyncEngine object.
+         * Will fail if the request adapter, collection page factory, initial page, handlers or state store are not set.
+         * @return the built DeltaSyncEngine.
+         */
+        @Nonnull
+        public DeltaSyncEngine<TEntity, TCollectionPage> build() {
+            return new DeltaSyncEngine<>(this);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.microsoft.graph.core.tasks;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * The metrics of a round of a DeltaSyncEngine.
+ */
+public class DeltaSyncRoundMetrics {
+    private final long round;
+    private final boolean fullSync;
+    private final boolean deltaLinkExpired;
+    private final Instant startTime;
+    private final Duration duration;
+    private final int requestCount;
+    private final long changedCount;
+    private final long removedCount;
+    private final Throwable failure;
+    /**
+     * Creates a new DeltaSyncRoundMetrics.
+     * @param round the number of the round, starting at 1.
+     * @param fullSync whether the round enumerated the whole collection rather than the changes since the previous round.
+     * @param deltaLinkExpired whether the round enumerated the whole collection because the service expired the saved deltaLink.
+     * @param startTime the time the round started.
+     * @param duration the duration of the round.
+     * @param requestCount the number of page requests sent during the round.
+     * @param changedCount the number of added or updated entities applied during the round.
+     * @param removedCount the number of removed entities applied during the round.
+     * @param failure the failure that ended the round, null if the round completed.
+     */
+    public DeltaSyncRoundMetrics(long round, boolean fullSync, boolean deltaLinkExpired, @Nonnull Instant startTime, @Nonnull Duration duration, int requestCount, long changedCount, long removedCount, @Nullable Throwable failure) {
+        this.round = round;
+        this.fullSync = fullSync;
+        this.deltaLinkExpired = deltaLinkExpired;
+        this.startTime = Objects.requireNonNull(startTime);
+        this.duration = Objects.requireNonNull(duration);
+        this.requestCount = requestCount;
+        this.changedCount = changedCount;
+        this.removedCount = removedCount;
+        this.failure = failure;
+    }
+    /**
+     * Gets the number of the round.
+     * @return the number of the round, starting at 1.
+     */
+    public long getRound() {
+        return round;
+    }
+    /**
+     * Gets whether the round enumerated the whole collection rather than the changes since the previous round.
+     * @return true for a full synchronization.
+     */
+    public boolean isFullSync() {
+        return fullSync;
+    }
+    /**
+     * Gets whether the round enumerated the whole collection because the service expired the saved deltaLink.
+     * The entities removed since the previous round were not reported during such a round.
+     * @return true if the saved deltaLink expired.
+     */
+    public boolean isDeltaLinkExpired() {
+        return deltaLinkExpired;
+    }
+    /**
+     * Gets the time the round started.
+     * @return the time the round started.
+     */
+    @Nonnull
+    public Instant getStartTime() {
+        return startTime;
+    }
+    /**
+     * Gets the duration of the round.
+     * @return the duration of the round.
+     */
+    @Nonnull
+    public Duration getDuration() {
+        return duration;
+    }
+    /**
+     * Gets the number of page requests sent during the round.
+     * @return the number of page requests.
+     */
+    public int getRequestCount() {
+        return requestCount;
+    }
+    /**
+     * Gets the number of added or updated entities applied during the round.
+     * @return the number of added or updated entities.
+     */
+    public long getChangedCount() {
+        return changedCount;
+    }
+    /**
+     * Gets the number of removed entities applied during the round.
+     * @return the number of removed entities.
+     */
+    public long getRemovedCount() {
+        return removedCount;
+    }
+    /**
+     * Gets the failure that ended the round.
+     * @return the failure that ended the round, null if the round completed.
+     */
+    @Nullable
+    public Throwable getFailure() {
+        return failure;
+    }
+    /**
+     * Gets whether the round completed.
+     * @return true if the round completed without failure.
+     */
+    public boolean isSuccessful() {
+        return failure == null;
+    }
+}
@@ -0,0 +1,110 @@
+package com.microsoft.graph.core.tasks;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Objects;
+
+/**
+ * A LargeFileUploadCheckpointStore saving the checkpoint as a JSON file.
+ * The file is replaced atomically where the file system supports it, so that a crash while saving leaves the previous checkpoint intact.
+ */
+public class FileLargeFileUploadCheckpointStore implements LargeFileUploadCheckpointStore {
+    private static final String UPLOAD_URL = "uploadUrl";
+    private static final String EXPIRATION_DATE_TIME = "expirationDateTime";
+    private static final String NEXT_EXPECTED_RANGES = "nextExpectedRanges";
+    private static final String SOURCE_PATH = "sourcePath";
+    private static final String SOURCE_SIZE = "sourceSize";
+    private static final String SOURCE_LAST_MODIFIED = "sourceLastModified";
+    private static final String SOURCE_ID = "sourceId";
+    private final Path path;
+    /**
+     * Creates a new FileLargeFileUploadCheckpointStore.
+     * @param path the path of the file to save the checkpoint to.
+     */
+    public FileLargeFileUploadCheckpointStore(@Nonnull Path path) {
+        this.path = Objects.requireNonNull(path);
+    }
+    @Override
+    public void save(@Nonnull LargeFileUploadCheckpoint checkpoint) throws IOException {
+        Objects.requireNonNull(checkpoint);
+        Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try (Writer fileWriter = Files.newBufferedWriter(temporaryPath, StandardCharsets.UTF_8);
+             JsonWriter writer = new JsonWriter(fileWriter)) {
+            writer.beginObject();
+            writer.name(UPLOAD_URL).value(checkpoint.getUploadUrl());
+            writer.name(EXPIRATION_DATE_TIME).value(checkpoint.getExpirationDateTime() == null ? null : checkpoint.getExpirationDateTime().toString());
+            writer.name(NEXT_EXPECTED_RANGES).beginArray();
+            for (String range : checkpoint.getNextExpectedRanges()) {
+                writer.value(range);
+            }
+            writer.endArray();
+            writer.name(SOURCE_PATH).value(checkpoint.getSourcePath());
+            writer.name(SOURCE_SIZE).value(checkpoint.getSourceSize());
+            writer.name(SOURCE_LAST_MODIFIED).value(checkpoint.getSourceLastModified());
+            writer.name(SOURCE_ID).value(checkpoint.getSourceId());
+            writer.endObject();
+        }
+        try {
+            Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    @Override
+    @Nullable
+    public LargeFileUploadCheckpoint load() throws IOException {
+        if(!Files.exists(path)) {
+            return null;
+        }
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            JsonObject checkpoint = JsonParser.parseReader(reader).getAsJsonObject();
+            if(!checkpoint.has(UPLOAD_URL) || !checkpoint.has(NEXT_EXPECTED_RANGES) || !checkpoint.has(SOURCE_SIZE)) {
+                throw new IOException("The checkpoint file " + path + " is incomplete.");
+            }
+            ArrayList<String> nextExpectedRanges = new ArrayList<>();
+            JsonArray ranges = checkpoint.get(NEXT_EXPECTED_RANGES).getAsJsonArray();
+            for (JsonElement range : ranges) {
+                nextExpectedRanges.add(range.getAsString());
+            }
+            String expirationDateTime = getStringValue(checkpoint, EXPIRATION_DATE_TIME);
+            JsonElement sourceLastModified = checkpoint.get(SOURCE_LAST_MODIFIED);
+            return new LargeFileUploadCheckpoint(
+                checkpoint.get(UPLOAD_URL).getAsString(),
+                expirationDateTime == null ? null : OffsetDateTime.parse(expirationDateTime),
+                nextExpectedRanges,
+                getStringValue(checkpoint, SOURCE_PATH),
+                checkpoint.get(SOURCE_SIZE).getAsLong(),
+                sourceLastModified == null || sourceLastModified.isJsonNull() ? null : sourceLastModified.getAsLong(),
+                getStringValue(checkpoint, SOURCE_ID));
+        } catch (JsonParseException | IllegalStateException | IllegalArgumentException | UnsupportedOperationException | DateTimeParseException ex) {
+            throw new IOException("Unable to read the checkpoint from " + path, ex);
+        }
+    }
+    @Override
+    public void clear() throws IOException {
+        Files.deleteIfExists(path);
+    }
+    @Nullable
+    private static String getStringValue(@Nonnull JsonObject jsonObject, @Nonnull String name) {
+        JsonElement element = jsonObject.get(name);
+        return element == null || element.isJsonNull() ? null : element.getAsString();
+    }
+}
@@ -0,0 +1,89 @@
+package com.microsoft.graph.core.tasks;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+
+/**
+ * A PageIteratorCheckpointStore saving the checkpoint as a JSON file.
+ * The file is replaced atomically where the file system supports it, so that a crash while saving leaves the previous checkpoint intact.
+ */
+public class FilePageIteratorCheckpointStore implements PageIteratorCheckpointStore {
+    private static final String PAGE_LINK = "pageLink";
+    private static final String PAGE_ITEM_INDEX = "pageItemIndex";
+    private static final String NEXT_LINK = "nextLink";
+    private static final String DELTA_LINK = "deltaLink";
+    private static final String STATE = "state";
+    private final Path path;
+    /**
+     * Creates a new FilePageIteratorCheckpointStore.
+     * @param path the path of the file to save the checkpoint to.
+     */
+    public FilePageIteratorCheckpointStore(@Nonnull Path path) {
+        this.path = Objects.requireNonNull(path);
+    }
+    @Override
+    public void save(@Nonnull PageIteratorCheckpoint checkpoint) throws IOException {
+        Objects.requireNonNull(checkpoint);
+        Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try (Writer fileWriter = Files.newBufferedWriter(temporaryPath, StandardCharsets.UTF_8);
+             JsonWriter writer = new JsonWriter(fileWriter)) {
+            writer.beginObject();
+            writer.name(PAGE_LINK).value(checkpoint.getPageLink());
+            writer.name(PAGE_ITEM_INDEX).value(checkpoint.getPageItemIndex());
+            writer.name(NEXT_LINK).value(checkpoint.getNextLink());
+            writer.name(DELTA_LINK).value(checkpoint.getDeltaLink());
+            writer.name(STATE).value(checkpoint.getState().name());
+            writer.endObject();
+        }
+        try {
+            Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    @Override
+    @Nullable
+    public PageIteratorCheckpoint load() throws IOException {
+        if(!Files.exists(path)) {
+            return null;
+        }
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            JsonObject checkpoint = JsonParser.parseReader(reader).getAsJsonObject();
+            if(!checkpoint.has(PAGE_ITEM_INDEX) || !checkpoint.has(STATE)) {
+                throw new IOException("The checkpoint file " + path + " is incomplete.");
+            }
+            return new PageIteratorCheckpoint(
+                getStringValue(checkpoint, PAGE_LINK),
+                checkpoint.get(PAGE_ITEM_INDEX).getAsInt(),
+                getStringValue(checkpoint, NEXT_LINK),
+                getStringValue(checkpoint, DELTA_LINK),
+                PageIterator.PageIteratorState.valueOf(checkpoint.get(STATE).getAsString()));
+        } catch (JsonParseException | IllegalStateException | IllegalArgumentException ex) {
+            throw new IOException("Unable to read the checkpoint from " + path, ex);
+        }
+    }
+    @Override
+    public void clear() throws IOException {
+        Files.deleteIfExists(path);
+    }
+    @Nullable
+    private static String getStringValue(@Nonnull JsonObject jsonObject, @Nonnull String name) {
+        JsonElement element = jsonObject.get(name);
+        return element == null || element.isJsonNull() ? null : element.getAsString();
+    }
+}
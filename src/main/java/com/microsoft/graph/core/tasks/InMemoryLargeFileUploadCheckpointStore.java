@@ -0,0 +1,31 @@
+package com.microsoft.graph.core.tasks;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.Objects;
+
+/**
+ * A LargeFileUploadCheckpointStore keeping the checkpoint in memory, for uploads that do not need to survive a restart of the process.
+ */
+public class InMemoryLargeFileUploadCheckpointStore implements LargeFileUploadCheckpointStore {
+    private volatile LargeFileUploadCheckpoint checkpoint;
+    /**
+     * Creates a new InMemoryLargeFileUploadCheckpointStore.
+     */
+    public InMemoryLargeFileUploadCheckpointStore() {
+        // default constructor
+    }
+    @Override
+    public void save(@Nonnull LargeFileUploadCheckpoint checkpoint) {
+        this.checkpoint = Objects.requireNonNull(checkpoint);
+    }
+    @Override
+    @Nullable
+    public LargeFileUploadCheckpoint load() {
+        return checkpoint;
+    }
+    @Override
+    public void clear() {
+        this.checkpoint = null;
+    }
+}
@@ -0,0 +1,31 @@
+package com.microsoft.graph.core.tasks;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.Objects;
+
+/**
+ * A PageIteratorCheckpointStore keeping the checkpoint in memory, for iterations that do not need to survive a restart of the process.
+ */
+public class InMemoryPageIteratorCheckpointStore implements PageIteratorCheckpointStore {
+    private volatile PageIteratorCheckpoint checkpoint;
+    /**
+     * Creates a new InMemoryPageIteratorCheckpointStore.
+     */
+    public InMemoryPageIteratorCheckpointStore() {
+        // default constructor
+    }
+    @Override
+    public void save(@Nonnull PageIteratorCheckpoint checkpoint) {
+        this.checkpoint = Objects.requireNonNull(checkpoint);
+    }
+    @Override
+    @Nullable
+    public PageIteratorCheckpoint load() {
+        return checkpoint;
+    }
+    @Override
+    public void clear() {
+        this.checkpoint = null;
+    }
+}
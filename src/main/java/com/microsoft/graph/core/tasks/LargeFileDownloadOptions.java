@@ -0,0 +1,112 @@
+package com.microsoft.graph.core.tasks;
+
+import jakarta.annotation.Nonnull;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Options to be passed to a LargeFileDownloadTask.
+ */
+public class LargeFileDownloadOptions {
+    private int maxConcurrentRanges = 4;
+    private Executor executor;
+    private int maxRangeRetries = 3;
+    private Duration initialBackoff = Duration.ofSeconds(1);
+    private Duration maxBackoff = Duration.ofMinutes(1);
+    /**
+     * Default constructor
+     */
+    public LargeFileDownloadOptions() {
+        //Default constructor
+    }
+    /**
+     * Sets the maximum number of ranges downloaded at the same time. Defaults to 4.
+     * @param maxConcurrentRanges the maximum number of ranges downloaded at the same time, 1 to download ranges one after another on the calling thread.
+     */
+    public void setMaxConcurrentRanges(int maxConcurrentRanges) {
+        if(maxConcurrentRanges < 1) {
+            throw new IllegalArgumentException("maxConcurrentRanges must be greater than 0");
+        }
+        this.maxConcurrentRanges = maxConcurrentRanges;
+    }
+    /**
+     * Gets the maximum number of ranges downloaded at the same time.
+     * @return the maximum number of ranges downloaded at the same time.
+     */
+    public int getMaxConcurrentRanges() {
+        return maxConcurrentRanges;
+    }
+    /**
+     * Sets the executor the ranges are downloaded on when more than one range is downloaded at the same time.
+     * @param executor the executor to download ranges on.
+     */
+    public void setExecutor(@Nonnull Executor executor) {
+        this.executor = Objects.requireNonNull(executor);
+    }
+    /**
+     * Gets the executor the ranges are downloaded on when more than one range is downloaded at the same time.
+     * Returns the {@link ForkJoinPool#commonPool()} if none was set.
+     * @return the executor to download ranges on.
+     */
+    @Nonnull
+    public Executor getExecutor() {
+        return executor == null ? ForkJoinPool.commonPool() : executor;
+    }
+    /**
+     * Sets the number of times a range is retried when it is throttled, the service is temporarily unavailable or the connection fails. Defaults to 3.
+     * A range interrupted by a connection failure is retried from the last byte received.
+     * @param maxRangeRetries the number of retries of a range, 0 to fail the download on the first failed range.
+     */
+    public void setMaxRangeRetries(int maxRangeRetries) {
+        if(maxRangeRetries < 0) {
+            throw new IllegalArgumentException("maxRangeRetries cannot be negative");
+        }
+        this.maxRangeRetries = maxRangeRetries;
+    }
+    /**
+     * Gets the number of times a range is retried when it is throttled, the service is temporarily unavailable or the connection fails.
+     * @return the number of retries of a range.
+     */
+    public int getMaxRangeRetries() {
+        return maxRangeRetries;
+    }
+    /**
+     * Sets the delay before the first retry of a range when the response did not carry a Retry-After header. Defaults to 1 second.
+     * The delay doubles for each following retry of the range and is jittered.
+     * @param initialBackoff the delay before the first retry of a range.
+     */
+    public void setInitialBackoff(@Nonnull Duration initialBackoff) {
+        if(Objects.requireNonNull(initialBackoff).isNegative()) {
+            throw new IllegalArgumentException("initialBackoff cannot be negative");
+        }
+        this.initialBackoff = initialBackoff;
+    }
+    /**
+     * Gets the delay before the first retry of a range when the response did not carry a Retry-After header.
+     * @return the delay before the first retry of a range.
+     */
+    @Nonnull
+    public Duration getInitialBackoff() {
+        return initialBackoff;
+    }
+    /**
+     * Sets the longest delay before the retry of a range, including the delays requested by the service. Defaults to 1 minute.
+     * @param maxBackoff the longest delay before the retry of a range.
+     */
+    public void setMaxBackoff(@Nonnull Duration maxBackoff) {
+        if(Objects.requireNonNull(maxBackoff).isNegative()) {
+            throw new IllegalArgumentException("maxBackoff cannot be negative");
+        }
+        this.maxBackoff = maxBackoff;
+    }
+    /**
+     * Gets the longest delay before the retry of a range, including the delays requested by the service.
+     * @return the longest delay before the retry of a range.
+     */
+    @Nonnull
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+}
@@ -0,0 +1,415 @@
+package com.microsoft.graph.core.tasks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.microsoft.graph.core.ErrorConstants;
+import com.microsoft.graph.core.models.IProgressCallback;
+import com.microsoft.graph.core.requests.BaseGraphRequestAdapter;
+import com.microsoft.graph.core.requests.GraphClientFactory;
+import com.microsoft.graph.core.requests.RetryAfter;
+import com.microsoft.kiota.ApiException;
+import com.microsoft.kiota.ApiExceptionBuilder;
+import com.microsoft.kiota.Compatibility;
+import com.microsoft.kiota.HttpMethod;
+import com.microsoft.kiota.NativeResponseHandler;
+import com.microsoft.kiota.RequestAdapter;
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.authentication.AnonymousAuthenticationProvider;
+import com.microsoft.kiota.http.HeadersCompatibility;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import okhttp3.OkHttpClient;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Task for downloading large files using parallel HTTP range requests, including resuming a partial download.
+ * The ranges are written to the destination file at their offsets. The ranges already written are recorded next to the destination in a file named after it with a ".ranges" suffix, which is removed once the download completes,
+ * so that a download interrupted by a failure or a restart of the process is resumed without downloading those ranges again.
+ */
+public class LargeFileDownloadTask {
+
+    private static final long DEFAULT_MAX_RANGE_SIZE = (long) 5*1024*1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_BACKOFF_EXPONENT = 6;
+    private static final String RANGES_FILE_SUFFIX = ".ranges";
+    private final RequestAdapter requestAdapter;
+    private final String downloadUrl;
+    private final Path destination;
+    private final Path rangesPath;
+    private final long contentLength;
+    private final long maxRangeSize;
+    private final LargeFileDownloadOptions options;
+    private final TreeMap<Long, Long> completedRanges = new TreeMap<>();
+    private long downloadedBytes;
+    /**
+     * LargeFileDownloadTask instance constructor.
+     * @param requestAdapter The request adapter for this download task, null to use an adapter without authentication for pre-authenticated download URLs.
+     * @param downloadUrl The URL of the content to download, such as the downloadUrl of a drive item.
+     * @param destination The path of the file to write the content to.
+     * @param contentLength The size of the content to download.
+     */
+    public LargeFileDownloadTask(@Nullable final RequestAdapter requestAdapter,
+                                 @Nonnull String downloadUrl,
+                                 @Nonnull Path destination,
+                                 long contentLength) {
+        this(requestAdapter, downloadUrl, destination, contentLength, DEFAULT_MAX_RANGE_SIZE, new LargeFileDownloadOptions());
+    }
+    /**
+     * LargeFileDownloadTask instance constructor.
+     * @param requestAdapter The request adapter for this download task, null to use an adapter without authentication for pre-authenticated download URLs.
+     * @param downloadUrl The URL of the content to download, such as the downloadUrl of a drive item.
+     * @param destination The path of the file to write the content to.
+     * @param contentLength The size of the content to download.
+     * @param maxRangeSize Max size(in bytes) of each range to be requested. Defaults to 5 MB.
+     * @param options The options of the download task.
+     */
+    public LargeFileDownloadTask(@Nullable final RequestAdapter requestAdapter,
+                                 @Nonnull String downloadUrl,
+                                 @Nonnull Path destination,
+                                 long contentLength,
+                                 long maxRangeSize,
+                                 @Nonnull LargeFileDownloadOptions options) {
+        if(Compatibility.isBlank(downloadUrl)) {
+            throw new IllegalArgumentException("downloadUrl cannot be null or empty");
+        }
+        if(contentLength < 0) {
+            throw new IllegalArgumentException("contentLength cannot be negative");
+        }
+        if(maxRangeSize < 1) {
+            throw new IllegalArgumentException("maxRangeSize must be greater than 0");
+        }
+        this.downloadUrl = downloadUrl;
+        this.destination = Objects.requireNonNull(destination);
+        this.rangesPath = destination.resolveSibling(destination.getFileName() + RANGES_FILE_SUFFIX);
+        this.contentLength = contentLength;
+        this.maxRangeSize = maxRangeSize;
+        this.options = Objects.requireNonNull(options);
+        this.requestAdapter = Objects.isNull(requestAdapter) ? initializeAdapter(downloadUrl) : requestAdapter;
+    }
+    /**
+     * Perform the download task.
+     * @throws IOException if there was an error writing the destination file or a range could not be downloaded.
+     * @throws InterruptedException if the thread is interrupted while waiting for the ranges.
+     */
+    public void download() throws IOException, InterruptedException {
+        this.download(null);
+    }
+    /**
+     * Perform the download task, resuming from the ranges recorded next to the destination file if any.
+     * When no ranges were recorded, an existing destination file is overwritten.
+     * @param progress IProgress interface describing how to report progress, called on the threads downloading the ranges.
+     * @throws IOException if there was an error writing the destination file or a range could not be downloaded.
+     * @throws InterruptedException if the thread is interrupted while waiting for the ranges.
+     */
+    public void download(@Nullable IProgressCallback progress) throws IOException, InterruptedException {
+        boolean resuming = loadCompletedRanges();
+        List<AbstractMap.SimpleEntry<Long, Long>> ranges = getRangesRemaining();
+        OpenOption[] openOptions = resuming
+            ? new OpenOption[] {StandardOpenOption.CREATE, StandardOpenOption.WRITE}
+            : new OpenOption[] {StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING};
+        try (FileChannel channel = FileChannel.open(this.destination, openOptions)) {
+            try {
+                if (this.options.getMaxConcurrentRanges() > 1) {
+                    downloadRangesConcurrently(channel, ranges, progress);
+                } else {
+                    AtomicBoolean aborted = new AtomicBoolean();
+                    for (Map.Entry<Long, Long> range : ranges) {
+                        downloadRange(channel, range.getKey(), range.getValue(), progress, aborted);
+                    }
+                }
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            if (channel.size() > this.contentLength) {
+                channel.truncate(this.contentLength);
+            }
+        }
+        Files.deleteIfExists(this.rangesPath);
+    }
+    /**
+     * Gets the number of bytes of the content written to the destination file, including the bytes of a resumed download.
+     * @return the number of downloaded bytes.
+     */
+    public synchronized long getDownloadedBytes() {
+        return downloadedBytes;
+    }
+    /**
+     * Downloads up to maxConcurrentRanges ranges at the same time, stopping the other ranges once a range failed.
+     */
+    private void downloadRangesConcurrently(FileChannel channel, List<AbstractMap.SimpleEntry<Long, Long>> ranges, IProgressCallback progress) throws IOException, InterruptedException {
+        AtomicBoolean aborted = new AtomicBoolean();
+        ArrayDeque<CompletableFuture<Void>> pendingRanges = new ArrayDeque<>();
+        try {
+            for (Map.Entry<Long, Long> range : ranges) {
+                if (pendingRanges.size() >= this.options.getMaxConcurrentRanges()) {
+                    awaitRange(pendingRanges.removeFirst());
+                }
+                pendingRanges.addLast(CompletableFuture.runAsync(() -> downloadRange(channel, range.getKey(), range.getValue(), progress, aborted), this.options.getExecutor()));
+            }
+            while (!pendingRanges.isEmpty()) {
+                awaitRange(pendingRanges.removeFirst());
+            }
+        } finally {
+            if (!pendingRanges.isEmpty()) {
+                aborted.set(true);
+                for (CompletableFuture<Void> pendingRange : pendingRanges) {
+                    pendingRange.cancel(true);
+                }
+            }
+        }
+    }
+    private static void awaitRange(CompletableFuture<Void> pendingRange) throws IOException, InterruptedException {
+        try {
+            pendingRange.get();
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause() instanceof CompletionException ? ex.getCause().getCause() : ex.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("Unable to download the range.", cause);
+        }
+    }
+    /**
+     * Downloads a range and writes it at its offset, retrying a throttled or interrupted range from the last byte written.
+     * A range is not retried once another range failed or the destination was closed.
+     */
+    private void downloadRange(FileChannel channel, long rangeBegin, long rangeEnd, IProgressCallback progress, AtomicBoolean aborted) {
+        long position = rangeBegin;
+        int retries = 0;
+        byte[] buffer = new byte[BUFFER_SIZE];
+        while (true) {
+            checkNotAborted(aborted);
+            RequestInformation requestInformation = toRangeRequestInformation(position, rangeEnd);
+            NativeResponseHandler nativeResponseHandler = new NativeResponseHandler();
+            requestInformation.setResponseHandler(nativeResponseHandler);
+            try {
+                this.requestAdapter.sendPrimitive(requestInformation, null, InputStream.class);
+                try (Response response = (Response) nativeResponseHandler.getValue()) {
+                    checkRangeResponse(response, position, rangeEnd);
+                    ResponseBody body = response.body();
+                    if (body == null) {
+                        throw new IOException("The response of the range has no content.");
+                    }
+                    try (InputStream content = body.byteStream()) {
+                        int bytesRead;
+                        while (position <= rangeEnd && (bytesRead = content.read(buffer, 0, (int) Math.min(buffer.length, rangeEnd - position + 1))) != -1) {
+                            ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, bytesRead);
+                            while (byteBuffer.hasRemaining()) {
+                                position += channel.write(byteBuffer, position);
+                            }
+                            reportBytesDownloaded(bytesRead, progress);
+                        }
+                    }
+                }
+                if (position > rangeEnd) {
+                    recordCompletedRange(rangeBegin, rangeEnd);
+                    return;
+                }
+                throw new IOException("The response ended before the end of the range.");
+            } catch (ApiException apiException) {
+                if (retries >= this.options.getMaxRangeRetries() || !RetryAfter.isRetryable(apiException.getResponseStatusCode())) {
+                    throw apiException;
+                }
+                checkNotAborted(aborted);
+                retries++;
+                sleepBeforeRetry(retryDelay(retries, apiException));
+            } catch (ClosedChannelException ex) {
+                // the destination was closed, as the download failed or was interrupted, retrying cannot write the range
+                throw new UncheckedIOException(ex);
+            } catch (IOException ex) {
+                if (retries >= this.options.getMaxRangeRetries()) {
+                    throw new UncheckedIOException(ex);
+                }
+                checkNotAborted(aborted);
+                retries++;
+                sleepBeforeRetry(retryDelay(retries, null));
+            }
+        }
+    }
+    private static void checkNotAborted(AtomicBoolean aborted) {
+        if (aborted.get()) {
+            throw new CancellationException("The download task was cancelled because another range failed.");
+        }
+    }
+    private RequestInformation toRangeRequestInformation(long rangeBegin, long rangeEnd) {
+        RequestInformation requestInformation = new RequestInformation();
+        requestInformation.httpMethod = HttpMethod.GET;
+        requestInformation.urlTemplate = this.downloadUrl;
+        requestInformation.headers.add("Range", String.format(Locale.US, "bytes=%d-%d", rangeBegin, rangeEnd));
+        return requestInformation;
+    }
+    /**
+     * Checks that the response carries the requested range, a full content response being accepted when the whole content was requested.
+     */
+    private void checkRangeResponse(Response response, long rangeBegin, long rangeEnd) {
+        if (!response.isSuccessful()) {
+            throw new ApiExceptionBuilder()
+                .withMessage(ErrorConstants.Codes.GENERAL_EXCEPTION)
+                .withResponseStatusCode(response.code())
+                .withResponseHeaders(HeadersCompatibility.getResponseHeaders(response.headers()))
+                .build();
+        }
+        if (response.code() == HttpURLConnection.HTTP_PARTIAL) {
+            String contentRange = response.header("Content-Range");
+            if (contentRange == null || !contentRange.startsWith(String.format(Locale.US, "bytes %d-", rangeBegin))) {
+                throw new UncheckedIOException(new ProtocolException("The response carries the range " + contentRange + " instead of the range starting at " + rangeBegin + "."));
+            }
+        } else if (rangeBegin != 0 || rangeEnd != this.contentLength - 1) {
+            throw new UncheckedIOException(new ProtocolException("The server does not support range requests for " + this.downloadUrl + "."));
+        }
+    }
+    private Duration retryDelay(int retry, @Nullable ApiException apiException) {
+        Duration delay = apiException == null ? null : RetryAfter.fromException(apiException);
+        if (delay == null) {
+            long halfBackoff = this.options.getInitialBackoff().multipliedBy(1L << Math.min(retry - 1, MAX_BACKOFF_EXPONENT)).toNanos() / 2;
+            delay = Duration.ofNanos(halfBackoff + ThreadLocalRandom.current().nextLong(halfBackoff + 1));
+        }
+        return delay.compareTo(this.options.getMaxBackoff()) > 0 ? this.options.getMaxBackoff() : delay;
+    }
+    private static void sleepBeforeRetry(Duration delay) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(delay.toNanos());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("The download task was interrupted while waiting to retry a range.");
+        }
+    }
+    private synchronized void reportBytesDownloaded(long bytes, IProgressCallback progress) {
+        downloadedBytes += bytes;
+        if (progress != null) {
+            progress.report(downloadedBytes, this.contentLength);
+        }
+    }
+    /**
+     * Records a range written to the destination file, merging it with the adjacent recorded ranges, and saves the recorded ranges.
+     */
+    private synchronized void recordCompletedRange(long rangeBegin, long rangeEnd) {
+        long begin = rangeBegin;
+        long end = rangeEnd;
+        Map.Entry<Long, Long> previous = completedRanges.floorEntry(rangeBegin);
+        if (previous != null && previous.getValue() + 1 >= rangeBegin) {
+            begin = previous.getKey();
+            end = Math.max(end, previous.getValue());
+        }
+        Map.Entry<Long, Long> next = completedRanges.higherEntry(rangeBegin);
+        if (next != null && rangeEnd + 1 >= next.getKey()) {
+            completedRanges.remove(next.getKey());
+            end = Math.max(end, next.getValue());
+        }
+        completedRanges.put(begin, end);
+        try {
+            saveCompletedRanges();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+    /**
+     * Saves the content length and the recorded ranges, one per line, replacing the ranges file atomically where the file system supports it.
+     */
+    private void saveCompletedRanges() throws IOException {
+        Path temporaryPath = this.rangesPath.resolveSibling(this.rangesPath.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temporaryPath, StandardCharsets.UTF_8)) {
+            writer.write(Long.toString(this.contentLength));
+            writer.newLine();
+            for (Map.Entry<Long, Long> range : completedRanges.entrySet()) {
+                writer.write(range.getKey() + "-" + range.getValue());
+                writer.newLine();
+            }
+        }
+        try {
+            Files.move(temporaryPath, this.rangesPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(temporaryPath, this.rangesPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    /**
+     * Loads the ranges recorded by a previous download of the same content into the same destination file.
+     * @return whether the download resumes from recorded ranges.
+     */
+    private synchronized boolean loadCompletedRanges() throws IOException {
+        completedRanges.clear();
+        downloadedBytes = 0;
+        if (!Files.exists(this.rangesPath) || !Files.exists(this.destination)) {
+            return false;
+        }
+        List<String> lines = Files.readAllLines(this.rangesPath, StandardCharsets.UTF_8);
+        try {
+            if (lines.isEmpty() || Long.parseLong(lines.get(0).trim()) != this.contentLength) {
+                return false;
+            }
+            for (String line : lines.subList(1, lines.size())) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                String[] specifiers = line.trim().split("-");
+                long rangeBegin = Long.parseLong(specifiers[0]);
+                long rangeEnd = Long.parseLong(specifiers[1]);
+                completedRanges.put(rangeBegin, rangeEnd);
+                downloadedBytes += rangeEnd - rangeBegin + 1;
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException ex) {
+            // the ranges file is damaged, the download starts over
+            completedRanges.clear();
+            downloadedBytes = 0;
+            return false;
+        }
+        return true;
+    }
+    /**
+     * Splits the content not recorded as downloaded into ranges of at most maxRangeSize bytes.
+     */
+    private synchronized List<AbstractMap.SimpleEntry<Long, Long>> getRangesRemaining() {
+        ArrayList<AbstractMap.SimpleEntry<Long, Long>> ranges = new ArrayList<>();
+        long position = 0;
+        for (Map.Entry<Long, Long> completedRange : completedRanges.entrySet()) {
+            addRanges(ranges, position, Math.min(completedRange.getKey(), this.contentLength) - 1);
+            position = Math.max(position, completedRange.getValue() + 1);
+        }
+        addRanges(ranges, position, this.contentLength - 1);
+        return ranges;
+    }
+    private void addRanges(List<AbstractMap.SimpleEntry<Long, Long>> ranges, long rangeBegin, long rangeEnd) {
+        for (long begin = rangeBegin; begin <= rangeEnd; begin += this.maxRangeSize) {
+            ranges.add(new AbstractMap.SimpleEntry<>(begin, Math.min(rangeEnd, begin + this.maxRangeSize - 1)));
+        }
+    }
+    private RequestAdapter initializeAdapter(String url) {
+        OkHttpClient client = GraphClientFactory.create().build();
+        return new BaseGraphRequestAdapter(new AnonymousAuthenticationProvider(), url, client);
+    }
+}
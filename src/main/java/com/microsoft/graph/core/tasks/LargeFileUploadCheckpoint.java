@@ -0,0 +1,122 @@
+package com.microsoft.graph.core.tasks;
+
+import com.microsoft.graph.core.models.UploadSession;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A snapshot of the progress of a LargeFileUploadTask, used to resume the upload in another process.
+ * It holds the upload session and the identity of the uploaded source, so that an upload is only resumed with the content it was started with.
+ */
+public final class LargeFileUploadCheckpoint implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private final String uploadUrl;
+    private final OffsetDateTime expirationDateTime;
+    private final ArrayList<String> nextExpectedRanges;
+    private final String sourcePath;
+    private final long sourceSize;
+    private final Long sourceLastModified;
+    private final String sourceId;
+    /**
+     * Creates a new LargeFileUploadCheckpoint.
+     * @param uploadUrl the URL of the upload session.
+     * @param expirationDateTime the time at which the upload session expires.
+     * @param nextExpectedRanges the byte ranges not uploaded yet, in the format of the nextExpectedRanges of an upload session.
+     * @param sourcePath the absolute path of the uploaded file, null if the source is not a file.
+     * @param sourceSize the size of the uploaded source in bytes.
+     * @param sourceLastModified the last modified time of the uploaded file in milliseconds since the epoch, null if the source is not a file.
+     * @param sourceId an identifier of the uploaded content set by the caller, such as a hash of the content, null if none was set.
+     */
+    public LargeFileUploadCheckpoint(@Nonnull String uploadUrl,
+                                     @Nullable OffsetDateTime expirationDateTime,
+                                     @Nonnull List<String> nextExpectedRanges,
+                                     @Nullable String sourcePath,
+                                     long sourceSize,
+                                     @Nullable Long sourceLastModified,
+                                     @Nullable String sourceId) {
+        if(sourceSize < 0) {
+            throw new IllegalArgumentException("sourceSize cannot be negative");
+        }
+        this.uploadUrl = Objects.requireNonNull(uploadUrl);
+        this.expirationDateTime = expirationDateTime;
+        this.nextExpectedRanges = new ArrayList<>(Objects.requireNonNull(nextExpectedRanges));
+        this.sourcePath = sourcePath;
+        this.sourceSize = sourceSize;
+        this.sourceLastModified = sourceLastModified;
+        this.sourceId = sourceId;
+    }
+    /**
+     * Gets the URL of the upload session.
+     * @return the URL of the upload session.
+     */
+    @Nonnull
+    public String getUploadUrl() {
+        return uploadUrl;
+    }
+    /**
+     * Gets the time at which the upload session expires.
+     * @return the expiration time of the upload session, null if unknown.
+     */
+    @Nullable
+    public OffsetDateTime getExpirationDateTime() {
+        return expirationDateTime;
+    }
+    /**
+     * Gets the byte ranges not uploaded yet.
+     * @return the byte ranges not uploaded yet, in the format of the nextExpectedRanges of an upload session.
+     */
+    @Nonnull
+    public List<String> getNextExpectedRanges() {
+        return Collections.unmodifiableList(nextExpectedRanges);
+    }
+    /**
+     * Gets the absolute path of the uploaded file.
+     * @return the path of the uploaded file, null if the source is not a file.
+     */
+    @Nullable
+    public String getSourcePath() {
+        return sourcePath;
+    }
+    /**
+     * Gets the size of the uploaded source.
+     * @return the size of the uploaded source in bytes.
+     */
+    public long getSourceSize() {
+        return sourceSize;
+    }
+    /**
+     * Gets the last modified time of the uploaded file.
+     * @return the last modified time in milliseconds since the epoch, null if the source is not a file.
+     */
+    @Nullable
+    public Long getSourceLastModified() {
+        return sourceLastModified;
+    }
+    /**
+     * Gets the identifier of the uploaded content set by the caller.
+     * @return the identifier of the uploaded content, null if none was set.
+     */
+    @Nullable
+    public String getSourceId() {
+        return sourceId;
+    }
+    /**
+     * Creates the upload session to pass to a LargeFileUploadTask resuming the upload.
+     * @return the upload session of the checkpoint.
+     */
+    @Nonnull
+    public UploadSession toUploadSession() {
+        UploadSession session = new UploadSession();
+        session.setUploadUrl(uploadUrl);
+        session.setExpirationDateTime(expirationDateTime);
+        session.setNextExpectedRanges(nextExpectedRanges);
+        return session;
+    }
+}
@@ -0,0 +1,36 @@
+package com.microsoft.graph.core.tasks;
+
+import com.microsoft.graph.core.requests.upload.UploadSliceRequestBuilder;
+import com.microsoft.kiota.ApiException;
+
+import jakarta.annotation.Nonnull;
+import java.time.Duration;
+
+/**
+ * Receives the timings and the progress of a LargeFileUploadTask.
+ * Slice events are called on the thread uploading the slice, which can be a thread of the executor when slices are uploaded concurrently or asynchronously.
+ */
+public interface LargeFileUploadListener {
+    /**
+     * Called when the service accepted a slice.
+     * @param slice the slice that was uploaded.
+     * @param latency the time the request of the slice took, from sending its first byte to receiving its response.
+     */
+    default void onSliceUploaded(@Nonnull UploadSliceRequestBuilder<?> slice, @Nonnull Duration latency) {
+    }
+    /**
+     * Called before a throttled slice is retried.
+     * @param slice the slice that will be retried.
+     * @param retry the number of the retry of the slice, starting at 1.
+     * @param delay the delay before the retry.
+     * @param exception the exception of the failed request.
+     */
+    default void onSliceRetry(@Nonnull UploadSliceRequestBuilder<?> slice, int retry, @Nonnull Duration delay, @Nonnull ApiException exception) {
+    }
+    /**
+     * Called after each slice, in the order of the slices, once its result was observed.
+     * @param metrics the metrics of the upload.
+     */
+    default void onProgress(@Nonnull LargeFileUploadMetrics metrics) {
+    }
+}
@@ -0,0 +1,331 @@
+package com.microsoft.graph.core.tasks;
+
+import com.microsoft.graph.core.models.IProgressCallback;
+import com.microsoft.graph.core.models.UploadResult;
+import com.microsoft.kiota.serialization.Parsable;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the uploads of many LargeFileUploadTask instances under a single limit of slices in flight and an optional limit of uploaded bytes per second.
+ * The slices and the other steps of the uploads wait in a queue ordered by the size of their file, smallest first, so that small files are not stuck behind large ones.
+ * Each task still uploads at most the maxConcurrentSlices of its own options at the same time.
+ */
+public class LargeFileUploadManager implements Closeable {
+    private static final Comparator<QueuedStep> SMALLEST_FILE_FIRST = Comparator.<QueuedStep>comparingLong(step -> step.fileSize).thenComparingLong(step -> step.sequence);
+    private final Executor executor;
+    private final ScheduledExecutorService scheduler;
+    private final boolean ownsScheduler;
+    private final int maxConcurrentSlices;
+    private final long maxBytesPerSecond;
+    private final PriorityQueue<QueuedStep> waitingSteps = new PriorityQueue<>(SMALLEST_FILE_FIRST);
+    private final AtomicLong uploadedBytes = new AtomicLong();
+    private long sequence;
+    private int runningSteps;
+    private int activeUploads;
+    private double availableBytes;
+    private long lastRefill;
+    private long firstSubmission;
+    private boolean dispatchScheduled;
+    private boolean closed;
+    /**
+     * Creates a new LargeFileUploadManager from its builder.
+     * @param builder the builder holding the options of the manager.
+     */
+    protected LargeFileUploadManager(@Nonnull Builder builder) {
+        Objects.requireNonNull(builder);
+        this.executor = builder.executor == null ? ForkJoinPool.commonPool() : builder.executor;
+        this.ownsScheduler = builder.scheduler == null;
+        this.scheduler = this.ownsScheduler ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "large-file-upload-manager");
+            thread.setDaemon(true);
+            return thread;
+        }) : builder.scheduler;
+        this.maxConcurrentSlices = builder.maxConcurrentSlices;
+        this.maxBytesPerSecond = builder.maxBytesPerSecond;
+        this.availableBytes = builder.maxBytesPerSecond;
+        this.lastRefill = System.nanoTime();
+    }
+    /**
+     * Adds the upload of a task, retried up to 3 times.
+     * @param uploadTask the task to upload, which should not be uploaded elsewhere until the returned future completes.
+     * @param <T> the type of the uploaded item.
+     * @return a future completing with the result of the upload.
+     */
+    @Nonnull
+    public <T extends Parsable> CompletableFuture<UploadResult<T>> submit(@Nonnull LargeFileUploadTask<T> uploadTask) {
+        return submit(uploadTask, 3, null);
+    }
+    /**
+     * Adds the upload of a task. Uploads can be submitted at any time, including from the progress callbacks of other uploads.
+     * @param uploadTask the task to upload, which should not be uploaded elsewhere until the returned future completes.
+     * @param maxTries Number of times to retry the task before giving up.
+     * @param progress IProgress interface describing how to report the progress of this upload.
+     * @param <T> the type of the uploaded item.
+     * @return a future completing with the result of the upload, cancelling it stops the upload. It completes exceptionally with a RejectedExecutionException if the executor rejects a step of the upload.
+     * @throws RejectedExecutionException if the manager was closed.
+     */
+    @Nonnull
+    public <T extends Parsable> CompletableFuture<UploadResult<T>> submit(@Nonnull LargeFileUploadTask<T> uploadTask, int maxTries, @Nullable IProgressCallback progress) {
+        Objects.requireNonNull(uploadTask);
+        long fileSize = uploadTask.getTotalUploadLength();
+        synchronized (this) {
+            if(closed) {
+                throw new RejectedExecutionException("The upload manager was closed.");
+            }
+            if(activeUploads == 0 && uploadedBytes.get() == 0) {
+                firstSubmission = System.nanoTime();
+            }
+            activeUploads++;
+        }
+        AtomicLong reportedBytes = new AtomicLong();
+        IProgressCallback managedProgress = (current, max) -> {
+            onBytesUploaded(current - reportedBytes.getAndSet(current));
+            if(progress != null) {
+                progress.report(current, max);
+            }
+        };
+        // a step rejected by the executor can be dispatched before uploadAsync returned the future it fails
+        CompletableFuture<Void> rejection = new CompletableFuture<>();
+        CompletableFuture<UploadResult<T>> result = uploadTask.uploadAsync(maxTries, managedProgress, step -> enqueue(new QueuedStep(fileSize, step, rejection)), scheduler);
+        rejection.whenComplete((ignored, ex) -> result.completeExceptionally(ex));
+        result.whenComplete((uploadResult, ex) -> {
+            synchronized (this) {
+                activeUploads--;
+            }
+        });
+        return result;
+    }
+    /**
+     * Gets the number of uploads that were submitted and did not complete yet.
+     * @return the number of active uploads.
+     */
+    public synchronized int getActiveUploadCount() {
+        return activeUploads;
+    }
+    /**
+     * Gets the number of slices and other upload steps currently running.
+     * @return the number of running slices and steps.
+     */
+    public synchronized int getInFlightSliceCount() {
+        return runningSteps;
+    }
+    /**
+     * Gets the number of bytes uploaded by all the uploads of the manager.
+     * @return the number of uploaded bytes.
+     */
+    public long getUploadedBytes() {
+        return uploadedBytes.get();
+    }
+    /**
+     * Gets the average number of bytes uploaded per second by all the uploads of the manager since the first upload was submitted.
+     * @return the aggregate throughput in bytes per second, 0 if no upload was submitted.
+     */
+    public synchronized double getThroughput() {
+        if(activeUploads == 0 && uploadedBytes.get() == 0) {
+            return 0;
+        }
+        double seconds = Math.max(System.nanoTime() - firstSubmission, 1L) / 1e9;
+        return uploadedBytes.get() / seconds;
+    }
+    /**
+     * Stops accepting uploads and stops the scheduler of the manager if it was not provided to the builder.
+     * Uploads already submitted keep running, but can no longer wait before retrying a slice once the scheduler was stopped.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        if(ownsScheduler) {
+            scheduler.shutdown();
+        }
+    }
+    private void enqueue(@Nonnull QueuedStep step) {
+        synchronized (this) {
+            step.sequence = sequence++;
+            waitingSteps.add(step);
+        }
+        dispatch();
+    }
+    private void onBytesUploaded(long bytes) {
+        uploadedBytes.addAndGet(bytes);
+        if(maxBytesPerSecond > 0) {
+            synchronized (this) {
+                // slices are counted once received, the debt is capped at one second of uploads so a large slice cannot stall the manager for longer
+                availableBytes = Math.max(availableBytes - bytes, -maxBytesPerSecond);
+            }
+        }
+    }
+    private void onStepCompleted() {
+        synchronized (this) {
+            runningSteps--;
+        }
+        dispatch();
+    }
+    /**
+     * Starts the waiting steps, smallest file first, until the limit of running steps is reached or the byte budget is exhausted.
+     * A step rejected by the executor fails the upload it belongs to and frees its place for the next waiting step.
+     */
+    private void dispatch() {
+        List<QueuedStep> startedSteps = new ArrayList<>();
+        synchronized (this) {
+            if(maxBytesPerSecond > 0) {
+                long now = System.nanoTime();
+                availableBytes = Math.min(maxBytesPerSecond, availableBytes + (now - lastRefill) / 1e9 * maxBytesPerSecond);
+                lastRefill = now;
+                if(availableBytes < 0 && scheduleDispatch((long) (-availableBytes / maxBytesPerSecond * 1e9))) {
+                    return;
+                }
+            }
+            while (runningSteps < maxConcurrentSlices && !waitingSteps.isEmpty()) {
+                runningSteps++;
+                startedSteps.add(waitingSteps.poll());
+            }
+        }
+        boolean rejected = false;
+        for (QueuedStep step : startedSteps) {
+            try {
+                executor.execute(step);
+            } catch (RejectedExecutionException ex) {
+                synchronized (this) {
+                    runningSteps--;
+                }
+                step.rejection.completeExceptionally(ex);
+                rejected = true;
+            }
+        }
+        if(rejected) {
+            dispatch();
+        }
+    }
+    /**
+     * Schedules a dispatch once the byte budget is available again.
+     * @return false if the scheduler was shut down, in which case the byte budget can no longer be waited for.
+     */
+    private synchronized boolean scheduleDispatch(long delayNanos) {
+        if(dispatchScheduled) {
+            return true;
+        }
+        try {
+            scheduler.schedule(() -> {
+                synchronized (this) {
+                    dispatchScheduled = false;
+                }
+                dispatch();
+            }, Math.max(delayNanos, 1L), TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException ex) {
+            return false;
+        }
+        dispatchScheduled = true;
+        return true;
+    }
+    private final class QueuedStep implements Runnable {
+        private final long fileSize;
+        private final Runnable step;
+        private final CompletableFuture<Void> rejection;
+        private long sequence;
+        private QueuedStep(long fileSize, @Nonnull Runnable step, @Nonnull CompletableFuture<Void> rejection) {
+            this.fileSize = fileSize;
+            this.step = step;
+            this.rejection = rejection;
+        }
+        @Override
+        public void run() {
+            try {
+                step.run();
+            } finally {
+                onStepCompleted();
+            }
+        }
+    }
+
+    /**
+     * A builder class for building a LargeFileUploadManager.
+     */
+    public static class Builder {
+        private Executor executor;
+        private ScheduledExecutorService scheduler;
+        private int maxConcurrentSlices = 4;
+        private long maxBytesPerSecond;
+        /**
+         * Constructor for the Builder class of a LargeFileUploadManager.
+         */
+        public Builder() {
+            // Default constructor
+        }
+        /**
+         * Sets the maximum number of slices in flight across all the uploads of the manager. Defaults to 4.
+         * @param maxConcurrentSlices the maximum number of slices in flight.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder maxConcurrentSlices(int maxConcurrentSlices) {
+            if(maxConcurrentSlices < 1) {
+                throw new IllegalArgumentException("maxConcurrentSlices must be greater than 0");
+            }
+            this.maxConcurrentSlices = maxConcurrentSlices;
+            return this;
+        }
+        /**
+         * Sets the maximum average number of bytes uploaded per second across all the uploads of the manager. Defaults to 0, which does not limit the rate.
+         * The bytes of a slice are counted once the slice was received, and no slice is started while more bytes were uploaded than the rate allows, with bursts of up to one second of uploads.
+         * The bytes uploaded beyond the rate delay the next slices by at most one second, so slices larger than maxBytesPerSecond can exceed the rate.
+         * @param maxBytesPerSecond the maximum number of bytes uploaded per second, 0 for no limit.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder maxBytesPerSecond(long maxBytesPerSecond) {
+            if(maxBytesPerSecond < 0) {
+                throw new IllegalArgumentException("maxBytesPerSecond cannot be negative");
+            }
+            this.maxBytesPerSecond = maxBytesPerSecond;
+            return this;
+        }
+        /**
+         * Sets the executor the slices are uploaded on. Defaults to the {@link ForkJoinPool#commonPool()}.
+         * As slice requests block on the network, an executor with at least maxConcurrentSlices threads is recommended.
+         * @param executor the executor to upload slices on.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder executor(@Nonnull Executor executor) {
+            this.executor = Objects.requireNonNull(executor);
+            return this;
+        }
+        /**
+         * Sets the scheduler used to wait before retries and while the byte rate is exceeded.
+         * Defaults to a single daemon thread owned by the manager and stopped when the manager is closed.
+         * @param scheduler the scheduler to wait on.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder scheduler(@Nonnull ScheduledExecutorService scheduler) {
+            this.scheduler = Objects.requireNonNull(scheduler);
+            return this;
+        }
+        /**
+         * Builds the LargeFileUploadManager object.
+         * @return the built LargeFileUploadManager.
+         */
+        @Nonnull
+        public LargeFileUploadManager build() {
+            return new LargeFileUploadManager(this);
+        }
+    }
+}
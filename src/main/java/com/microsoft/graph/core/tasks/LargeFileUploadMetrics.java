@@ -0,0 +1,111 @@
+package com.microsoft.graph.core.tasks;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * A snapshot of the progress and timings of a LargeFileUploadTask.
+ */
+public final class LargeFileUploadMetrics {
+    private final long committedBytes;
+    private final long totalBytes;
+    private final int uploadedSliceCount;
+    private final int rejectedSliceCount;
+    private final int retryCount;
+    private final double bytesPerSecond;
+    private final Duration averageSliceLatency;
+    private final Duration elapsed;
+    /**
+     * Creates a new LargeFileUploadMetrics.
+     * @param committedBytes the number of bytes accepted by the service.
+     * @param totalBytes the size of the upload.
+     * @param uploadedSliceCount the number of slices accepted by the service.
+     * @param rejectedSliceCount the number of slices rejected by the service, whose ranges are uploaded again.
+     * @param retryCount the number of retries of throttled slices.
+     * @param bytesPerSecond the moving average of the committed bytes per second.
+     * @param averageSliceLatency the average time the request of an accepted slice took.
+     * @param elapsed the time since the upload started.
+     */
+    public LargeFileUploadMetrics(long committedBytes, long totalBytes, int uploadedSliceCount, int rejectedSliceCount, int retryCount,
+                                  double bytesPerSecond, @Nonnull Duration averageSliceLatency, @Nonnull Duration elapsed) {
+        this.committedBytes = committedBytes;
+        this.totalBytes = totalBytes;
+        this.uploadedSliceCount = uploadedSliceCount;
+        this.rejectedSliceCount = rejectedSliceCount;
+        this.retryCount = retryCount;
+        this.bytesPerSecond = bytesPerSecond;
+        this.averageSliceLatency = Objects.requireNonNull(averageSliceLatency);
+        this.elapsed = Objects.requireNonNull(elapsed);
+    }
+    /**
+     * Gets the number of bytes accepted by the service, including the bytes received before the upload was resumed.
+     * @return the number of committed bytes.
+     */
+    public long getCommittedBytes() {
+        return committedBytes;
+    }
+    /**
+     * Gets the size of the upload.
+     * @return the total number of bytes of the upload.
+     */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+    /**
+     * Gets the number of slices accepted by the service.
+     * @return the number of uploaded slices.
+     */
+    public int getUploadedSliceCount() {
+        return uploadedSliceCount;
+    }
+    /**
+     * Gets the number of slices rejected by the service, whose ranges are uploaded again in a following pass.
+     * @return the number of rejected slices.
+     */
+    public int getRejectedSliceCount() {
+        return rejectedSliceCount;
+    }
+    /**
+     * Gets the number of retries of throttled slices.
+     * @return the number of slice retries.
+     */
+    public int getRetryCount() {
+        return retryCount;
+    }
+    /**
+     * Gets the moving average of the committed bytes per second, over all the slices uploaded at the same time.
+     * @return the upload throughput in bytes per second, 0 until a slice was committed.
+     */
+    public double getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+    /**
+     * Gets the estimated time until the upload completes, from the remaining bytes and the moving average throughput.
+     * @return the estimated remaining time, null until a slice was committed.
+     */
+    @Nullable
+    public Duration getEstimatedTimeRemaining() {
+        if (bytesPerSecond <= 0) {
+            return null;
+        }
+        return Duration.ofNanos((long) (Math.max(0, totalBytes - committedBytes) / bytesPerSecond * 1e9));
+    }
+    /**
+     * Gets the average time the request of an accepted slice took.
+     * @return the average slice latency, zero until a slice was accepted.
+     */
+    @Nonnull
+    public Duration getAverageSliceLatency() {
+        return averageSliceLatency;
+    }
+    /**
+     * Gets the time since the upload started.
+     * @return the elapsed time of the upload.
+     */
+    @Nonnull
+    public Duration getElapsed() {
+        return elapsed;
+    }
+}
@@ -0,0 +1,258 @@
+package com.microsoft.graph.core.tasks;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Options to be passed to a LargeFileUploadTask.
+ */
+public class LargeFileUploadOptions {
+    private int maxConcurrentSlices = 1;
+    private Executor executor;
+    private SliceBufferPool sliceBufferPool;
+    private boolean adaptiveSliceSizing;
+    private Duration targetSliceDuration = Duration.ofSeconds(5);
+    private int maxSliceRetries = 3;
+    private Duration initialBackoff = Duration.ofSeconds(1);
+    private Duration maxBackoff = Duration.ofMinutes(1);
+    private LargeFileUploadCheckpointStore checkpointStore;
+    private String sourceId;
+    private ScheduledExecutorService scheduler;
+    private LargeFileUploadListener uploadListener;
+    /**
+     * Default constructor
+     */
+    public LargeFileUploadOptions() {
+        //Default constructor
+    }
+    /**
+     * Copies the options, so that a task is not affected by later changes to the options it was created with.
+     * @param options the options to copy.
+     */
+    LargeFileUploadOptions(@Nonnull LargeFileUploadOptions options) {
+        this.maxConcurrentSlices = options.maxConcurrentSlices;
+        this.executor = options.executor;
+        this.sliceBufferPool = options.sliceBufferPool;
+        this.adaptiveSliceSizing = options.adaptiveSliceSizing;
+        this.targetSliceDuration = options.targetSliceDuration;
+        this.maxSliceRetries = options.maxSliceRetries;
+        this.initialBackoff = options.initialBackoff;
+        this.maxBackoff = options.maxBackoff;
+        this.checkpointStore = options.checkpointStore;
+        this.sourceId = options.sourceId;
+        this.scheduler = options.scheduler;
+        this.uploadListener = options.uploadListener;
+    }
+    /**
+     * Sets the maximum number of slices uploaded at the same time.
+     * When greater than 1, the slices are read from the stream in order on the calling thread and uploaded on the executor, so up to this many slices are held in memory.
+     * The slice completing the file is only uploaded once all the other slices were received.
+     * @param maxConcurrentSlices the maximum number of slices uploaded at the same time, 1 to upload slices one after another.
+     */
+    public void setMaxConcurrentSlices(int maxConcurrentSlices) {
+        if(maxConcurrentSlices < 1) {
+            throw new IllegalArgumentException("maxConcurrentSlices must be greater than 0");
+        }
+        this.maxConcurrentSlices = maxConcurrentSlices;
+    }
+    /**
+     * Gets the maximum number of slices uploaded at the same time.
+     * @return the maximum number of slices uploaded at the same time.
+     */
+    public int getMaxConcurrentSlices() {
+        return maxConcurrentSlices;
+    }
+    /**
+     * Sets the executor the slices are uploaded on when more than one slice is uploaded at the same time, and the executor running asynchronous uploads.
+     * @param executor the executor to upload slices on.
+     */
+    public void setExecutor(@Nonnull Executor executor) {
+        this.executor = Objects.requireNonNull(executor);
+    }
+    /**
+     * Gets the executor the slices are uploaded on when more than one slice is uploaded at the same time, and the executor running asynchronous uploads.
+     * Returns the {@link ForkJoinPool#commonPool()} if none was set.
+     * @return the executor to upload slices on.
+     */
+    @Nonnull
+    public Executor getExecutor() {
+        return executor == null ? ForkJoinPool.commonPool() : executor;
+    }
+    /**
+     * Sets the pool the slices of a stream are read into.
+     * Sharing a pool between upload tasks lets them reuse each other's slice buffers. Slices of a file are read from the file and do not use the pool.
+     * @param sliceBufferPool the pool to read slices into.
+     */
+    public void setSliceBufferPool(@Nonnull SliceBufferPool sliceBufferPool) {
+        this.sliceBufferPool = Objects.requireNonNull(sliceBufferPool);
+    }
+    /**
+     * Gets the pool the slices of a stream are read into.
+     * When none was set, each upload task uses its own pool, holding at most as many slices as it uploads at the same time.
+     * @return the pool to read slices into, null if none was set.
+     */
+    @Nullable
+    public SliceBufferPool getSliceBufferPool() {
+        return sliceBufferPool;
+    }
+    /**
+     * Sets whether the size of the slices adapts to the throughput observed while uploading.
+     * When enabled, the max slice size of the task is the size of the first slice, and the following slices are sized to take about the target slice duration, in multiples of 320 KiB up to 60 MiB.
+     * @param adaptiveSliceSizing whether the size of the slices adapts to the observed throughput.
+     * @see AdaptiveSliceSizer
+     */
+    public void setAdaptiveSliceSizing(boolean adaptiveSliceSizing) {
+        this.adaptiveSliceSizing = adaptiveSliceSizing;
+    }
+    /**
+     * Gets whether the size of the slices adapts to the throughput observed while uploading.
+     * @return whether the size of the slices adapts to the observed throughput.
+     */
+    public boolean isAdaptiveSliceSizing() {
+        return adaptiveSliceSizing;
+    }
+    /**
+     * Sets the time the upload of a slice should take when the size of the slices is adaptive. Defaults to 5 seconds.
+     * @param targetSliceDuration the time the upload of a slice should take.
+     */
+    public void setTargetSliceDuration(@Nonnull Duration targetSliceDuration) {
+        Objects.requireNonNull(targetSliceDuration);
+        if(targetSliceDuration.isZero() || targetSliceDuration.isNegative()) {
+            throw new IllegalArgumentException("targetSliceDuration must be greater than 0");
+        }
+        this.targetSliceDuration = targetSliceDuration;
+    }
+    /**
+     * Gets the time the upload of a slice should take when the size of the slices is adaptive.
+     * @return the time the upload of a slice should take.
+     */
+    @Nonnull
+    public Duration getTargetSliceDuration() {
+        return targetSliceDuration;
+    }
+    /**
+     * Sets the number of times a slice is retried when it is throttled or the service is temporarily unavailable. Defaults to 3.
+     * Only the failed slice is sent again, the other slices are not affected.
+     * @param maxSliceRetries the number of retries of a slice, 0 to fail the upload on the first throttled slice.
+     */
+    public void setMaxSliceRetries(int maxSliceRetries) {
+        if(maxSliceRetries < 0) {
+            throw new IllegalArgumentException("maxSliceRetries cannot be negative");
+        }
+        this.maxSliceRetries = maxSliceRetries;
+    }
+    /**
+     * Gets the number of times a slice is retried when it is throttled or the service is temporarily unavailable.
+     * @return the number of retries of a slice.
+     */
+    public int getMaxSliceRetries() {
+        return maxSliceRetries;
+    }
+    /**
+     * Sets the delay before the first retry of a slice when the response did not carry a Retry-After header. Defaults to 1 second.
+     * The delay doubles for each following retry of the slice and is jittered, so that slices failing together are not retried together.
+     * @param initialBackoff the delay before the first retry of a slice.
+     */
+    public void setInitialBackoff(@Nonnull Duration initialBackoff) {
+        if(Objects.requireNonNull(initialBackoff).isNegative()) {
+            throw new IllegalArgumentException("initialBackoff cannot be negative");
+        }
+        this.initialBackoff = initialBackoff;
+    }
+    /**
+     * Gets the delay before the first retry of a slice when the response did not carry a Retry-After header.
+     * @return the delay before the first retry of a slice.
+     */
+    @Nonnull
+    public Duration getInitialBackoff() {
+        return initialBackoff;
+    }
+    /**
+     * Sets the longest delay before the retry of a slice, including the delays requested by the service. Defaults to 1 minute.
+     * @param maxBackoff the longest delay before the retry of a slice.
+     */
+    public void setMaxBackoff(@Nonnull Duration maxBackoff) {
+        if(Objects.requireNonNull(maxBackoff).isNegative()) {
+            throw new IllegalArgumentException("maxBackoff cannot be negative");
+        }
+        this.maxBackoff = maxBackoff;
+    }
+    /**
+     * Gets the longest delay before the retry of a slice, including the delays requested by the service.
+     * @return the longest delay before the retry of a slice.
+     */
+    @Nonnull
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+    /**
+     * Sets the store the checkpoints of the upload are saved to.
+     * A checkpoint is saved when the upload starts, after each uploaded slice and when the session status is updated, and the store is cleared once the upload completes.
+     * @param checkpointStore the store to save checkpoints to.
+     * @see LargeFileUploadTask#fromCheckpoint(com.microsoft.kiota.RequestAdapter, LargeFileUploadCheckpoint, java.nio.file.Path, long, com.microsoft.kiota.serialization.ParsableFactory, LargeFileUploadOptions)
+     */
+    public void setCheckpointStore(@Nonnull LargeFileUploadCheckpointStore checkpointStore) {
+        this.checkpointStore = Objects.requireNonNull(checkpointStore);
+    }
+    /**
+     * Gets the store the checkpoints of the upload are saved to.
+     * @return the store to save checkpoints to, null if none was set.
+     */
+    @Nullable
+    public LargeFileUploadCheckpointStore getCheckpointStore() {
+        return checkpointStore;
+    }
+    /**
+     * Sets an identifier of the uploaded content, such as a hash of the content, saved with the checkpoints.
+     * An upload is only resumed from a checkpoint when the identifier of the resuming task matches the identifier of the checkpoint.
+     * @param sourceId the identifier of the uploaded content.
+     */
+    public void setSourceId(@Nullable String sourceId) {
+        this.sourceId = sourceId;
+    }
+    /**
+     * Gets the identifier of the uploaded content saved with the checkpoints.
+     * @return the identifier of the uploaded content, null if none was set.
+     */
+    @Nullable
+    public String getSourceId() {
+        return sourceId;
+    }
+    /**
+     * Sets the scheduler used by asynchronous uploads to wait before retrying a slice or a pass, so that no thread of the executor is held while waiting.
+     * The scheduler only hands the retries back to the executor, a single thread is enough.
+     * @param scheduler the scheduler to wait for retries on.
+     */
+    public void setScheduler(@Nonnull ScheduledExecutorService scheduler) {
+        this.scheduler = Objects.requireNonNull(scheduler);
+    }
+    /**
+     * Gets the scheduler used by asynchronous uploads to wait before retrying a slice or a pass.
+     * When none was set, a single daemon thread shared by all upload tasks is used.
+     * @return the scheduler to wait for retries on, null if none was set.
+     */
+    @Nullable
+    public ScheduledExecutorService getScheduler() {
+        return scheduler;
+    }
+    /**
+     * Sets the listener receiving the slice timings, the retries and the progress of the upload.
+     * @param uploadListener the listener of the upload.
+     */
+    public void setUploadListener(@Nonnull LargeFileUploadListener uploadListener) {
+        this.uploadListener = Objects.requireNonNull(uploadListener);
+    }
+    /**
+     * Gets the listener receiving the slice timings, the retries and the progress of the upload.
+     * @return the listener of the upload, null if none was set.
+     */
+    @Nullable
+    public LargeFileUploadListener getUploadListener() {
+        return uploadListener;
+    }
+}
@@ -3,16 +3,39 @@ package com.microsoft.graph.core.tasks;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.AbstractMap;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
 import com.microsoft.graph.core.ErrorConstants;
@@ -24,6 +47,7 @@ import com.microsoft.graph.core.models.UploadSession;
 import com.microsoft.graph.core.requests.BaseGraphRequestAdapter;
 import com.microsoft.graph.core.requests.FeatureFlag;
 import com.microsoft.graph.core.requests.GraphClientFactory;
+import com.microsoft.graph.core.requests.RetryAfter;
 import com.microsoft.graph.core.requests.options.GraphClientOption;
 import com.microsoft.graph.core.requests.upload.UploadSessionRequestBuilder;
 import com.microsoft.graph.core.requests.upload.UploadSliceRequestBuilder;
@@ -45,14 +69,31 @@ import okhttp3.OkHttpClient;
 public class LargeFileUploadTask<T extends Parsable > {
 
     private static final long DEFAULT_MAX_SLICE_SIZE = (long) 5*1024*1024;
+    private static final int MAX_BACKOFF_EXPONENT = 6;
+    private static final double THROUGHPUT_SMOOTHING = 0.3;
     private IUploadSession uploadSession;
     private final RequestAdapter requestAdapter;
     private final InputStream uploadStream;
+    private final FileChannel uploadChannel;
+    private final Path uploadPath;
+    private final Long sourceLastModified;
+    private FileChannel sliceChannel;
     private final long maxSliceSize;
     private ArrayList<AbstractMap.SimpleEntry<Long, Long>> rangesRemaining;
     private final long totalUploadLength;
     private final ParsableFactory<T> factory;
     private long amountUploaded;
+    private final ArrayList<AbstractMap.SimpleEntry<Long, Long>> rejectedSlices = new ArrayList<>();
+    private long uploadStartNanos;
+    private long lastCommitNanos;
+    private double bytesPerSecond;
+    private int uploadedSliceCount;
+    private int rejectedSliceCount;
+    private int retryCount;
+    private long totalSliceLatencyNanos;
+    private final LargeFileUploadOptions options;
+    private final SliceBufferPool sliceBufferPool;
+    private final AdaptiveSliceSizer sliceSizer;
     /**
      * LargeFileUploadTask instance constructor.
      * @param requestAdapter The request adapter for this upload task.
@@ -91,16 +132,171 @@ public class LargeFileUploadTask<T extends Parsable > {
                                long streamSize,
                                long maxSliceSize,
                                @Nonnull ParsableFactory<T> factory) throws IllegalAccessException, IOException, InvocationTargetException, NoSuchMethodException {
+        this(requestAdapter, uploadSession, uploadStream, streamSize, maxSliceSize, factory, new LargeFileUploadOptions());
+    }
+    /**
+     * LargeFileUploadTask instance constructor.
+     * @param requestAdapter The request adapter for this upload task.
+     * @param uploadSession Parsable containing upload session information.
+     * @param uploadStream Readable stream of information to be uploaded.
+     * @param streamSize The size of the information stream to be uploaded.
+     * @param maxSliceSize Max size(in bytes) of each slice to be uploaded. Defaults to 5 MB. When uploading to OneDrive or SharePoint, this value needs to be a multiple of 320 KiB (327,680 bytes).
+     * @param factory The ParsableFactory defining the instantiation of the object being uploaded.
+     * @param options The options of the upload task.
+     * @throws IllegalAccessException thrown when attempting to extract uploadSession information.
+     * @throws IOException thrown when attempting to extract uploadSession information.
+     * @throws InvocationTargetException thrown when attempting to extract uploadSession information.
+     * @throws NoSuchMethodException thrown when attempting to extract uploadSession information.
+     */
+    public LargeFileUploadTask(@Nullable final RequestAdapter requestAdapter,
+                               @Nonnull Parsable uploadSession,
+                               @Nonnull InputStream uploadStream,
+                               long streamSize,
+                               long maxSliceSize,
+                               @Nonnull ParsableFactory<T> factory,
+                               @Nonnull LargeFileUploadOptions options) throws IllegalAccessException, IOException, InvocationTargetException, NoSuchMethodException {
+        this(requestAdapter, uploadSession, Objects.requireNonNull(uploadStream), null, null, null, streamSize, maxSliceSize, factory, options);
+    }
+    /**
+     * LargeFileUploadTask instance constructor uploading the content of a file.
+     * The file is opened for the duration of each upload and every slice is read from its offset in the file, so slices are not copied to memory and retried ranges are read again from the file.
+     * @param requestAdapter The request adapter for this upload task.
+     * @param uploadSession Parsable containing upload session information.
+     * @param uploadPath Path of the file to be uploaded.
+     * @param factory The ParsableFactory defining the instantiation of the object being uploaded.
+     * @throws IllegalAccessException thrown when attempting to extract uploadSession information.
+     * @throws IOException thrown when attempting to extract uploadSession information or the size of the file.
+     * @throws InvocationTargetException thrown when attempting to extract uploadSession information.
+     * @throws NoSuchMethodException thrown when attempting to extract uploadSession information.
+     */
+    public LargeFileUploadTask(@Nullable final RequestAdapter requestAdapter,
+                               @Nonnull Parsable uploadSession,
+                               @Nonnull Path uploadPath,
+                               @Nonnull ParsableFactory<T> factory) throws IllegalAccessException, IOException, InvocationTargetException, NoSuchMethodException {
+        this(requestAdapter, uploadSession, uploadPath, DEFAULT_MAX_SLICE_SIZE, factory, new LargeFileUploadOptions());
+    }
+    /**
+     * LargeFileUploadTask instance constructor uploading the content of a file.
+     * The file is opened for the duration of each upload and every slice is read from its offset in the file, so slices are not copied to memory and retried ranges are read again from the file.
+     * @param requestAdapter The request adapter for this upload task.
+     * @param uploadSession Parsable containing upload session information.
+     * @param uploadPath Path of the file to be uploaded.
+     * @param maxSliceSize Max size(in bytes) of each slice to be uploaded. Defaults to 5 MB. When uploading to OneDrive or SharePoint, this value needs to be a multiple of 320 KiB (327,680 bytes).
+     * @param factory The ParsableFactory defining the instantiation of the object being uploaded.
+     * @param options The options of the upload task.
+     * @throws IllegalAccessException thrown when attempting to extract uploadSession information.
+     * @throws IOException thrown when attempting to extract uploadSession information or the size of the file.
+     * @throws InvocationTargetException thrown when attempting to extract uploadSession information.
+     * @throws NoSuchMethodException thrown when attempting to extract uploadSession information.
+     */
+    public LargeFileUploadTask(@Nullable final RequestAdapter requestAdapter,
+                               @Nonnull Parsable uploadSession,
+                               @Nonnull Path uploadPath,
+                               long maxSliceSize,
+                               @Nonnull ParsableFactory<T> factory,
+                               @Nonnull LargeFileUploadOptions options) throws IllegalAccessException, IOException, InvocationTargetException, NoSuchMethodException {
+        this(requestAdapter, uploadSession, null, null, Objects.requireNonNull(uploadPath), Files.getLastModifiedTime(uploadPath).toMillis(), Files.size(uploadPath), maxSliceSize, factory, options);
+    }
+    /**
+     * LargeFileUploadTask instance constructor uploading the content of a file channel.
+     * Every slice is read from its offset in the channel without changing the position of the channel, so slices are not copied to memory and retried ranges are read again from the channel.
+     * The channel is not closed by the task.
+     * @param requestAdapter The request adapter for this upload task.
+     * @param uploadSession Parsable containing upload session information.
+     * @param uploadChannel Readable channel of the file to be uploaded.
+     * @param factory The ParsableFactory defining the instantiation of the object being uploaded.
+     * @throws IllegalAccessException thrown when attempting to extract uploadSession information.
+     * @throws IOException thrown when attempting to extract uploadSession information or the size of the channel.
+     * @throws InvocationTargetException thrown when attempting to extract uploadSession information.
+     * @throws NoSuchMethodException thrown when attempting to extract uploadSession information.
+     */
+    public LargeFileUploadTask(@Nullable final RequestAdapter requestAdapter,
+                               @Nonnull Parsable uploadSession,
+                               @Nonnull FileChannel uploadChannel,
+                               @Nonnull ParsableFactory<T> factory) throws IllegalAccessException, IOException, InvocationTargetException, NoSuchMethodException {
+        this(requestAdapter, uploadSession, uploadChannel, DEFAULT_MAX_SLICE_SIZE, factory, new LargeFileUploadOptions());
+    }
+    /**
+     * LargeFileUploadTask instance constructor uploading the content of a file channel.
+     * Every slice is read from its offset in the channel without changing the position of the channel, so slices are not copied to memory and retried ranges are read again from the channel.
+     * The channel is not closed by the task.
+     * @param requestAdapter The request adapter for this upload task.
+     * @param uploadSession Parsable containing upload session information.
+     * @param uploadChannel Readable channel of the file to be uploaded.
+     * @param maxSliceSize Max size(in bytes) of each slice to be uploaded. Defaults to 5 MB. When uploading to OneDrive or SharePoint, this value needs to be a multiple of 320 KiB (327,680 bytes).
+     * @param factory The ParsableFactory defining the instantiation of the object being uploaded.
+     * @param options The options of the upload task.
+     * @throws IllegalAccessException thrown when attempting to extract uploadSession information.
+     * @throws IOException thrown when attempting to extract uploadSession information or the size of the channel.
+     * @throws InvocationTargetException thrown when attempting to extract uploadSession information.
+     * @throws NoSuchMethodException thrown when attempting to extract uploadSession information.
+     */
+    public LargeFileUploadTask(@Nullable final RequestAdapter requestAdapter,
+                               @Nonnull Parsable uploadSession,
+                               @Nonnull FileChannel uploadChannel,
+                               long maxSliceSize,
+                               @Nonnull ParsableFactory<T> factory,
+                               @Nonnull LargeFileUploadOptions options) throws IllegalAccessException, IOException, InvocationTargetException, NoSuchMethodException {
+        this(requestAdapter, uploadSession, null, Objects.requireNonNull(uploadChannel), null, null, uploadChannel.size(), maxSliceSize, factory, options);
+    }
+    private LargeFileUploadTask(@Nullable final RequestAdapter requestAdapter,
+                                @Nonnull Parsable uploadSession,
+                                @Nullable InputStream uploadStream,
+                                @Nullable FileChannel uploadChannel,
+                                @Nullable Path uploadPath,
+                                @Nullable Long sourceLastModified,
+                                long streamSize,
+                                long maxSliceSize,
+                                @Nonnull ParsableFactory<T> factory,
+                                @Nonnull LargeFileUploadOptions options) throws IllegalAccessException, InvocationTargetException, NoSuchMethodException {
         Objects.requireNonNull(uploadSession);
-        Objects.requireNonNull(uploadStream);
         Objects.requireNonNull(factory);
         this.uploadSession = extractSessionFromParsable(uploadSession);
         this.requestAdapter = Objects.isNull(requestAdapter) ? initializeAdapter(this.uploadSession.getUploadUrl()):requestAdapter;
         this.totalUploadLength = streamSize;
         this.rangesRemaining = getRangesRemaining(this.uploadSession);
         this.uploadStream = uploadStream;
+        this.uploadChannel = uploadChannel;
+        this.uploadPath = uploadPath;
+        this.sourceLastModified = sourceLastModified;
         this.maxSliceSize = maxSliceSize;
         this.factory = factory;
+        this.options = new LargeFileUploadOptions(Objects.requireNonNull(options));
+        this.sliceSizer = options.isAdaptiveSliceSizing() ? new AdaptiveSliceSizer(maxSliceSize, options.getTargetSliceDuration()) : null;
+        this.sliceBufferPool = Objects.isNull(options.getSliceBufferPool())
+            ? new SliceBufferPool(options.getMaxConcurrentSlices() * SliceBufferPool.getAllocationLength(Objects.isNull(this.sliceSizer) ? maxSliceSize : AdaptiveSliceSizer.MAX_SLICE_SIZE))
+            : options.getSliceBufferPool();
+    }
+    /**
+     * Creates a LargeFileUploadTask continuing the upload of a file from a checkpoint saved by another task, possibly in another process.
+     * Call {@link #resume()} on the returned task to get the ranges received by the service and upload the remaining ones.
+     * @param requestAdapter The request adapter for this upload task.
+     * @param checkpoint The checkpoint saved by the task that started the upload.
+     * @param uploadPath Path of the file to be uploaded.
+     * @param maxSliceSize Max size(in bytes) of each slice to be uploaded. When uploading to OneDrive or SharePoint, this value needs to be a multiple of 320 KiB (327,680 bytes).
+     * @param factory The ParsableFactory defining the instantiation of the object being uploaded.
+     * @param options The options of the upload task, whose source id must match the source id of the checkpoint.
+     * @param <T> The type of Item that we will be uploading.
+     * @return the upload task continuing the upload of the checkpoint.
+     * @throws IllegalArgumentException if the file is not the file the checkpoint was saved for, or it changed since.
+     * @throws IllegalAccessException thrown when attempting to extract uploadSession information.
+     * @throws IOException thrown when attempting to extract uploadSession information or the size of the file.
+     * @throws InvocationTargetException thrown when attempting to extract uploadSession information.
+     * @throws NoSuchMethodException thrown when attempting to extract uploadSession information.
+     */
+    @Nonnull
+    public static <T extends Parsable> LargeFileUploadTask<T> fromCheckpoint(@Nullable final RequestAdapter requestAdapter,
+                                                                             @Nonnull LargeFileUploadCheckpoint checkpoint,
+                                                                             @Nonnull Path uploadPath,
+                                                                             long maxSliceSize,
+                                                                             @Nonnull ParsableFactory<T> factory,
+                                                                             @Nonnull LargeFileUploadOptions options) throws IllegalAccessException, IOException, InvocationTargetException, NoSuchMethodException {
+        Objects.requireNonNull(checkpoint);
+        LargeFileUploadTask<T> task = new LargeFileUploadTask<>(requestAdapter, checkpoint.toUploadSession(), uploadPath, maxSliceSize, factory, options);
+        if (!task.isSourceOf(checkpoint)) {
+            throw new IllegalArgumentException("The checkpoint was saved for another source, or the source changed since it was saved.");
+        }
+        return task;
     }
     /**
      * Perform the upload task.
@@ -124,26 +320,37 @@ public class LargeFileUploadTask<T extends Parsable > {
      */
     @Nonnull
     public UploadResult<T> upload(int maxTries, @Nullable IProgressCallback progress) throws IOException, InterruptedException {
+        if (this.uploadPath == null) {
+            this.sliceChannel = this.uploadChannel;
+            return uploadWithRetries(maxTries, progress);
+        }
+        try (FileChannel channel = FileChannel.open(this.uploadPath, StandardOpenOption.READ)) {
+            this.sliceChannel = channel;
+            return uploadWithRetries(maxTries, progress);
+        } finally {
+            this.sliceChannel = null;
+        }
+    }
+    private UploadResult<T> uploadWithRetries(int maxTries, IProgressCallback progress) throws IOException, InterruptedException {
         int uploadTries = 0;
         ArrayList<Throwable> exceptionsList = new ArrayList<>();
         while (uploadTries < maxTries) {
 
-                List<UploadSliceRequestBuilder<T>> uploadSliceRequestBuilders = getUploadSliceRequests();
-                for (UploadSliceRequestBuilder<T> request : uploadSliceRequestBuilders) {
-                    UploadResult<T> result;
-                    result = uploadSlice(request, exceptionsList);
-                    amountUploaded += request.getRangeLength();
-                    if(progress != null) {
-                        progress.report(amountUploaded, this.totalUploadLength);
-                    }
-                    if (result.isUploadSuccessful()) {
-                        return result;
-                    }
+                startPass();
+                Iterator<UploadSliceRequestBuilder<T>> uploadSliceRequestBuilders = Objects.isNull(this.sliceSizer)
+                    ? getUploadSliceRequests().iterator()
+                    : new AdaptiveSliceRequests();
+                UploadResult<T> result = this.options.getMaxConcurrentSlices() > 1
+                    ? uploadSlicesConcurrently(uploadSliceRequestBuilders, exceptionsList, progress)
+                    : uploadSlices(uploadSliceRequestBuilders, exceptionsList, progress);
+                if (result != null) {
+                    clearCheckpoint();
+                    return result;
                 }
                 updateSessionStatus();
                 uploadTries += 1;
                 if (uploadTries < maxTries) {
-                    TimeUnit.SECONDS.sleep((long) 2 * uploadTries * uploadTries);
+                    TimeUnit.NANOSECONDS.sleep(retryDelay(uploadTries, null).toNanos());
                 }
             }
         throw new CancellationException("The upload task was retried the maximum number of times without success and has been cancelled.");
@@ -178,6 +385,88 @@ public class LargeFileUploadTask<T extends Parsable > {
         }
         return this.upload(maxTries, progress);
     }
+    /**
+     * Perform the upload task asynchronously on the executor of the options.
+     * @return a future completing with the UploadResult model containing the information from the server resulting from the upload request.
+     */
+    @Nonnull
+    public CompletableFuture<UploadResult<T>> uploadAsync() {
+        return this.uploadAsync(3, null);
+    }
+    /**
+     * Perform the upload task asynchronously on the executor of the options.
+     * No thread is held while waiting before a retry, the retries are delayed on the scheduler of the options.
+     * Cancelling the returned future stops the upload: no further slice is sent, slices being sent complete in the background. The upload session is kept and the upload can be resumed.
+     * An upload task should not be uploaded synchronously and asynchronously at the same time.
+     * @param maxTries Number of times to retry the task before giving up.
+     * @param progress IProgress interface describing how to report progress, called on the threads of the executor.
+     * @return a future completing with the UploadResult model containing the information from the server resulting from the upload request.
+     */
+    @Nonnull
+    public CompletableFuture<UploadResult<T>> uploadAsync(int maxTries, @Nullable IProgressCallback progress) {
+        return startAsyncUpload(maxTries, progress, false, this.options.getExecutor(), getScheduler());
+    }
+    /**
+     * Perform the upload task asynchronously on the given executor and scheduler instead of the ones of the options.
+     * Used by the LargeFileUploadManager to run the steps and slices of many tasks under its own limits.
+     */
+    @Nonnull
+    CompletableFuture<UploadResult<T>> uploadAsync(int maxTries, @Nullable IProgressCallback progress, @Nonnull Executor executor, @Nonnull ScheduledExecutorService scheduler) {
+        return startAsyncUpload(maxTries, progress, false, executor, scheduler);
+    }
+    /**
+     * Gets the size of the file uploaded by the task, in bytes.
+     */
+    long getTotalUploadLength() {
+        return this.totalUploadLength;
+    }
+    /**
+     * Resume the upload task asynchronously on the executor of the options.
+     * @return a future completing with the UploadResult model containing the information from the server resulting from the upload request, or exceptionally with a ClientException if the upload session has expired.
+     */
+    @Nonnull
+    public CompletableFuture<UploadResult<T>> resumeAsync() {
+        return this.resumeAsync(3, null);
+    }
+    /**
+     * Resume the upload task asynchronously on the executor of the options.
+     * @param maxTries Number of times to retry the task before giving up.
+     * @param progress IProgress interface describing how to report progress, called on the threads of the executor.
+     * @return a future completing with the UploadResult model containing the information from the server resulting from the upload request, or exceptionally with a ClientException if the upload session has expired.
+     * @see #uploadAsync(int, IProgressCallback)
+     */
+    @Nonnull
+    public CompletableFuture<UploadResult<T>> resumeAsync(int maxTries, @Nullable IProgressCallback progress) {
+        return startAsyncUpload(maxTries, progress, true, this.options.getExecutor(), getScheduler());
+    }
+    private ScheduledExecutorService getScheduler() {
+        return Objects.isNull(this.options.getScheduler()) ? DefaultScheduler.INSTANCE : this.options.getScheduler();
+    }
+    private CompletableFuture<UploadResult<T>> startAsyncUpload(int maxTries, IProgressCallback progress, boolean resume, Executor executor, ScheduledExecutorService scheduler) {
+        AsyncUpload asyncUpload = new AsyncUpload(maxTries, progress, executor, scheduler);
+        if (this.uploadPath == null) {
+            this.sliceChannel = this.uploadChannel;
+        } else {
+            FileChannel channel;
+            try {
+                channel = FileChannel.open(this.uploadPath, StandardOpenOption.READ);
+            } catch (IOException ex) {
+                asyncUpload.result.completeExceptionally(ex);
+                return asyncUpload.result;
+            }
+            this.sliceChannel = channel;
+            asyncUpload.result.whenComplete((result, ex) -> {
+                this.sliceChannel = null;
+                try {
+                    channel.close();
+                } catch (IOException closeException) {
+                    // the upload already completed, a failure to close the file does not change its result
+                }
+            });
+        }
+        asyncUpload.runStep(resume ? asyncUpload::resumeSession : asyncUpload::startPass);
+        return asyncUpload.result;
+    }
     /**
      * Delete the upload session.
      * @throws ClientException if the upload session has expired.
@@ -203,15 +492,518 @@ public class LargeFileUploadTask<T extends Parsable > {
         this.uploadSession = session;
         return session;
     }
+    /**
+     * Uploads the slices one after another.
+     * @return the result of the slice that completed the upload, null if the upload is not complete.
+     */
+    @Nullable
+    private UploadResult<T> uploadSlices(Iterator<UploadSliceRequestBuilder<T>> uploadSliceRequestBuilders, ArrayList<Throwable> exceptionsList, IProgressCallback progress) throws IOException {
+        while (uploadSliceRequestBuilders.hasNext()) {
+            UploadSliceRequestBuilder<T> request = uploadSliceRequestBuilders.next();
+            UploadResult<T> result;
+            result = uploadSlice(request, exceptionsList);
+            reportSliceUploaded(request, result, progress);
+            if (result.isUploadSuccessful()) {
+                return result;
+            }
+        }
+        return null;
+    }
+    /**
+     * Uploads up to maxConcurrentSlices slices at the same time.
+     * Slices are read from the stream in order, and their results are observed in order.
+     * The responses of slices uploaded at the same time carry nextExpectedRanges that do not account for each other, so they are ignored and the session status is requested once the round ends.
+     * The last slice is only uploaded once all the other slices were received, so that the response completing the upload is the response of the last request.
+     * @return the result of the slice that completed the upload, null if the upload is not complete.
+     */
+    @Nullable
+    private UploadResult<T> uploadSlicesConcurrently(Iterator<UploadSliceRequestBuilder<T>> uploadSliceRequestBuilders, ArrayList<Throwable> exceptionsList, IProgressCallback progress) throws IOException {
+        if (!uploadSliceRequestBuilders.hasNext()) {
+            return null;
+        }
+        ArrayDeque<ConcurrentSlice> pendingSlices = new ArrayDeque<>();
+        UploadSliceRequestBuilder<T> request = uploadSliceRequestBuilders.next();
+        try {
+            while (uploadSliceRequestBuilders.hasNext()) {
+                if (pendingSlices.size() >= this.options.getMaxConcurrentSlices()) {
+                    UploadResult<T> result = awaitSlice(pendingSlices.getFirst().pendingSlice, exceptionsList, progress);
+                    pendingSlices.removeFirst();
+                    if (result.isUploadSuccessful()) {
+                        return result;
+                    }
+                }
+                pendingSlices.addLast(new ConcurrentSlice(request, openSliceStream(request), this.options.getExecutor()));
+                request = uploadSliceRequestBuilders.next();
+            }
+            while (!pendingSlices.isEmpty()) {
+                UploadResult<T> result = awaitSlice(pendingSlices.getFirst().pendingSlice, exceptionsList, progress);
+                pendingSlices.removeFirst();
+                if (result.isUploadSuccessful()) {
+                    return result;
+                }
+            }
+        } finally {
+            // the slices left behind by a failure are abandoned, the ones already uploading are awaited so that none of them reads the content once this method returned
+            for (ConcurrentSlice pendingSlice : pendingSlices) {
+                pendingSlice.abandon();
+            }
+            for (ConcurrentSlice pendingSlice : pendingSlices) {
+                pendingSlice.awaitCompletion();
+            }
+        }
+        return uploadSlices(Collections.singletonList(request).iterator(), exceptionsList, progress);
+    }
+    private UploadResult<T> awaitSlice(PendingSlice<T> pendingSlice, ArrayList<Throwable> exceptionsList, IProgressCallback progress) throws IOException {
+        UploadResult<T> result;
+        try {
+            result = pendingSlice.result.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("The upload task was interrupted while uploading slices.");
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause() instanceof CompletionException ? ex.getCause().getCause() : ex.getCause();
+            if (cause instanceof ApiException) {
+                result = handleApiException((ApiException) cause, exceptionsList);
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else {
+                throw new IOException("Unable to upload the slice.", cause);
+            }
+        }
+        reportSliceUploaded(pendingSlice.request, result, progress);
+        return result;
+    }
+    /**
+     * Starts a pass over the remaining ranges, counting the bytes outside of the remaining ranges as committed.
+     */
+    private void startPass() throws IOException {
+        synchronized (this) {
+            long remainingBytes = 0;
+            for (Map.Entry<Long, Long> range : rangesRemaining) {
+                remainingBytes += range.getValue() - range.getKey() + 1;
+            }
+            amountUploaded = this.totalUploadLength - remainingBytes;
+            rejectedSlices.clear();
+            if (uploadStartNanos == 0) {
+                uploadStartNanos = System.nanoTime();
+                lastCommitNanos = uploadStartNanos;
+            }
+        }
+        saveCheckpoint(-1);
+    }
+    /**
+     * Reports the result of a slice, in the order of the slices. Only the slices accepted by the service are counted as uploaded.
+     */
+    private void reportSliceUploaded(UploadSliceRequestBuilder<T> request, UploadResult<T> result, IProgressCallback progress) throws IOException {
+        long committedBytes;
+        synchronized (this) {
+            if (result.uploadSession != null || result.isUploadSuccessful()) {
+                amountUploaded += request.getRangeLength();
+                long now = System.nanoTime();
+                double sliceBytesPerSecond = request.getRangeLength() / (Math.max(now - lastCommitNanos, 1L) / 1e9);
+                bytesPerSecond = bytesPerSecond == 0 ? sliceBytesPerSecond : THROUGHPUT_SMOOTHING * sliceBytesPerSecond + (1 - THROUGHPUT_SMOOTHING) * bytesPerSecond;
+                lastCommitNanos = now;
+            } else {
+                rejectedSlices.add(new AbstractMap.SimpleEntry<>(request.getRangeBegin(), request.getRangeEnd()));
+                rejectedSliceCount++;
+            }
+            committedBytes = amountUploaded;
+        }
+        if(progress != null) {
+            progress.report(committedBytes, this.totalUploadLength);
+        }
+        LargeFileUploadListener listener = this.options.getUploadListener();
+        if (listener != null) {
+            listener.onProgress(getMetrics());
+        }
+        saveCheckpoint(request.getRangeEnd());
+    }
+    /**
+     * Gets the progress and timings of the upload.
+     * @return a snapshot of the metrics of the upload.
+     */
+    @Nonnull
+    public synchronized LargeFileUploadMetrics getMetrics() {
+        return new LargeFileUploadMetrics(amountUploaded, this.totalUploadLength, uploadedSliceCount, rejectedSliceCount, retryCount, bytesPerSecond,
+            Duration.ofNanos(uploadedSliceCount == 0 ? 0 : totalSliceLatencyNanos / uploadedSliceCount),
+            Duration.ofNanos(uploadStartNanos == 0 ? 0 : System.nanoTime() - uploadStartNanos));
+    }
+    private void recordSliceLatency(UploadSliceRequestBuilder<T> request, long latencyNanos) {
+        synchronized (this) {
+            uploadedSliceCount++;
+            totalSliceLatencyNanos += latencyNanos;
+        }
+        LargeFileUploadListener listener = this.options.getUploadListener();
+        if (listener != null) {
+            listener.onSliceUploaded(request, Duration.ofNanos(latencyNanos));
+        }
+    }
+    private Duration recordSliceRetry(UploadSliceRequestBuilder<T> request, int retry, ApiException apiException) {
+        Duration delay = retryDelay(retry, apiException);
+        synchronized (this) {
+            retryCount++;
+        }
+        LargeFileUploadListener listener = this.options.getUploadListener();
+        if (listener != null) {
+            listener.onSliceRetry(request, retry, delay, apiException);
+        }
+        return delay;
+    }
+    /**
+     * Saves a checkpoint of the upload to the checkpoint store of the options, if any.
+     * Slices are observed in the order of the remaining ranges, so the ranges not uploaded yet are the slices rejected in this pass and the remaining ranges after the end of the last observed slice.
+     * @param uploadedEnd the end of the last slice observed in this pass, -1 if none was.
+     */
+    private void saveCheckpoint(long uploadedEnd) throws IOException {
+        LargeFileUploadCheckpointStore checkpointStore = this.options.getCheckpointStore();
+        if (checkpointStore == null) {
+            return;
+        }
+        ArrayList<String> nextExpectedRanges = new ArrayList<>();
+        synchronized (this) {
+            for (Map.Entry<Long, Long> rejectedSlice : rejectedSlices) {
+                nextExpectedRanges.add(rejectedSlice.getKey() + "-" + rejectedSlice.getValue());
+            }
+        }
+        for (Map.Entry<Long, Long> range : rangesRemaining) {
+            long rangeBegin = Math.max(range.getKey(), uploadedEnd + 1);
+            if (rangeBegin <= range.getValue()) {
+                nextExpectedRanges.add(rangeBegin + "-" + range.getValue());
+            }
+        }
+        checkpointStore.save(new LargeFileUploadCheckpoint(this.uploadSession.getUploadUrl(), this.uploadSession.getExpirationDateTime(), nextExpectedRanges,
+            this.uploadPath == null ? null : this.uploadPath.toAbsolutePath().toString(), this.totalUploadLength, this.sourceLastModified, this.options.getSourceId()));
+    }
+    private void clearCheckpoint() throws IOException {
+        if (this.options.getCheckpointStore() != null) {
+            this.options.getCheckpointStore().clear();
+        }
+    }
+    /**
+     * Whether the checkpoint was saved for the source of this task: the same path, size, last modified time and source id, where known.
+     */
+    private boolean isSourceOf(LargeFileUploadCheckpoint checkpoint) {
+        String path = this.uploadPath == null ? null : this.uploadPath.toAbsolutePath().toString();
+        return checkpoint.getSourceSize() == this.totalUploadLength
+            && (checkpoint.getSourcePath() == null || path == null || checkpoint.getSourcePath().equals(path))
+            && (checkpoint.getSourceLastModified() == null || this.sourceLastModified == null || checkpoint.getSourceLastModified().equals(this.sourceLastModified))
+            && Objects.equals(checkpoint.getSourceId(), this.options.getSourceId());
+    }
+    /**
+     * A step of an asynchronous upload.
+     */
+    @FunctionalInterface
+    private interface AsyncUploadStep {
+        void run() throws Exception;
+    }
+    /**
+     * Drives an asynchronous upload as a sequence of steps run on the executor, each step starting the next one once the slice or the delay it waits for completes.
+     * Slices are uploaded and observed in the same order as with upload(), the last slice being held back until the other slices were received.
+     */
+    private final class AsyncUpload {
+        private final CompletableFuture<UploadResult<T>> result = new CompletableFuture<>();
+        private final int maxTries;
+        private final IProgressCallback progress;
+        private final Executor executor;
+        private final ScheduledExecutorService scheduler;
+        private final ArrayList<Throwable> exceptionsList = new ArrayList<>();
+        private final ConcurrentLinkedDeque<PendingSlice<T>> pendingSlices = new ConcurrentLinkedDeque<>();
+        private volatile ScheduledFuture<?> scheduledStep;
+        private Iterator<UploadSliceRequestBuilder<T>> uploadSliceRequestBuilders;
+        private UploadSliceRequestBuilder<T> nextRequest;
+        private int uploadTries;
+        private AsyncUpload(int maxTries, IProgressCallback progress, Executor executor, ScheduledExecutorService scheduler) {
+            this.maxTries = maxTries;
+            this.progress = progress;
+            this.executor = executor;
+            this.scheduler = scheduler;
+            this.result.whenComplete((uploadResult, ex) -> cancelPendingWork());
+        }
+        private void runStep(AsyncUploadStep step) {
+            try {
+                executor.execute(() -> {
+                    if (result.isDone()) {
+                        return;
+                    }
+                    try {
+                        step.run();
+                    } catch (Exception ex) {
+                        result.completeExceptionally(ex);
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                result.completeExceptionally(ex);
+            }
+        }
+        private void scheduleStep(AsyncUploadStep step, Duration delay) {
+            try {
+                scheduledStep = scheduler.schedule(() -> runStep(step), delay.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException ex) {
+                result.completeExceptionally(ex);
+            }
+        }
+        private void resumeSession() throws ClientException {
+            IUploadSession session = updateSessionStatus();
+            OffsetDateTime expirationDateTime = Objects.isNull(session.getExpirationDateTime()) ? OffsetDateTime.now() : session.getExpirationDateTime();
+            if(expirationDateTime.isBefore(OffsetDateTime.now()) || expirationDateTime.isEqual(OffsetDateTime.now())) {
+                throw new ClientException(ErrorConstants.Messages.EXPIRED_UPLOAD_SESSION);
+            }
+            startPass();
+        }
+        private void startPass() throws IOException {
+            LargeFileUploadTask.this.startPass();
+            uploadSliceRequestBuilders = Objects.isNull(sliceSizer) ? getUploadSliceRequests().iterator() : new AdaptiveSliceRequests();
+            nextRequest = null;
+            startSlices();
+        }
+        /**
+         * Starts slices until maxConcurrentSlices slices are pending, then waits for the first pending slice.
+         */
+        private void startSlices() throws IOException {
+            while (pendingSlices.size() < options.getMaxConcurrentSlices()) {
+                if (nextRequest == null) {
+                    if (!uploadSliceRequestBuilders.hasNext()) {
+                        break;
+                    }
+                    nextRequest = uploadSliceRequestBuilders.next();
+                }
+                if (!uploadSliceRequestBuilders.hasNext() && !pendingSlices.isEmpty()) {
+                    // the last slice completes the file, it waits until the other slices were received
+                    break;
+                }
+                UploadSliceRequestBuilder<T> request = nextRequest;
+                nextRequest = null;
+                pendingSlices.addLast(new PendingSlice<>(request, putSliceAsync(request, openSliceStream(request), executor, scheduler)));
+                if (result.isDone()) {
+                    cancelPendingWork();
+                    return;
+                }
+            }
+            PendingSlice<T> firstSlice = pendingSlices.peekFirst();
+            if (firstSlice == null) {
+                endPass();
+                return;
+            }
+            firstSlice.result.whenComplete((sliceResult, ex) -> runStep(this::onFirstSliceCompleted));
+        }
+        private void onFirstSliceCompleted() throws IOException {
+            PendingSlice<T> pendingSlice = pendingSlices.removeFirst();
+            UploadResult<T> sliceResult;
+            try {
+                sliceResult = pendingSlice.result.join();
+            } catch (CompletionException ex) {
+                if (!(ex.getCause() instanceof ApiException)) {
+                    result.completeExceptionally(ex.getCause());
+                    return;
+                }
+                sliceResult = handleApiException((ApiException) ex.getCause(), exceptionsList);
+            }
+            reportSliceUploaded(pendingSlice.request, sliceResult, progress);
+            if (sliceResult.isUploadSuccessful()) {
+                clearCheckpoint();
+                result.complete(sliceResult);
+                return;
+            }
+            startSlices();
+        }
+        private void endPass() {
+            updateSessionStatus();
+            uploadTries += 1;
+            if (uploadTries >= maxTries) {
+                result.completeExceptionally(new CancellationException("The upload task was retried the maximum number of times without success and has been cancelled."));
+                return;
+            }
+            scheduleStep(this::startPass, retryDelay(uploadTries, null));
+        }
+        private void cancelPendingWork() {
+            ScheduledFuture<?> step = scheduledStep;
+            if (step != null) {
+                step.cancel(false);
+            }
+            for (PendingSlice<T> pendingSlice : pendingSlices) {
+                pendingSlice.result.cancel(false);
+            }
+        }
+    }
+    /**
+     * Holds the scheduler shared by the asynchronous uploads of all tasks when the options do not set one, created on first use.
+     */
+    private static final class DefaultScheduler {
+        private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "large-file-upload-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        private DefaultScheduler() {
+        }
+    }
+    /**
+     * A slice uploaded on the executor while the calling thread waits for it.
+     * The slice starts at most once, a slice abandoned before it started releases its stream right away instead of uploading it.
+     */
+    private final class ConcurrentSlice {
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final InputStream chunkStream;
+        private final PendingSlice<T> pendingSlice;
+        private ConcurrentSlice(UploadSliceRequestBuilder<T> request, InputStream chunkStream, Executor executor) {
+            this.chunkStream = chunkStream;
+            CompletableFuture<UploadResult<T>> result;
+            try {
+                result = CompletableFuture.supplyAsync(() -> {
+                    if (!started.compareAndSet(false, true)) {
+                        throw new CancellationException("The slice was abandoned before it started.");
+                    }
+                    return putSlice(request, chunkStream);
+                }, executor);
+            } catch (RuntimeException ex) {
+                releaseSliceStream(chunkStream);
+                throw ex;
+            }
+            this.pendingSlice = new PendingSlice<>(request, result);
+        }
+        private void abandon() {
+            if (started.compareAndSet(false, true)) {
+                releaseSliceStream(chunkStream);
+                pendingSlice.result.cancel(false);
+            }
+        }
+        private void awaitCompletion() {
+            try {
+                pendingSlice.result.join();
+            } catch (CancellationException | CompletionException ex) {
+                // the outcome of a slice left behind by a failure is not reported
+            }
+        }
+    }
+    private static final class PendingSlice<T extends Parsable> {
+        private final UploadSliceRequestBuilder<T> request;
+        private final CompletableFuture<UploadResult<T>> result;
+        private PendingSlice(UploadSliceRequestBuilder<T> request, CompletableFuture<UploadResult<T>> result) {
+            this.request = request;
+            this.result = result;
+        }
+    }
     private UploadResult<T> uploadSlice(UploadSliceRequestBuilder<T> uploadSliceRequestBuilder, ArrayList<Throwable> exceptionsList) throws IOException {
-        byte[] buffer = chunkInputStream(uploadStream, (int)uploadSliceRequestBuilder.getRangeLength());
-        ByteArrayInputStream chunkStream = new ByteArrayInputStream(buffer);
+        InputStream chunkStream = openSliceStream(uploadSliceRequestBuilder);
         try {
-            return uploadSliceRequestBuilder.put(chunkStream);
+            return putSlice(uploadSliceRequestBuilder, chunkStream);
         } catch (ApiException apiException) {
             return handleApiException(apiException, exceptionsList);
         }
     }
+    /**
+     * Uploads a slice, sending it again alone while it is throttled or the service is temporarily unavailable, up to the max slice retries of the options.
+     */
+    private UploadResult<T> putSlice(UploadSliceRequestBuilder<T> uploadSliceRequestBuilder, InputStream chunkStream) {
+        try {
+            int retries = 0;
+            while (true) {
+                try {
+                    return putSliceOnce(uploadSliceRequestBuilder, chunkStream);
+                } catch (ApiException apiException) {
+                    if (!isSliceRetryable(retries, apiException)) {
+                        throw apiException;
+                    }
+                    retries++;
+                    sleepBeforeSliceRetry(recordSliceRetry(uploadSliceRequestBuilder, retries, apiException));
+                    rewindSliceStream(chunkStream);
+                }
+            }
+        } finally {
+            releaseSliceStream(chunkStream);
+        }
+    }
+    /**
+     * Uploads a slice asynchronously on the executor, waiting on the scheduler before each retry of the slice.
+     * The slice stream is released once the slice was uploaded, failed or was cancelled.
+     */
+    private CompletableFuture<UploadResult<T>> putSliceAsync(UploadSliceRequestBuilder<T> uploadSliceRequestBuilder, InputStream chunkStream, Executor executor, ScheduledExecutorService scheduler) {
+        CompletableFuture<UploadResult<T>> result = new CompletableFuture<>();
+        putSliceAttemptAsync(uploadSliceRequestBuilder, chunkStream, 0, result, executor, scheduler);
+        return result;
+    }
+    private void putSliceAttemptAsync(UploadSliceRequestBuilder<T> uploadSliceRequestBuilder, InputStream chunkStream, int retries,
+                                      CompletableFuture<UploadResult<T>> result, Executor executor, ScheduledExecutorService scheduler) {
+        try {
+            executor.execute(() -> {
+                boolean retrying = false;
+                try {
+                    if (result.isDone()) {
+                        return;
+                    }
+                    try {
+                        result.complete(putSliceOnce(uploadSliceRequestBuilder, chunkStream));
+                    } catch (ApiException apiException) {
+                        if (!isSliceRetryable(retries, apiException)) {
+                            throw apiException;
+                        }
+                        rewindSliceStream(chunkStream);
+                        scheduler.schedule(() -> putSliceAttemptAsync(uploadSliceRequestBuilder, chunkStream, retries + 1, result, executor, scheduler),
+                            recordSliceRetry(uploadSliceRequestBuilder, retries + 1, apiException).toNanos(), TimeUnit.NANOSECONDS);
+                        retrying = true;
+                    }
+                } catch (RuntimeException ex) {
+                    result.completeExceptionally(ex);
+                } finally {
+                    if (!retrying) {
+                        releaseSliceStream(chunkStream);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            releaseSliceStream(chunkStream);
+            result.completeExceptionally(ex);
+        }
+    }
+    private UploadResult<T> putSliceOnce(UploadSliceRequestBuilder<T> uploadSliceRequestBuilder, InputStream chunkStream) {
+        long start = System.nanoTime();
+        boolean uploaded = false;
+        try {
+            UploadResult<T> result = uploadSliceRequestBuilder.put(chunkStream);
+            uploaded = true;
+            recordSliceLatency(uploadSliceRequestBuilder, System.nanoTime() - start);
+            return result;
+        } finally {
+            if (this.sliceSizer != null) {
+                if (uploaded) {
+                    this.sliceSizer.recordSlice(uploadSliceRequestBuilder.getRangeLength(), Duration.ofNanos(System.nanoTime() - start));
+                } else {
+                    this.sliceSizer.recordFailure();
+                }
+            }
+        }
+    }
+    private boolean isSliceRetryable(int retries, ApiException apiException) {
+        return retries < this.options.getMaxSliceRetries() && RetryAfter.isRetryable(apiException.getResponseStatusCode());
+    }
+    /**
+     * Gets the delay before a retry: the delay requested by the service if any, otherwise an exponential delay with jitter, at most the max backoff of the options.
+     * @param retry the number of the retry, starting at 1.
+     * @param apiException the exception of the failed request, null if the retry does not follow a failed request.
+     */
+    private Duration retryDelay(int retry, @Nullable ApiException apiException) {
+        Duration delay = apiException == null ? null : RetryAfter.fromException(apiException);
+        if (delay == null) {
+            long halfBackoff = this.options.getInitialBackoff().multipliedBy(1L << Math.min(retry - 1, MAX_BACKOFF_EXPONENT)).toNanos() / 2;
+            delay = Duration.ofNanos(halfBackoff + ThreadLocalRandom.current().nextLong(halfBackoff + 1));
+        }
+        return delay.compareTo(this.options.getMaxBackoff()) > 0 ? this.options.getMaxBackoff() : delay;
+    }
+    private static void sleepBeforeSliceRetry(Duration delay) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(delay.toNanos());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("The upload task was interrupted while waiting to retry a slice.");
+        }
+    }
+    private static void rewindSliceStream(InputStream sliceStream) {
+        try {
+            sliceStream.reset();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to read the slice again.", ex);
+        }
+    }
     private UploadResult<T> handleApiException(ApiException apiException, ArrayList<Throwable> exceptionsList) {
         if(apiException.getMessage().toLowerCase(Locale.ROOT).contains(ErrorConstants.Codes.GENERAL_EXCEPTION.toLowerCase(Locale.ROOT))
             || apiException.getMessage().toLowerCase(Locale.ROOT).contains(ErrorConstants.Codes.TIMEOUT.toLowerCase(Locale.ROOT))) {
@@ -242,6 +1034,35 @@ public class LargeFileUploadTask<T extends Parsable > {
         }
         return builders;
     }
+    /**
+     * Creates the UploadSliceRequestBuilders of the remaining ranges one at a time, so that each slice is sized from the throughput observed on the slices uploaded before it.
+     */
+    private final class AdaptiveSliceRequests implements Iterator<UploadSliceRequestBuilder<T>> {
+        private final Iterator<AbstractMap.SimpleEntry<Long, Long>> ranges = rangesRemaining.iterator();
+        private long currentRangeBegin;
+        private long currentEnd = -1;
+        @Override
+        public boolean hasNext() {
+            while (currentRangeBegin > currentEnd && ranges.hasNext()) {
+                Map.Entry<Long, Long> entry = ranges.next();
+                currentRangeBegin = entry.getKey();
+                currentEnd = entry.getValue();
+            }
+            return currentRangeBegin <= currentEnd;
+        }
+        @Override
+        public UploadSliceRequestBuilder<T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            long nextSliceSize = Math.min(currentEnd - currentRangeBegin + 1, sliceSizer.getSliceSize());
+            UploadSliceRequestBuilder<T> sliceRequestBuilder =
+                new UploadSliceRequestBuilder<>(uploadSession.getUploadUrl(), requestAdapter,
+                    currentRangeBegin, currentRangeBegin + nextSliceSize -1, totalUploadLength, factory);
+            currentRangeBegin += nextSliceSize;
+            return sliceRequestBuilder;
+        }
+    }
     private ArrayList<AbstractMap.SimpleEntry<Long, Long>> getRangesRemaining(IUploadSession uploadSession) {
         ArrayList<AbstractMap.SimpleEntry<Long, Long>> remaining = new ArrayList<>();
         for (String range:uploadSession.getNextExpectedRanges()) {
@@ -278,17 +1099,112 @@ public class LargeFileUploadTask<T extends Parsable > {
         long size = rangeEnd - rangeBegin + 1;
         return Math.min(size, this.maxSliceSize);
     }
-    private byte[] chunkInputStream(InputStream stream, int length) throws IOException {
-        byte[] buffer = new byte[length];
+    /**
+     * Opens the content of a slice.
+     * Slices of a file are read from their offset while the request body is written, slices of a stream are read in order from the stream into a pooled buffer.
+     */
+    private InputStream openSliceStream(UploadSliceRequestBuilder<T> uploadSliceRequestBuilder) throws IOException {
+        if (this.sliceChannel != null) {
+            return new FileChannelSliceInputStream(this.sliceChannel, uploadSliceRequestBuilder.getRangeBegin(), uploadSliceRequestBuilder.getRangeLength());
+        }
+        int length = (int)uploadSliceRequestBuilder.getRangeLength();
+        byte[] buffer = this.sliceBufferPool.acquire(length);
+        try {
+            chunkInputStream(uploadStream, buffer, length);
+        } catch (IOException | RuntimeException ex) {
+            this.sliceBufferPool.release(buffer);
+            throw ex;
+        }
+        return new PooledSliceInputStream(this.sliceBufferPool, buffer, length);
+    }
+    private static void releaseSliceStream(InputStream sliceStream) {
+        if (sliceStream instanceof PooledSliceInputStream) {
+            ((PooledSliceInputStream) sliceStream).release();
+        }
+    }
+    /**
+     * Reads a slice held in a buffer of a pool, the buffer being returned to the pool once the slice was uploaded.
+     */
+    private static final class PooledSliceInputStream extends ByteArrayInputStream {
+        private final SliceBufferPool pool;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private PooledSliceInputStream(SliceBufferPool pool, byte[] buffer, int length) {
+            super(buffer, 0, length);
+            this.pool = pool;
+        }
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                pool.release(buf);
+            }
+        }
+    }
+    /**
+     * Reads a range of a file channel using positional reads, leaving the position of the channel untouched so that slices can be read at the same time.
+     */
+    private static final class FileChannelSliceInputStream extends InputStream {
+        private final FileChannel channel;
+        private final long end;
+        private long position;
+        private long markedPosition;
+        private FileChannelSliceInputStream(FileChannel channel, long position, long length) {
+            this.channel = channel;
+            this.position = position;
+            this.markedPosition = position;
+            this.end = position + length;
+        }
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+        @Override
+        public int read(@Nonnull byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (position >= end) {
+                return -1;
+            }
+            int bytesRead = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, end - position)), position);
+            if (bytesRead == -1) {
+                return -1;
+            }
+            position += bytesRead;
+            return bytesRead;
+        }
+        @Override
+        public long skip(long n) {
+            long skipped = Math.max(0, Math.min(n, end - position));
+            position += skipped;
+            return skipped;
+        }
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, Math.max(0, end - position));
+        }
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+        @Override
+        public void mark(int readlimit) {
+            markedPosition = position;
+        }
+        @Override
+        public void reset() {
+            position = markedPosition;
+        }
+    }
+    private static void chunkInputStream(InputStream stream, byte[] buffer, int length) throws IOException {
         int totalRead = 0;
         while (totalRead < length) {
             int bytesRead = stream.read(buffer, totalRead, length - totalRead);
             if (bytesRead == -1) {
-                // End of stream reached
+                // End of stream reached, pooled buffers may hold a previous slice
+                Arrays.fill(buffer, totalRead, length, (byte) 0);
                 break;
             }
             totalRead += bytesRead;
         }
-        return buffer;
     }
 }
@@ -1,19 +1,45 @@
 package com.microsoft.graph.core.tasks;
 
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.microsoft.graph.core.CoreConstants;
 import com.microsoft.graph.core.requests.IBaseClient;
 import com.microsoft.kiota.*;
 import com.microsoft.kiota.serialization.AdditionalDataHolder;
+import com.microsoft.kiota.serialization.JsonParseNode;
 import com.microsoft.kiota.serialization.Parsable;
 import com.microsoft.kiota.serialization.ParsableFactory;
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * A class for iterating through pages of a collection
@@ -29,12 +55,40 @@ public class PageIterator<TEntity extends Parsable, TCollectionPage extends Pars
         // default constructor
     }
     private static final String NO_COLLECTION_PROPERTY_ERROR = "The Parsable does not contain a collection property.";
+    private static final String COLLECTION_PROPERTY_NAME = "value";
+    private static final int STREAMING_SPLIT_SIZE = 64;
+    /**
+     * The accessors of each collection page type, resolved once and shared by all iterators.
+     * A ClassValue is attached to the page type itself, so it does not keep the model types from being unloaded.
+     */
+    private static final ClassValue<CollectionPageAccessors> COLLECTION_PAGE_ACCESSORS = new ClassValue<CollectionPageAccessors>() {
+        @Override
+        protected CollectionPageAccessors computeValue(@Nonnull Class<?> collectionPageType) {
+            return new CollectionPageAccessors(collectionPageType);
+        }
+    };
     private RequestAdapter requestAdapter;
     private TCollectionPage currentPage;
     private ParsableFactory<TCollectionPage> collectionPageFactory;
     private Queue<TEntity> pageItemQueue;
     private Function<TEntity, Boolean> processPageItemCallback;
+    private Function<List<TEntity>, Boolean> processPageCallback;
     private UnaryOperator<RequestInformation> requestConfigurator;
+    private int prefetchDepth;
+    private Executor executor = ForkJoinPool.commonPool();
+    private final ArrayDeque<PrefetchedPage<TCollectionPage>> prefetchedPages = new ArrayDeque<>();
+    private CompletableFuture<TCollectionPage> prefetchAnchor;
+    private int parallelism = 1;
+    private boolean orderedCompletion = true;
+    private String currentPageLink;
+    private int currentPageItemCount;
+    private PageIteratorCheckpointStore checkpointStore;
+    private int checkpointInterval;
+    private int itemsSinceCheckpoint;
+    private PageIteratorCheckpoint pendingCheckpoint;
+    private ParsableFactory<TEntity> pageItemFactory;
+    private StreamingPage<TEntity, TCollectionPage> streamingPage;
+    private volatile PageNextLink lastPageNextLink;
 
 
     private String deltaLink;
@@ -100,12 +154,98 @@ public class PageIterator<TEntity extends Parsable, TCollectionPage extends Pars
     protected void setProcessPageItemCallback(@Nonnull Function<TEntity, Boolean> processPageItemCallback) {
         this.processPageItemCallback = Objects.requireNonNull(processPageItemCallback);
     }
+    /**
+     * The processPageCallback to use for processing the items of each page of the collection at once.
+     * @param processPageCallback the processPageCallback to use for processing the items of each page of the collection.
+     */
+    protected void setProcessPageCallback(@Nonnull Function<List<TEntity>, Boolean> processPageCallback) {
+        this.processPageCallback = Objects.requireNonNull(processPageCallback);
+    }
     /**
      * The queue of items in the current page.
      * @param pageItemQueue the queue of items in the current page.
      */
     protected void setPageItemQueue(@Nonnull Queue<TEntity> pageItemQueue) {
         this.pageItemQueue = Objects.requireNonNull(pageItemQueue);
+        this.currentPageItemCount = pageItemQueue.size();
+    }
+    /**
+     * The number of pages to request ahead of the page currently being processed.
+     * @param prefetchDepth the number of pages to request ahead, 0 to disable prefetching.
+     */
+    protected void setPrefetchDepth(int prefetchDepth) {
+        if(prefetchDepth < 0) {
+            throw new IllegalArgumentException("prefetchDepth cannot be negative");
+        }
+        this.prefetchDepth = prefetchDepth;
+    }
+    /**
+     * The executor to use for requesting pages ahead of the page currently being processed.
+     * @param executor the executor to use for background page requests.
+     */
+    protected void setExecutor(@Nonnull Executor executor) {
+        this.executor = Objects.requireNonNull(executor);
+    }
+    /**
+     * The maximum number of page items processed concurrently by the processPageItemCallback.
+     * @param parallelism the maximum number of page items processed concurrently, 1 to process items one at a time on the calling thread.
+     */
+    protected void setParallelism(int parallelism) {
+        if(parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be greater than 0");
+        }
+        this.parallelism = parallelism;
+    }
+    /**
+     * Whether the results of concurrently processed page items are observed in page order.
+     * @param orderedCompletion true to observe results in page order, false to observe them as they complete.
+     */
+    protected void setOrderedCompletion(boolean orderedCompletion) {
+        this.orderedCompletion = orderedCompletion;
+    }
+    /**
+     * The store the checkpoints of the iterator are saved to.
+     * @param checkpointStore the store to save checkpoints to, null to disable checkpoints.
+     */
+    protected void setCheckpointStore(@Nullable PageIteratorCheckpointStore checkpointStore) {
+        this.checkpointStore = checkpointStore;
+    }
+    /**
+     * The number of processed page items after which a checkpoint is saved.
+     * @param checkpointInterval the number of processed page items between checkpoints, 0 to only save checkpoints at page boundaries.
+     */
+    protected void setCheckpointInterval(int checkpointInterval) {
+        if(checkpointInterval < 0) {
+            throw new IllegalArgumentException("checkpointInterval cannot be negative");
+        }
+        this.checkpointInterval = checkpointInterval;
+    }
+    /**
+     * The checkpoint to resume the iteration from.
+     * @param checkpoint the checkpoint to resume from, restored when the iteration starts.
+     */
+    protected void setCheckpoint(@Nullable PageIteratorCheckpoint checkpoint) {
+        this.pendingCheckpoint = checkpoint;
+    }
+    /**
+     * The factory used to create the page items when pages are read as they are received.
+     * @param pageItemFactory the factory to use for creating the page items, null to deserialize whole pages with the collection page factory.
+     */
+    protected void setPageItemFactory(@Nullable ParsableFactory<TEntity> pageItemFactory) {
+        this.pageItemFactory = pageItemFactory;
+    }
+    /**
+     * Gets a checkpoint of the current position of the iterator, which can be used to resume the iteration in another process.
+     * With parallelism greater than 1, a checkpoint taken in the middle of a page points to the start of that page, so items of that page may be processed again on resume.
+     * @return a checkpoint of the current position of the iterator.
+     */
+    @Nonnull
+    public PageIteratorCheckpoint getCheckpoint() {
+        if(this.pendingCheckpoint != null) {
+            return this.pendingCheckpoint;
+        }
+        int pageItemIndex = this.parallelism > 1 && !this.pageItemQueue.isEmpty() ? 0 : Math.max(0, this.currentPageItemCount - this.pageItemQueue.size());
+        return new PageIteratorCheckpoint(this.currentPageLink, pageItemIndex, this.nextLink, this.deltaLink, this.state);
     }
     /**
      * A builder class for building a PageIterator.
@@ -124,6 +264,15 @@ public class PageIterator<TEntity extends Parsable, TCollectionPage extends Pars
         private ParsableFactory<TCollectionPage> collectionPageFactory;
         private UnaryOperator<RequestInformation> requestConfigurator;
         private Function<TEntity, Boolean> processPageItemCallback;
+        private Function<List<TEntity>, Boolean> processPageCallback;
+        private int prefetchDepth;
+        private Executor executor;
+        private int parallelism = 1;
+        private boolean orderedCompletion = true;
+        private PageIteratorCheckpointStore checkpointStore;
+        private int checkpointInterval;
+        private PageIteratorCheckpoint checkpoint;
+        private ParsableFactory<TEntity> pageItemFactory;
         private RequestAdapter getRequestAdapter() {
             return this.requestAdapter;
         }
@@ -181,26 +330,172 @@ public class PageIterator<TEntity extends Parsable, TCollectionPage extends Pars
             this.processPageItemCallback = Objects.requireNonNull(processPageItemCallback);
             return this;
         }
+        /**
+         * Sets the callback to be called with the items of each page of the collection, as an alternative to the processPageItemCallback.
+         * The callback receives the items of a page that were not processed yet, in page order, and is not called for pages without items.
+         * Returning false pauses the iterator once the page has been processed, resuming continues with the next page.
+         * The parallelism and checkpointInterval do not apply to this callback.
+         * @param processPageCallback the callback to be called with the items of each page of the collection.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder<TEntity, TCollectionPage> processPageCallback(@Nonnull Function<List<TEntity>, Boolean> processPageCallback) {
+            this.processPageCallback = Objects.requireNonNull(processPageCallback);
+            return this;
+        }
+        /**
+         * Sets the number of pages to request ahead of the page currently being processed.
+         * When greater than 0, the request for the next page is sent as soon as a page is received, so that network time overlaps with the processing of the current page.
+         * Defaults to 0, which requests each page only once the previous page has been processed.
+         * @param prefetchDepth the number of pages to request ahead.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder<TEntity, TCollectionPage> prefetchDepth(int prefetchDepth) {
+            if(prefetchDepth < 0) {
+                throw new IllegalArgumentException("prefetchDepth cannot be negative");
+            }
+            this.prefetchDepth = prefetchDepth;
+            return this;
+        }
+        /**
+         * Sets the maximum number of page items handed to the processPageItemCallback concurrently.
+         * When greater than 1, items are processed on the executor and the callback must be thread safe.
+         * All items of a page are processed before the iterator moves to the next page.
+         * Defaults to 1, which processes items one at a time on the calling thread.
+         * @param parallelism the maximum number of page items processed concurrently.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder<TEntity, TCollectionPage> parallelism(int parallelism) {
+            if(parallelism < 1) {
+                throw new IllegalArgumentException("parallelism must be greater than 0");
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+        /**
+         * Sets whether the results of concurrently processed page items are observed in page order.
+         * When true, the iterator pauses at the first item, in page order, for which the callback returned false.
+         * When false, the iterator pauses as soon as any callback returns false.
+         * In both cases items that were not started yet are kept for when the iterator is resumed.
+         * Only applies when parallelism is greater than 1. Defaults to true.
+         * @param orderedCompletion true to observe results in page order, false to observe them as they complete.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder<TEntity, TCollectionPage> orderedCompletion(boolean orderedCompletion) {
+            this.orderedCompletion = orderedCompletion;
+            return this;
+        }
+        /**
+         * Sets the executor used to request pages in the background when prefetching is enabled, and to process page items when parallelism is greater than 1.
+         * Defaults to the {@link ForkJoinPool#commonPool()}. As page requests block on the network, a dedicated executor is recommended.
+         * On Java 21 and later, a virtual thread per task executor is a good fit for callbacks that block on I/O.
+         * @param executor the executor to use for background page requests and page item processing.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder<TEntity, TCollectionPage> executor(@Nonnull Executor executor) {
+            this.executor = Objects.requireNonNull(executor);
+            return this;
+        }
+        /**
+         * Sets the store the checkpoints of the iterator are saved to.
+         * Checkpoints are saved whenever a page is received, when the iterator pauses and when it reaches the end of the collection.
+         * @param checkpointStore the store to save checkpoints to.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder<TEntity, TCollectionPage> checkpointStore(@Nonnull PageIteratorCheckpointStore checkpointStore) {
+            this.checkpointStore = Objects.requireNonNull(checkpointStore);
+            return this;
+        }
+        /**
+         * Sets the number of page items processed by the processPageItemCallback after which a checkpoint is saved, in addition to the page boundaries.
+         * Only applies when parallelism is 1. Defaults to 0, which only saves checkpoints at page boundaries.
+         * @param checkpointInterval the number of processed page items between checkpoints.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder<TEntity, TCollectionPage> checkpointInterval(int checkpointInterval) {
+            if(checkpointInterval < 0) {
+                throw new IllegalArgumentException("checkpointInterval cannot be negative");
+            }
+            this.checkpointInterval = checkpointInterval;
+            return this;
+        }
+        /**
+         * Sets the checkpoint to resume the iteration from.
+         * The page the checkpoint was taken on is requested again and the items that were already consumed are skipped.
+         * The collection page is only required when the checkpoint was taken on the collection page the original iterator was built with.
+         * @param checkpoint the checkpoint to resume from.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder<TEntity, TCollectionPage> checkpoint(@Nonnull PageIteratorCheckpoint checkpoint) {
+            this.checkpoint = Objects.requireNonNull(checkpoint);
+            return this;
+        }
+        /**
+         * Reads the pages following the collection page as they are received, instead of deserializing each page as a whole.
+         * Page items are deserialized one at a time and handed to the callback before the rest of the page is read, which bounds memory to a single item for pages of large entities.
+         * The nextLink and deltaLink of a page are read wherever they appear in the response.
+         * When the iterator pauses, the rest of the page is read so that the response is not held open while paused.
+         * Cannot be combined with prefetching, as the link of the next page is only known once a page has been read.
+         * @param pageItemFactory the factory to use for creating the page items.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder<TEntity, TCollectionPage> streamingDeserialization(@Nonnull ParsableFactory<TEntity> pageItemFactory) {
+            this.pageItemFactory = Objects.requireNonNull(pageItemFactory);
+            return this;
+        }
         /**
          * Builds the PageIterator object.
          * Will fail if request adapter is not set.
-         * Will fail if current collection page is not set.
+         * Will fail if current collection page is not set, unless a checkpoint that can be restored without it is set.
          * Will fail if collection page factory is not set.
-         * Will fail if process page item callback is not set.
+         * Will fail if both prefetching and streaming deserialization are set.
+         * Will fail if both the process page item callback and the process page callback are set.
          */
         @Nonnull
         private PageIterator<TEntity, TCollectionPage> build(@Nonnull PageIterator<TEntity, TCollectionPage> instance) throws InvocationTargetException, IllegalAccessException {
             Objects.requireNonNull(instance);
-            if(!this.currentPage.getFieldDeserializers().containsKey("value")) {
+            if(this.pageItemFactory != null && this.prefetchDepth > 0) {
+                throw new IllegalArgumentException("prefetchDepth cannot be combined with streaming deserialization");
+            }
+            if(this.getProcessPageItemCallback() != null && this.processPageCallback != null) {
+                throw new IllegalArgumentException("processPageItemCallback cannot be combined with processPageCallback");
+            }
+            boolean requiresCollectionPage = this.currentPage != null || requiresCollectionPage(this.checkpoint);
+            if(requiresCollectionPage && !Objects.requireNonNull(this.currentPage).getFieldDeserializers().containsKey("value")) {
                 throw new IllegalArgumentException(NO_COLLECTION_PROPERTY_ERROR);
             }
             instance.setRequestAdapter(Objects.requireNonNull(this.getRequestAdapter()));
-            instance.setCurrentPage(Objects.requireNonNull(this.getCollectionPage()));
+            if(requiresCollectionPage) {
+                instance.setCurrentPage(Objects.requireNonNull(this.getCollectionPage()));
+            }
             instance.setCollectionPageFactory(Objects.requireNonNull(this.getCollectionPageFactory()));
             instance.setRequestConfigurator(this.getRequestConfigurator());
-            instance.setProcessPageItemCallback(Objects.requireNonNull(this.getProcessPageItemCallback()));
+            if(this.getProcessPageItemCallback() != null) {
+                instance.setProcessPageItemCallback(this.getProcessPageItemCallback());
+            }
+            if(this.processPageCallback != null) {
+                instance.setProcessPageCallback(this.processPageCallback);
+            }
+            instance.setPrefetchDepth(this.prefetchDepth);
+            instance.setParallelism(this.parallelism);
+            instance.setOrderedCompletion(this.orderedCompletion);
+            if(this.executor != null) {
+                instance.setExecutor(this.executor);
+            }
+            instance.setCheckpointStore(this.checkpointStore);
+            instance.setCheckpointInterval(this.checkpointInterval);
+            instance.setCheckpoint(this.checkpoint);
+            instance.setPageItemFactory(this.pageItemFactory);
 
-            Queue<TEntity> currentCollection = new LinkedList<>(extractEntityListFromParsable(this.getCollectionPage()));
+            Queue<TEntity> currentCollection = requiresCollectionPage ? new LinkedList<>(extractEntityListFromParsable(this.getCollectionPage())) : new LinkedList<>();
             instance.setPageItemQueue(currentCollection);
             return instance;
         }
@@ -212,22 +507,42 @@ public class PageIterator<TEntity extends Parsable, TCollectionPage extends Pars
     }
     private boolean intrapageIterate() throws ReflectiveOperationException {
         this.state = PageIteratorState.INTRAPAGE_ITERATION;
-        while (!this.pageItemQueue.isEmpty()) {
-            boolean shouldContinue= this.processPageItemCallback.apply(this.pageItemQueue.remove());
-            if (!shouldContinue) {
-                this.state = PageIteratorState.PAUSED;
-                return false;
+        boolean shouldContinue = false;
+        boolean processed = false;
+        try {
+            if (this.processPageCallback != null) {
+                shouldContinue = processPage();
+            } else {
+                shouldContinue = this.parallelism > 1 ? processPageItemsConcurrently() : processPageItems();
+            }
+            processed = true;
+        } finally {
+            if (!processed) {
+                releaseStreamingPage();
             }
         }
-
-        String extractedNextLink = extractNextLinkFromParsable(this.currentPage, null);
+        if (!shouldContinue) {
+            cancelPrefetch();
+            bufferStreamingPage();
+            this.state = PageIteratorState.PAUSED;
+            saveCheckpoint();
+            return false;
+        }
+        return completePage();
+    }
+    /**
+     * Reads the links of the current page once all of its items have been consumed.
+     * @return true if there is a next page to request.
+     */
+    private boolean completePage() throws ReflectiveOperationException {
+        String extractedNextLink = getNextLink(this.currentPage);
         if (!Compatibility.isBlank(extractedNextLink)){
             this.nextLink = extractedNextLink;
             this.deltaLink = "";
             return true;
         }
 
-        String extractedDeltaLink = extractNextLinkFromParsable(this.currentPage, CoreConstants.CollectionResponseMethods.GET_ODATA_DELTA_LINK);
+        String extractedDeltaLink = getDeltaLink(this.currentPage);
         if (!Compatibility.isBlank(extractedDeltaLink)){
             this.deltaLink = extractedDeltaLink;
             this.state = PageIteratorState.DELTA;
@@ -235,42 +550,476 @@ public class PageIterator<TEntity extends Parsable, TCollectionPage extends Pars
             this.state = PageIteratorState.COMPLETE;
         }
         this.nextLink = "";
+        saveCheckpoint();
         return false;
     }
+    private boolean processPage() throws ReflectiveOperationException {
+        bufferStreamingPage();
+        if (this.pageItemQueue.isEmpty()) {
+            return true;
+        }
+        List<TEntity> pageItems = new ArrayList<>(this.pageItemQueue);
+        this.pageItemQueue.clear();
+        return Boolean.TRUE.equals(this.processPageCallback.apply(Collections.unmodifiableList(pageItems)));
+    }
+    private boolean processPageItems() throws ReflectiveOperationException {
+        while (hasPageItem()) {
+            boolean shouldContinue = this.processPageItemCallback.apply(this.pageItemQueue.remove());
+            if (!shouldContinue) {
+                return false;
+            }
+            if (this.checkpointInterval > 0 && ++this.itemsSinceCheckpoint >= this.checkpointInterval) {
+                saveCheckpoint();
+            }
+        }
+        return true;
+    }
+    private boolean processPageItemsConcurrently() throws ReflectiveOperationException {
+        ExecutorCompletionService<Boolean> completionService = new ExecutorCompletionService<>(this.executor);
+        // the executor threads only run the callback, the state of the iterator is only read and written by the iterating thread
+        Function<TEntity, Boolean> callback = this.processPageItemCallback;
+        ArrayDeque<PendingPageItem<TEntity>> pendingItems = new ArrayDeque<>();
+        boolean shouldContinue = true;
+        boolean failed = true;
+        try {
+            while (shouldContinue && (!pendingItems.isEmpty() || hasPageItem())) {
+                while (pendingItems.size() < this.parallelism && hasPageItem()) {
+                    TEntity item = this.pageItemQueue.remove();
+                    pendingItems.addLast(new PendingPageItem<>(item, completionService.submit(() -> callback.apply(item))));
+                }
+                if (this.orderedCompletion) {
+                    shouldContinue = awaitPageItem(pendingItems.removeFirst().result);
+                } else {
+                    Future<Boolean> completedItem = takeCompletedPageItem(completionService);
+                    pendingItems.removeIf(pendingItem -> pendingItem.result == completedItem);
+                    shouldContinue = awaitPageItem(completedItem);
+                }
+            }
+            failed = false;
+        } finally {
+            returnPendingItems(pendingItems, failed);
+        }
+        return shouldContinue;
+    }
+    /**
+     * Puts the pending items that were not started yet back at the head of the queue so that they are processed on resume.
+     * Items that already started are awaited when the iteration paused, so that no callback is still running once iterate returns.
+     */
+    private void returnPendingItems(@Nonnull ArrayDeque<PendingPageItem<TEntity>> pendingItems, boolean failed) {
+        if (pendingItems.isEmpty()) {
+            return;
+        }
+        LinkedList<TEntity> unprocessedItems = new LinkedList<>();
+        for (PendingPageItem<TEntity> pendingItem : pendingItems) {
+            if (pendingItem.result.cancel(false)) {
+                unprocessedItems.add(pendingItem.item);
+            } else if (!failed) {
+                awaitPageItem(pendingItem.result);
+            }
+        }
+        unprocessedItems.addAll(this.pageItemQueue);
+        this.pageItemQueue.clear();
+        this.pageItemQueue.addAll(unprocessedItems);
+    }
+    @Nonnull
+    private static Future<Boolean> takeCompletedPageItem(@Nonnull ExecutorCompletionService<Boolean> completionService) {
+        try {
+            return completionService.take();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("The page iterator was interrupted while processing page items.");
+        }
+    }
+    private static boolean awaitPageItem(@Nonnull Future<Boolean> result) {
+        try {
+            return Boolean.TRUE.equals(result.get());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("The page iterator was interrupted while processing page items.");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            if (ex.getCause() instanceof Error) {
+                throw (Error) ex.getCause();
+            }
+            throw new ApiException("Unable to process the page item.", ex.getCause());
+        }
+    }
+    private static final class PendingPageItem<TEntity> {
+        private final TEntity item;
+        private final Future<Boolean> result;
+        private PendingPageItem(@Nonnull TEntity item, @Nonnull Future<Boolean> result) {
+            this.item = item;
+            this.result = result;
+        }
+    }
     private void interpageIterate() throws ReflectiveOperationException {
         this.state = PageIteratorState.INTERPAGE_ITERATION;
 
         if(!Compatibility.isBlank(nextLink) || !Compatibility.isBlank(deltaLink)) {
-            RequestInformation nextPageRequestInformation = new RequestInformation();
-            nextPageRequestInformation.httpMethod = HttpMethod.GET;
-            nextPageRequestInformation.urlTemplate = Compatibility.isBlank(nextLink) ? deltaLink : nextLink;
-
-            nextPageRequestInformation = requestConfigurator == null ? nextPageRequestInformation : requestConfigurator.apply(nextPageRequestInformation);
-            this.currentPage = Objects.requireNonNull(this.requestAdapter.send(nextPageRequestInformation, null, this.collectionPageFactory));
-            List<TEntity> pageItems = extractEntityListFromParsable(this.currentPage);
-            if(!pageItems.isEmpty()) {
-                this.pageItemQueue.addAll(pageItems);
+            String pageLink = Compatibility.isBlank(nextLink) ? deltaLink : nextLink;
+            if(this.pageItemFactory != null) {
+                this.streamingPage = openStreamingPage(pageLink);
+            } else {
+                CompletableFuture<TCollectionPage> prefetchedPage = Compatibility.isBlank(nextLink) ? null : pollPrefetchedPage(nextLink);
+                if(prefetchedPage == null) {
+                    this.currentPage = fetchPage(pageLink);
+                    resetPrefetch();
+                } else {
+                    this.currentPage = awaitPrefetchedPage(prefetchedPage);
+                    schedulePrefetch();
+                }
+                List<TEntity> pageItems = getPageItems(this.currentPage);
+                if(!pageItems.isEmpty()) {
+                    this.pageItemQueue.addAll(pageItems);
+                }
             }
+            this.currentPageLink = pageLink;
+            this.currentPageItemCount = this.pageItemQueue.size();
+        }
+        if(this.streamingPage == null) {
+            checkNextLinkLoop();
         }
-        if(!Compatibility.isBlank(nextLink) && this.nextLink.equals(extractNextLinkFromParsable(this.currentPage, null))) {
+        saveCheckpoint();
+    }
+    private void checkNextLinkLoop() throws ReflectiveOperationException {
+        if(!Compatibility.isBlank(nextLink) && this.nextLink.equals(getNextLink(this.currentPage))) {
             throw new ApiException("Detected a nextLink loop. NextLink value: " + this.nextLink);
         }
     }
+    /**
+     * Whether an item of the current page is left to process, reading the next item of a streamed page into the queue when the queue is empty.
+     * @return true if an item can be taken from the queue.
+     */
+    private boolean hasPageItem() throws ReflectiveOperationException {
+        if(!this.pageItemQueue.isEmpty()) {
+            return true;
+        }
+        TEntity item = readStreamingPageItem();
+        if(item == null) {
+            return false;
+        }
+        this.pageItemQueue.add(item);
+        return true;
+    }
+    /**
+     * Reads the remaining items of a streamed page into the queue, so that the response is released while the iterator is paused.
+     */
+    private void bufferStreamingPage() throws ReflectiveOperationException {
+        TEntity item;
+        while ((item = readStreamingPageItem()) != null) {
+            this.pageItemQueue.add(item);
+        }
+    }
+    /**
+     * Reads the next item of the streamed page.
+     * Once the page was read to its end, the properties around its items become the current page.
+     * @return the next item of the streamed page, null if there is no streamed page or it was read to its end.
+     */
+    @Nullable
+    private TEntity readStreamingPageItem() throws ReflectiveOperationException {
+        StreamingPage<TEntity, TCollectionPage> page = this.streamingPage;
+        if(page == null) {
+            return null;
+        }
+        try {
+            if(page.hasNext()) {
+                TEntity item = page.next();
+                this.currentPageItemCount++;
+                return item;
+            }
+        } catch (IOException ex) {
+            closeStreamingPage();
+            throw new UncheckedIOException("Unable to read the page.", ex);
+        } catch (RuntimeException ex) {
+            closeStreamingPage();
+            throw ex;
+        }
+        this.streamingPage = null;
+        this.currentPage = page.getCollectionPage();
+        checkNextLinkLoop();
+        return null;
+    }
+    /**
+     * Releases the response of a streamed page when processing its items failed.
+     * The rest of the page is read as when the iterator pauses, so that resuming continues with the remaining items.
+     */
+    private void releaseStreamingPage() {
+        try {
+            bufferStreamingPage();
+        } catch (RuntimeException | ReflectiveOperationException ex) {
+            // the failure of the callback is surfaced instead
+        } finally {
+            closeStreamingPage();
+        }
+    }
+    private void closeStreamingPage() {
+        StreamingPage<TEntity, TCollectionPage> page = this.streamingPage;
+        this.streamingPage = null;
+        if(page != null) {
+            try {
+                page.close();
+            } catch (IOException ex) {
+                // the read failure that led to closing the page is surfaced instead
+            }
+        }
+    }
+    @Nonnull
+    private StreamingPage<TEntity, TCollectionPage> openStreamingPage(@Nonnull String pageLink) {
+        InputStream content = Objects.requireNonNull(this.requestAdapter.sendPrimitive(createPageRequestInformation(pageLink), null, InputStream.class));
+        try {
+            return new StreamingPage<>(content, this.pageItemFactory, this.collectionPageFactory);
+        } catch (IOException | RuntimeException ex) {
+            try {
+                content.close();
+            } catch (IOException closeException) {
+                ex.addSuppressed(closeException);
+            }
+            if(ex instanceof IOException) {
+                throw new UncheckedIOException("Unable to read the page.", (IOException) ex);
+            }
+            throw (RuntimeException) ex;
+        }
+    }
+    private void saveCheckpoint() {
+        if(this.checkpointStore == null) {
+            return;
+        }
+        this.itemsSinceCheckpoint = 0;
+        try {
+            this.checkpointStore.save(getCheckpoint());
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to save the page iterator checkpoint.", ex);
+        }
+    }
+    /**
+     * Restores the position of the checkpoint the iterator was built with.
+     * The page the checkpoint was taken on is requested again, unless it is the collection page the iterator was built with.
+     */
+    private void restoreCheckpoint() throws ReflectiveOperationException {
+        PageIteratorCheckpoint checkpoint = this.pendingCheckpoint;
+        this.nextLink = checkpoint.getNextLink() == null ? "" : checkpoint.getNextLink();
+        this.deltaLink = checkpoint.getDeltaLink() == null ? "" : checkpoint.getDeltaLink();
+        this.currentPageLink = checkpoint.getPageLink();
+        if(checkpoint.getState() == PageIteratorState.DELTA || checkpoint.getState() == PageIteratorState.COMPLETE) {
+            this.pageItemQueue.clear();
+            this.currentPageItemCount = 0;
+            this.state = checkpoint.getState();
+            this.pendingCheckpoint = null;
+            return;
+        }
+        if(!Compatibility.isBlank(checkpoint.getPageLink())) {
+            this.pageItemQueue.clear();
+            if(this.pageItemFactory != null) {
+                this.streamingPage = openStreamingPage(checkpoint.getPageLink());
+            } else {
+                this.currentPage = fetchPage(checkpoint.getPageLink());
+                this.pageItemQueue.addAll(getPageItems(this.currentPage));
+            }
+            this.currentPageItemCount = this.pageItemQueue.size();
+        }
+        for(int i = 0; i < checkpoint.getPageItemIndex() && hasPageItem(); i++) {
+            this.pageItemQueue.remove();
+        }
+        // cleared once the page was received, so that a failed request can be retried
+        this.pendingCheckpoint = null;
+    }
+    /**
+     * Whether restoring the checkpoint requires the collection page the original iterator was built with.
+     * Checkpoints taken once the collection was consumed only carry links, other checkpoints need the page they were taken on.
+     */
+    private static boolean requiresCollectionPage(@Nullable PageIteratorCheckpoint checkpoint) {
+        if(checkpoint == null) {
+            return true;
+        }
+        if(checkpoint.getState() == PageIteratorState.DELTA || checkpoint.getState() == PageIteratorState.COMPLETE) {
+            return false;
+        }
+        return Compatibility.isBlank(checkpoint.getPageLink());
+    }
+    /**
+     * Restores the checkpoint the iterator was built with, and requests the next delta page when the previous round completed with a deltaLink.
+     */
+    private void startIteration() throws ReflectiveOperationException {
+        if(this.pendingCheckpoint != null) {
+            restoreCheckpoint();
+        }
+        if(this.state == PageIteratorState.NOT_STARTED) {
+            resetPrefetch();
+        }
+        if(this.state == PageIteratorState.DELTA) {
+            interpageIterate();
+        }
+    }
+    @Nonnull
+    private TCollectionPage fetchPage(@Nonnull String pageLink) {
+        return Objects.requireNonNull(this.requestAdapter.send(createPageRequestInformation(pageLink), null, this.collectionPageFactory));
+    }
+    @Nonnull
+    private RequestInformation createPageRequestInformation(@Nonnull String pageLink) {
+        RequestInformation nextPageRequestInformation = new RequestInformation();
+        nextPageRequestInformation.httpMethod = HttpMethod.GET;
+        nextPageRequestInformation.urlTemplate = pageLink;
+
+        return requestConfigurator == null ? nextPageRequestInformation : requestConfigurator.apply(nextPageRequestInformation);
+    }
+    private void resetPrefetch() {
+        if(prefetchDepth == 0) {
+            return;
+        }
+        synchronized (prefetchedPages) {
+            prefetchedPages.clear();
+            prefetchAnchor = CompletableFuture.completedFuture(this.currentPage);
+        }
+        schedulePrefetch();
+    }
+    /**
+     * Requests the pages following the last known page until prefetchDepth pages are pending.
+     * The anchor is the page being processed, the queue holds the pages immediately following it in order.
+     * Each prefetched page schedules its successor once it has been received.
+     */
+    private void schedulePrefetch() {
+        synchronized (prefetchedPages) {
+            if(prefetchAnchor == null || prefetchedPages.size() >= prefetchDepth) {
+                return;
+            }
+            CompletableFuture<TCollectionPage> lastPage = prefetchedPages.isEmpty() ? prefetchAnchor : prefetchedPages.peekLast().page;
+            if(!lastPage.isDone() || lastPage.isCompletedExceptionally()) {
+                return;
+            }
+            String pageLink;
+            try {
+                pageLink = getNextLink(lastPage.join());
+            } catch (ReflectiveOperationException ex) {
+                // the iterating thread surfaces the same error when it reaches this page
+                return;
+            }
+            if(Compatibility.isBlank(pageLink)) {
+                return;
+            }
+            CompletableFuture<TCollectionPage> page = CompletableFuture.supplyAsync(() -> fetchPage(pageLink), executor);
+            prefetchedPages.addLast(new PrefetchedPage<>(pageLink, page));
+            page.thenRun(this::schedulePrefetch);
+        }
+    }
+    /**
+     * Stops requesting pages ahead once the iteration stopped, as the iterator may never be resumed.
+     * The pages already received are kept for when the iterator is resumed, the pages that were not received yet are cancelled, so that the requests not sent yet are never sent.
+     */
+    private void cancelPrefetch() {
+        if(prefetchDepth == 0) {
+            return;
+        }
+        synchronized (prefetchedPages) {
+            prefetchAnchor = null;
+            boolean received = true;
+            Iterator<PrefetchedPage<TCollectionPage>> pages = prefetchedPages.iterator();
+            while (pages.hasNext()) {
+                CompletableFuture<TCollectionPage> page = pages.next().page;
+                received = received && page.isDone() && !page.isCompletedExceptionally();
+                if(!received) {
+                    page.cancel(false);
+                    pages.remove();
+                }
+            }
+        }
+    }
+    @Nullable
+    private CompletableFuture<TCollectionPage> pollPrefetchedPage(@Nonnull String pageLink) {
+        synchronized (prefetchedPages) {
+            PrefetchedPage<TCollectionPage> prefetchedPage = prefetchedPages.peekFirst();
+            if(prefetchedPage == null || !prefetchedPage.link.equals(pageLink)) {
+                return null;
+            }
+            prefetchedPages.removeFirst();
+            prefetchAnchor = prefetchedPage.page;
+            return prefetchedPage.page;
+        }
+    }
+    @Nonnull
+    private static <T> T awaitPrefetchedPage(@Nonnull CompletableFuture<T> page) {
+        try {
+            return page.join();
+        } catch (CompletionException ex) {
+            if(ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new ApiException("Unable to retrieve the next page.", ex.getCause());
+        }
+    }
+    private static final class PrefetchedPage<TCollectionPage> {
+        private final String link;
+        private final CompletableFuture<TCollectionPage> page;
+        private PrefetchedPage(@Nonnull String link, @Nonnull CompletableFuture<TCollectionPage> page) {
+            this.link = link;
+            this.page = page;
+        }
+    }
 
     /**
      * Iterates over the collection of entities in the collation page.
      * Will continues to iterate over the collection of entities in the next page, if there is a next page.
+     * @throws IllegalStateException if neither a processPageItemCallback nor a processPageCallback was set.
      * @throws ApiException if the request was unable to complete for any reason.
      * @throws ReflectiveOperationException if the entity or collection page could not be instantiated or if they are of invalid types.
      */
     public void iterate() throws ApiException, ReflectiveOperationException {
-        if(this.state == PageIteratorState.DELTA) {
-            interpageIterate();
+        ensureCallbackIsSet();
+        try {
+            startIteration();
+            if(this.state == PageIteratorState.COMPLETE) {
+                return;
+            }
+            boolean shouldContinueInterpageIteration = intrapageIterate();
+            while (shouldContinueInterpageIteration) {
+                interpageIterate();
+                shouldContinueInterpageIteration = intrapageIterate();
+            }
+        } catch (RuntimeException | ReflectiveOperationException ex) {
+            cancelPrefetch();
+            throw ex;
         }
-        boolean shouldContinueInterpageIteration = intrapageIterate();
-        while (shouldContinueInterpageIteration) {
-            interpageIterate();
-            shouldContinueInterpageIteration = intrapageIterate();
+    }
+
+    void ensureCallbackIsSet() {
+        if(this.processPageItemCallback == null && this.processPageCallback == null) {
+            throw new IllegalStateException("A processPageItemCallback or a processPageCallback must be set to iterate over the collection.");
+        }
+    }
+    /**
+     * Whether resuming the iteration starts with a page request, rather than with the items of the current page.
+     * Used by the PageIteratorCrawler to only hold a request slot for actual page requests.
+     * @return true if the first step of {@link #iteratePage(boolean, Runnable)} with resume set sends a page request.
+     */
+    boolean resumesWithPageRequest() {
+        if(this.state == PageIteratorState.INTERPAGE_ITERATION) {
+            return true;
+        }
+        PageIteratorCheckpoint checkpoint = this.pendingCheckpoint;
+        if(checkpoint != null) {
+            return checkpoint.getState() == PageIteratorState.DELTA || (checkpoint.getState() != PageIteratorState.COMPLETE && !Compatibility.isBlank(checkpoint.getPageLink()));
+        }
+        return this.state == PageIteratorState.DELTA;
+    }
+    /**
+     * Iterates over a single page for the PageIteratorCrawler: requests the page when one is needed, then processes its items.
+     * @param resume true to resume the iteration where it stopped, as {@link #iterate()} does, false to request the next page.
+     * @param onPageReceived called once the page was received, or right away when no page is requested, before the items are processed.
+     * @return true if the iteration continues with the next page.
+     */
+    boolean iteratePage(boolean resume, @Nonnull Runnable onPageReceived) throws ReflectiveOperationException {
+        try {
+            if(resume && this.state != PageIteratorState.INTERPAGE_ITERATION) {
+                startIteration();
+            } else {
+                interpageIterate();
+            }
+            onPageReceived.run();
+            return this.state != PageIteratorState.COMPLETE && intrapageIterate();
+        } catch (RuntimeException | ReflectiveOperationException ex) {
+            cancelPrefetch();
+            throw ex;
         }
     }
 
@@ -283,6 +1032,172 @@ public class PageIterator<TEntity extends Parsable, TCollectionPage extends Pars
         iterate();
     }
 
+    /**
+     * Creates a sequential stream over the entities of the collection.
+     * Pages are requested lazily as the stream is consumed, and the callbacks are not invoked.
+     * The stream and the iterate method share the iterator state, and should not be used at the same time.
+     * With streaming deserialization, closing the stream releases the response of the page being read.
+     * @return a stream over the entities of the collection.
+     */
+    @Nonnull
+    public Stream<TEntity> stream() {
+        return StreamSupport.stream(spliterator(), false).onClose(this::closeStreamingPage);
+    }
+    /**
+     * Creates a spliterator over the entities of the collection.
+     * Pages are requested lazily as the spliterator is advanced.
+     * Splitting hands off the items of the pages already received, so that parallel streams process them while the next page is requested.
+     * @return a spliterator over the entities of the collection.
+     */
+    @Nonnull
+    public Spliterator<TEntity> spliterator() {
+        return new PageItemSpliterator();
+    }
+    /**
+     * Creates a Reactive Streams publisher of the entities of the collection.
+     * Pages are requested on the executor set on the builder, and only while the subscriber has outstanding demand.
+     * Requires the org.reactivestreams:reactive-streams library, which is an optional dependency, on the classpath.
+     * @return a publisher of the entities of the collection.
+     */
+    @Nonnull
+    public PageIteratorPublisher<TEntity, TCollectionPage> publisher() {
+        return new PageIteratorPublisher<>(this, this.executor);
+    }
+    /**
+     * Takes the next entity of the collection, requesting the following page when the current one has been consumed.
+     * @return the next entity, null once the last page has been consumed.
+     */
+    @Nullable
+    private TEntity pollPageItem() throws ReflectiveOperationException {
+        while (true) {
+            if(this.state == PageIteratorState.COMPLETE || this.state == PageIteratorState.DELTA) {
+                return null;
+            }
+            this.state = PageIteratorState.INTRAPAGE_ITERATION;
+            if(hasPageItem()) {
+                return this.pageItemQueue.remove();
+            }
+            if(!completePage()) {
+                return null;
+            }
+            interpageIterate();
+        }
+    }
+    private final class PageItemSpliterator implements Spliterator<TEntity> {
+        private boolean started;
+        @Nullable
+        private TEntity nextItem() {
+            try {
+                if(!started) {
+                    started = true;
+                    startIteration();
+                }
+                return pollPageItem();
+            } catch (ReflectiveOperationException ex) {
+                throw new IllegalStateException("Unable to read the collection page.", ex);
+            }
+        }
+        @Override
+        public boolean tryAdvance(@Nonnull Consumer<? super TEntity> action) {
+            Objects.requireNonNull(action);
+            TEntity item = nextItem();
+            if(item == null) {
+                return false;
+            }
+            action.accept(item);
+            return true;
+        }
+        @Override
+        @Nullable
+        public Spliterator<TEntity> trySplit() {
+            TEntity firstItem = nextItem();
+            if(firstItem == null) {
+                return null;
+            }
+            ArrayList<TEntity> pageItems = new ArrayList<>(pageItemQueue.size() + 1);
+            pageItems.add(firstItem);
+            pageItems.addAll(pageItemQueue);
+            pageItemQueue.clear();
+            try {
+                while (pageItems.size() < STREAMING_SPLIT_SIZE && streamingPage != null && hasPageItem()) {
+                    pageItems.add(pageItemQueue.remove());
+                }
+            } catch (ReflectiveOperationException ex) {
+                throw new IllegalStateException("Unable to read the collection page.", ex);
+            }
+            return Spliterators.spliterator(pageItems, characteristics());
+        }
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.NONNULL;
+        }
+    }
+
+    /**
+     * A page read from the response as its items are consumed.
+     * The properties around the items are collected into a collection page without items once the page was read to its end.
+     */
+    private static final class StreamingPage<TEntity extends Parsable, TCollectionPage extends Parsable & AdditionalDataHolder> implements Closeable {
+        private final JsonReader reader;
+        private final ParsableFactory<TEntity> pageItemFactory;
+        private final ParsableFactory<TCollectionPage> collectionPageFactory;
+        private final JsonObject pageProperties = new JsonObject();
+        private boolean readingItems;
+        private TCollectionPage collectionPage;
+        private StreamingPage(@Nonnull InputStream content, @Nonnull ParsableFactory<TEntity> pageItemFactory, @Nonnull ParsableFactory<TCollectionPage> collectionPageFactory) throws IOException {
+            this.reader = new JsonReader(new InputStreamReader(content, StandardCharsets.UTF_8));
+            this.pageItemFactory = pageItemFactory;
+            this.collectionPageFactory = collectionPageFactory;
+            this.reader.beginObject();
+            readToItems();
+        }
+        /**
+         * Reads the page properties until the start of the collection property, or to the end of the page.
+         */
+        private void readToItems() throws IOException {
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if(COLLECTION_PROPERTY_NAME.equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                    reader.beginArray();
+                    readingItems = true;
+                    return;
+                }
+                pageProperties.add(name, JsonParser.parseReader(reader));
+            }
+            reader.endObject();
+            pageProperties.add(COLLECTION_PROPERTY_NAME, new JsonArray());
+            collectionPage = new JsonParseNode(pageProperties).getObjectValue(collectionPageFactory);
+            close();
+        }
+        private boolean hasNext() throws IOException {
+            if(readingItems && !reader.hasNext()) {
+                reader.endArray();
+                readingItems = false;
+                readToItems();
+            }
+            return readingItems;
+        }
+        @Nonnull
+        private TEntity next() throws IOException {
+            if(!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return Objects.requireNonNull(new JsonParseNode(JsonParser.parseReader(reader)).getObjectValue(pageItemFactory));
+        }
+        @Nonnull
+        private TCollectionPage getCollectionPage() {
+            return Objects.requireNonNull(collectionPage);
+        }
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
     /**
      * Extracts the list of entities from the Parsable collection page.
      * @param parsableCollection the Parsable collection page.
@@ -294,20 +1209,19 @@ public class PageIterator<TEntity extends Parsable, TCollectionPage extends Pars
      */
     @Nonnull
     protected static <TEntity extends Parsable, TCollectionPage extends Parsable & AdditionalDataHolder> List<TEntity> extractEntityListFromParsable(@Nonnull TCollectionPage parsableCollection) throws  IllegalAccessException, InvocationTargetException {
-        try{
-            return (List<TEntity>) parsableCollection.getClass().getDeclaredMethod("getValue").invoke(parsableCollection);
-        } catch (NoSuchMethodException e) {
+        return extractEntityListFromParsable(parsableCollection, COLLECTION_PAGE_ACCESSORS.get(parsableCollection.getClass()).valueGetter);
+    }
+    @Nonnull
+    private static <TEntity extends Parsable> List<TEntity> extractEntityListFromParsable(@Nonnull Parsable parsableCollection, @Nullable MethodHandle valueGetter) throws IllegalAccessException, InvocationTargetException {
+        if(valueGetter == null) {
             throw new IllegalAccessException("NO_COLLECTION_PROPERTY_ERROR");
         }
+        return (List<TEntity>) invokeAccessor(valueGetter, parsableCollection);
     }
-    private static <TCollectionPage extends Parsable & AdditionalDataHolder> String extractNextLinkFromParsable(@Nonnull TCollectionPage parsableCollection, @Nullable String getNextLinkMethodName) throws ReflectiveOperationException {
-        String methodName = getNextLinkMethodName == null ? CoreConstants.CollectionResponseMethods.GET_ODATA_NEXT_LINK : getNextLinkMethodName;
-        Method[] methods = parsableCollection.getClass().getMethods();
+    private static <TCollectionPage extends Parsable & AdditionalDataHolder> String extractNextLinkFromParsable(@Nonnull TCollectionPage parsableCollection, @Nullable MethodHandle nextLinkMethod) throws ReflectiveOperationException {
         String nextLink;
-        Optional<Method> nextLinkOptional = Arrays.stream(methods).filter(m -> m.getName().equals(methodName)).findFirst();
-        if (nextLinkOptional.isPresent()) {
-            Method nextLinkMethod = nextLinkOptional.get();
-            nextLink = (String) nextLinkMethod.invoke(parsableCollection);
+        if (nextLinkMethod != null) {
+            nextLink = (String) invokeAccessor(nextLinkMethod, parsableCollection);
             if(!Compatibility.isBlank(nextLink)) {
                 return nextLink;
             }
@@ -315,6 +1229,90 @@ public class PageIterator<TEntity extends Parsable, TCollectionPage extends Pars
         nextLink = (String) parsableCollection.getAdditionalData().get(CoreConstants.OdataInstanceAnnotations.NEXT_LINK);
         return nextLink == null ? "" : nextLink;
     }
+    /**
+     * Invokes an accessor of a collection page, wrapping what it throws as Method.invoke does.
+     */
+    private static Object invokeAccessor(@Nonnull MethodHandle accessor, @Nonnull Object page) throws InvocationTargetException {
+        try {
+            return accessor.invokeExact(page);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+    @Nonnull
+    private List<TEntity> getPageItems(@Nonnull TCollectionPage page) throws ReflectiveOperationException {
+        return extractEntityListFromParsable(page, COLLECTION_PAGE_ACCESSORS.get(page.getClass()).valueGetter);
+    }
+    /**
+     * Gets the nextLink of a page, which is read once per page although the iterator checks it several times.
+     */
+    @Nonnull
+    private String getNextLink(@Nonnull TCollectionPage page) throws ReflectiveOperationException {
+        PageNextLink pageNextLink = this.lastPageNextLink;
+        if(pageNextLink == null || pageNextLink.page != page) {
+            pageNextLink = new PageNextLink(page, extractNextLinkFromParsable(page, COLLECTION_PAGE_ACCESSORS.get(page.getClass()).nextLinkGetter));
+            this.lastPageNextLink = pageNextLink;
+        }
+        return pageNextLink.nextLink;
+    }
+    @Nonnull
+    private String getDeltaLink(@Nonnull TCollectionPage page) throws ReflectiveOperationException {
+        return extractNextLinkFromParsable(page, COLLECTION_PAGE_ACCESSORS.get(page.getClass()).deltaLinkGetter);
+    }
+    /**
+     * The accessors of a collection page type, as method handles taking the page and returning an Object.
+     * Resolved once per type, as looking the methods up on every page shows up when iterating over many small pages.
+     */
+    private static final class CollectionPageAccessors {
+        private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+        private final MethodHandle valueGetter;
+        private final MethodHandle nextLinkGetter;
+        private final MethodHandle deltaLinkGetter;
+        private CollectionPageAccessors(@Nonnull Class<?> collectionPageType) {
+            Method[] methods = collectionPageType.getMethods();
+            this.valueGetter = toAccessor(findDeclaredMethod(collectionPageType, "getValue"));
+            this.nextLinkGetter = toAccessor(findMethod(methods, CoreConstants.CollectionResponseMethods.GET_ODATA_NEXT_LINK));
+            this.deltaLinkGetter = toAccessor(findMethod(methods, CoreConstants.CollectionResponseMethods.GET_ODATA_DELTA_LINK));
+        }
+        @Nullable
+        private static MethodHandle toAccessor(@Nullable Method method) {
+            if(method == null) {
+                return null;
+            }
+            try {
+                return MethodHandles.lookup().unreflect(method).asType(ACCESSOR_TYPE);
+            } catch (IllegalAccessException e) {
+                return null;
+            }
+        }
+        @Nullable
+        private static Method findMethod(@Nonnull Method[] methods, @Nonnull String methodName) {
+            for(Method method : methods) {
+                if(method.getName().equals(methodName)) {
+                    return method;
+                }
+            }
+            return null;
+        }
+        @Nullable
+        private static Method findDeclaredMethod(@Nonnull Class<?> collectionPageType, @Nonnull String methodName) {
+            try {
+                return collectionPageType.getDeclaredMethod(methodName);
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+    }
+    private static final class PageNextLink {
+        private final Object page;
+        private final String nextLink;
+        private PageNextLink(@Nonnull Object page, @Nonnull String nextLink) {
+            this.page = page;
+            this.nextLink = nextLink;
+        }
+    }
 
     /**
      * Enum to represent the possible states of the PageIterator.
@@ -42,7 +42,6 @@ interface PageIteratorBuilder<TEntity extends Parsable, TCollectionPage extends
      * Should fail if request adapter is not set.
      * Should fail if current collection page is not set.
      * Should fail if collection page factory is not set.
-     * Should fail if process page item callback is not set.
      * @return the built PageIterator.
      */
     PageIterator<TEntity, TCollectionPage> build() throws InvocationTargetException, IllegalAccessException, NoSuchMethodException;
@@ -0,0 +1,76 @@
+package com.microsoft.graph.core.tasks;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A snapshot of the position of a PageIterator, used to resume an iteration in another process.
+ * Resuming requests the page the checkpoint was taken on again and skips the items that were already consumed.
+ */
+public final class PageIteratorCheckpoint implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private final String pageLink;
+    private final int pageItemIndex;
+    private final String nextLink;
+    private final String deltaLink;
+    private final PageIterator.PageIteratorState state;
+    /**
+     * Creates a new PageIteratorCheckpoint.
+     * @param pageLink the link the current page was requested with, null for the collection page the iterator was built with.
+     * @param pageItemIndex the number of items of the current page that were consumed.
+     * @param nextLink the nextLink of the iterator.
+     * @param deltaLink the deltaLink of the iterator.
+     * @param state the state of the iterator.
+     */
+    public PageIteratorCheckpoint(@Nullable String pageLink, int pageItemIndex, @Nullable String nextLink, @Nullable String deltaLink, @Nonnull PageIterator.PageIteratorState state) {
+        if(pageItemIndex < 0) {
+            throw new IllegalArgumentException("pageItemIndex cannot be negative");
+        }
+        this.pageLink = pageLink;
+        this.pageItemIndex = pageItemIndex;
+        this.nextLink = nextLink;
+        this.deltaLink = deltaLink;
+        this.state = Objects.requireNonNull(state);
+    }
+    /**
+     * Gets the link the current page was requested with.
+     * @return the link of the current page, null for the collection page the iterator was built with.
+     */
+    @Nullable
+    public String getPageLink() {
+        return pageLink;
+    }
+    /**
+     * Gets the number of items of the current page that were consumed.
+     * @return the index of the next item to process in the current page.
+     */
+    public int getPageItemIndex() {
+        return pageItemIndex;
+    }
+    /**
+     * Gets the nextLink of the iterator.
+     * @return the nextLink of the iterator.
+     */
+    @Nullable
+    public String getNextLink() {
+        return nextLink;
+    }
+    /**
+     * Gets the deltaLink of the iterator.
+     * @return the deltaLink of the iterator.
+     */
+    @Nullable
+    public String getDeltaLink() {
+        return deltaLink;
+    }
+    /**
+     * Gets the state of the iterator.
+     * @return the state of the iterator.
+     */
+    @Nonnull
+    public PageIterator.PageIteratorState getState() {
+        return state;
+    }
+}
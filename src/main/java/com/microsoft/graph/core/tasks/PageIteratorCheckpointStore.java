@@ -0,0 +1,29 @@
+package com.microsoft.graph.core.tasks;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+
+/**
+ * Persists the checkpoints of a PageIterator.
+ */
+public interface PageIteratorCheckpointStore {
+    /**
+     * Saves the checkpoint, replacing the previously saved one.
+     * @param checkpoint the checkpoint to save.
+     * @throws IOException if the checkpoint could not be saved.
+     */
+    void save(@Nonnull PageIteratorCheckpoint checkpoint) throws IOException;
+    /**
+     * Loads the last saved checkpoint.
+     * @return the last saved checkpoint, null if none was saved.
+     * @throws IOException if the checkpoint could not be loaded.
+     */
+    @Nullable
+    PageIteratorCheckpoint load() throws IOException;
+    /**
+     * Removes the saved checkpoint.
+     * @throws IOException if the checkpoint could not be removed.
+     */
+    void clear() throws IOException;
+}
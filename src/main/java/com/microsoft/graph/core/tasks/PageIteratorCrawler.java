@@ -0,0 +1,324 @@
+package com.microsoft.graph.core.tasks;
+
+import com.microsoft.graph.core.requests.RetryAfter;
+import com.microsoft.kiota.ApiException;
+
+import jakarta.annotation.Nonnull;
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs many PageIterator instances at once under a single limit of page requests in flight.
+ * Iterators take turns: once an iterator received a page and processed it, it waits behind the other iterators for its next page request.
+ * An iterator that still has items of its current page to process, such as a new iterator holding its collection page, starts without taking a request slot.
+ * When a page request is throttled, all iterators stop sending requests for the delay requested by the service, or an exponential delay if none was requested, before the request is retried.
+ * Pages requested ahead by iterators with a prefetchDepth are not counted against the limit, prefetching should not be enabled on the crawled iterators.
+ */
+public class PageIteratorCrawler implements Closeable {
+    private static final int MAX_BACKOFF_EXPONENT = 6;
+    private final Executor executor;
+    private final ScheduledExecutorService scheduler;
+    private final boolean ownsScheduler;
+    private final int maxConcurrentRequests;
+    private final int maxThrottledRetries;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final ArrayDeque<CrawlTask> waitingTasks = new ArrayDeque<>();
+    private int inFlightRequests;
+    private int consecutiveThrottledRequests;
+    private long backoffDeadline;
+    private boolean backoffActive;
+    private boolean dispatchScheduled;
+    /**
+     * Creates a new PageIteratorCrawler from its builder.
+     * @param builder the builder holding the options of the crawler.
+     */
+    protected PageIteratorCrawler(@Nonnull Builder builder) {
+        Objects.requireNonNull(builder);
+        this.executor = builder.executor == null ? ForkJoinPool.commonPool() : builder.executor;
+        this.ownsScheduler = builder.scheduler == null;
+        this.scheduler = this.ownsScheduler ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "page-iterator-crawler");
+            thread.setDaemon(true);
+            return thread;
+        }) : builder.scheduler;
+        this.maxConcurrentRequests = builder.maxConcurrentRequests;
+        this.maxThrottledRetries = builder.maxThrottledRetries;
+        this.initialBackoff = builder.initialBackoff;
+        this.maxBackoff = builder.maxBackoff;
+    }
+    /**
+     * Adds a PageIterator to the crawl. Iterators can be submitted at any time, including from the callbacks of other crawled iterators.
+     * The iterator runs until it completes, pauses or reaches its deltaLink, as when calling {@link PageIterator#iterate()}.
+     * @param pageIterator the iterator to run, which should not be iterated elsewhere until the returned future completes.
+     * @return a future completing with the state of the iterator once it stopped, or exceptionally if a request or a callback failed.
+     * @throws IllegalStateException if neither a processPageItemCallback nor a processPageCallback was set on the iterator.
+     */
+    @Nonnull
+    public CompletableFuture<PageIterator.PageIteratorState> submit(@Nonnull PageIterator<?, ?> pageIterator) {
+        Objects.requireNonNull(pageIterator);
+        pageIterator.ensureCallbackIsSet();
+        CrawlTask task = new CrawlTask(pageIterator);
+        if(!pageIterator.resumesWithPageRequest()) {
+            // the iterator continues with the items of its current page, which does not take a request slot
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException ex) {
+                task.result.completeExceptionally(ex);
+            }
+            return task.result;
+        }
+        synchronized (this) {
+            waitingTasks.addLast(task);
+            dispatch();
+        }
+        return task.result;
+    }
+    /**
+     * Gets the number of page requests currently in flight.
+     * @return the number of page requests in flight.
+     */
+    public synchronized int getInFlightRequestCount() {
+        return inFlightRequests;
+    }
+    /**
+     * Stops the scheduler of the crawler if it was not provided to the builder. Iterators already running complete their current page.
+     */
+    @Override
+    public void close() {
+        if(ownsScheduler) {
+            scheduler.shutdownNow();
+        }
+    }
+    /**
+     * Starts the page requests of the waiting iterators, in the order they started waiting, until the limit of requests in flight is reached.
+     * Must be called while holding the lock of the crawler.
+     */
+    private void dispatch() {
+        if(backoffActive) {
+            long remainingBackoff = backoffDeadline - System.nanoTime();
+            if(remainingBackoff > 0) {
+                scheduleDispatch(remainingBackoff);
+                return;
+            }
+            backoffActive = false;
+        }
+        while (inFlightRequests < maxConcurrentRequests && !waitingTasks.isEmpty()) {
+            CrawlTask task = waitingTasks.removeFirst();
+            inFlightRequests++;
+            task.holdsRequestSlot = true;
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException ex) {
+                inFlightRequests--;
+                task.holdsRequestSlot = false;
+                task.result.completeExceptionally(ex);
+            }
+        }
+    }
+    private void scheduleDispatch(long delayNanos) {
+        if(dispatchScheduled) {
+            return;
+        }
+        dispatchScheduled = true;
+        scheduler.schedule(() -> {
+            synchronized (this) {
+                dispatchScheduled = false;
+                dispatch();
+            }
+        }, delayNanos, TimeUnit.NANOSECONDS);
+    }
+    private synchronized void onRequestCompleted() {
+        inFlightRequests--;
+        consecutiveThrottledRequests = 0;
+        dispatch();
+    }
+    private synchronized void onRequestFailed() {
+        inFlightRequests--;
+        dispatch();
+    }
+    /**
+     * Delays the page requests of all iterators and puts the throttled iterator first in line.
+     */
+    private synchronized void onRequestThrottled(@Nonnull CrawlTask task, @Nonnull ApiException exception) {
+        inFlightRequests--;
+        consecutiveThrottledRequests++;
+        Duration delay = RetryAfter.fromException(exception);
+        if(delay == null) {
+            delay = initialBackoff.multipliedBy(1L << Math.min(consecutiveThrottledRequests - 1, MAX_BACKOFF_EXPONENT));
+        }
+        if(delay.compareTo(maxBackoff) > 0) {
+            delay = maxBackoff;
+        }
+        long deadline = System.nanoTime() + delay.toNanos();
+        if(!backoffActive || deadline - backoffDeadline > 0) {
+            backoffDeadline = deadline;
+        }
+        backoffActive = true;
+        waitingTasks.addFirst(task);
+        dispatch();
+    }
+    private final class CrawlTask implements Runnable {
+        private final PageIterator<?, ?> pageIterator;
+        private final CompletableFuture<PageIterator.PageIteratorState> result = new CompletableFuture<>();
+        private boolean started;
+        private boolean holdsRequestSlot;
+        private boolean pageReceived;
+        private int throttledRetries;
+        private CrawlTask(@Nonnull PageIterator<?, ?> pageIterator) {
+            this.pageIterator = pageIterator;
+        }
+        /**
+         * Requests the next page, with the request slot taken when the task was dispatched, then releases the slot and processes the page.
+         */
+        @Override
+        public void run() {
+            pageReceived = false;
+            try {
+                if(pageIterator.iteratePage(!started, this::onPageReceived)) {
+                    synchronized (PageIteratorCrawler.this) {
+                        waitingTasks.addLast(this);
+                        dispatch();
+                    }
+                } else {
+                    result.complete(pageIterator.getPageIteratorState());
+                }
+            } catch (ApiException ex) {
+                if(!pageReceived && holdsRequestSlot && RetryAfter.isRetryable(ex.getResponseStatusCode()) && throttledRetries < maxThrottledRetries) {
+                    throttledRetries++;
+                    holdsRequestSlot = false;
+                    onRequestThrottled(this, ex);
+                } else {
+                    fail(ex);
+                }
+            } catch (Exception ex) {
+                fail(ex);
+            }
+        }
+        private void onPageReceived() {
+            pageReceived = true;
+            started = true;
+            throttledRetries = 0;
+            if(holdsRequestSlot) {
+                holdsRequestSlot = false;
+                onRequestCompleted();
+            }
+        }
+        private void fail(@Nonnull Exception ex) {
+            if(holdsRequestSlot) {
+                holdsRequestSlot = false;
+                onRequestFailed();
+            }
+            result.completeExceptionally(ex);
+        }
+    }
+
+    /**
+     * A builder class for building a PageIteratorCrawler.
+     */
+    public static class Builder {
+        private Executor executor;
+        private ScheduledExecutorService scheduler;
+        private int maxConcurrentRequests = 4;
+        private int maxThrottledRetries = 5;
+        private Duration initialBackoff = Duration.ofSeconds(1);
+        private Duration maxBackoff = Duration.ofMinutes(1);
+        /**
+         * Constructor for the Builder class of a PageIteratorCrawler.
+         */
+        public Builder() {
+            // Default constructor
+        }
+        /**
+         * Sets the maximum number of page requests in flight across all crawled iterators. Defaults to 4.
+         * @param maxConcurrentRequests the maximum number of page requests in flight.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder maxConcurrentRequests(int maxConcurrentRequests) {
+            if(maxConcurrentRequests < 1) {
+                throw new IllegalArgumentException("maxConcurrentRequests must be greater than 0");
+            }
+            this.maxConcurrentRequests = maxConcurrentRequests;
+            return this;
+        }
+        /**
+         * Sets the number of times a throttled page request is retried before the iterator fails. Defaults to 5.
+         * @param maxThrottledRetries the number of retries of a throttled page request.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder maxThrottledRetries(int maxThrottledRetries) {
+            if(maxThrottledRetries < 0) {
+                throw new IllegalArgumentException("maxThrottledRetries cannot be negative");
+            }
+            this.maxThrottledRetries = maxThrottledRetries;
+            return this;
+        }
+        /**
+         * Sets the delay applied after a throttled request without a Retry-After header, doubled for each consecutive throttled request. Defaults to 1 second.
+         * @param initialBackoff the delay applied after the first throttled request.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder initialBackoff(@Nonnull Duration initialBackoff) {
+            if(Objects.requireNonNull(initialBackoff).isNegative()) {
+                throw new IllegalArgumentException("initialBackoff cannot be negative");
+            }
+            this.initialBackoff = initialBackoff;
+            return this;
+        }
+        /**
+         * Sets the longest delay applied after a throttled request, including the delays requested by the service. Defaults to 1 minute.
+         * @param maxBackoff the longest delay applied after a throttled request.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder maxBackoff(@Nonnull Duration maxBackoff) {
+            if(Objects.requireNonNull(maxBackoff).isNegative()) {
+                throw new IllegalArgumentException("maxBackoff cannot be negative");
+            }
+            this.maxBackoff = maxBackoff;
+            return this;
+        }
+        /**
+         * Sets the executor the pages are requested and processed on. Defaults to the {@link ForkJoinPool#commonPool()}.
+         * As page requests block on the network, an executor with at least maxConcurrentRequests threads is recommended.
+         * @param executor the executor to request and process pages on.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder executor(@Nonnull Executor executor) {
+            this.executor = Objects.requireNonNull(executor);
+            return this;
+        }
+        /**
+         * Sets the scheduler used to resume the page requests after a throttled request.
+         * Defaults to a single daemon thread owned by the crawler and stopped when the crawler is closed.
+         * @param scheduler the scheduler to resume page requests on.
+         * @return the builder object itself
+         */
+        @Nonnull
+        public Builder scheduler(@Nonnull ScheduledExecutorService scheduler) {
+            this.scheduler = Objects.requireNonNull(scheduler);
+            return this;
+        }
+        /**
+         * Builds the PageIteratorCrawler object.
+         * @return the built PageIteratorCrawler.
+         */
+        @Nonnull
+        public PageIteratorCrawler build() {
+            return new PageIteratorCrawler(this);
+        }
+    }
+}
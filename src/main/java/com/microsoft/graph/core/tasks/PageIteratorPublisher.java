@@ -0,0 +1,137 @@
+package com.microsoft.graph.core.tasks;
+
+import com.microsoft.kiota.serialization.AdditionalDataHolder;
+import com.microsoft.kiota.serialization.Parsable;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import jakarta.annotation.Nonnull;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A Reactive Streams publisher of the entities of a paged collection.
+ * The next page is only requested while the subscriber has outstanding demand, so at most the current page and the pages prefetched by the PageIterator are held in memory.
+ * Signals are delivered on the executor, which also performs the blocking page requests.
+ * The publisher shares the state of its PageIterator and accepts a single subscriber.
+ * On Java 9 and later, {@code org.reactivestreams.FlowAdapters} exposes it as a {@code java.util.concurrent.Flow.Publisher}.
+ * The Reactive Streams API is an optional dependency of this library, it must be on the classpath of the applications using the publisher.
+ * @param <TEntity> The type of the entity returned in the collection. This type must implement {@link Parsable}
+ * @param <TCollectionPage> The Microsoft Graph collection response type returned in the collection response. This type must implement {@link Parsable} and {@link AdditionalDataHolder}
+ */
+public class PageIteratorPublisher<TEntity extends Parsable, TCollectionPage extends Parsable & AdditionalDataHolder> implements Publisher<TEntity> {
+    private final PageIterator<TEntity, TCollectionPage> pageIterator;
+    private final Executor executor;
+    private final AtomicBoolean subscribed = new AtomicBoolean(false);
+    /**
+     * Creates a new publisher over the entities of the page iterator, which it shares with the iterator.
+     * @param pageIterator the page iterator to publish the entities of.
+     * @param executor the executor used to request pages and signal the subscriber.
+     */
+    PageIteratorPublisher(@Nonnull PageIterator<TEntity, TCollectionPage> pageIterator, @Nonnull Executor executor) {
+        this.pageIterator = Objects.requireNonNull(pageIterator);
+        this.executor = Objects.requireNonNull(executor);
+    }
+    @Override
+    public void subscribe(@Nonnull Subscriber<? super TEntity> subscriber) {
+        Objects.requireNonNull(subscriber);
+        if(!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                    // no items are ever published to additional subscribers
+                }
+                @Override
+                public void cancel() {
+                    // nothing to release
+                }
+            });
+            subscriber.onError(new IllegalStateException("The PageIteratorPublisher only supports a single subscriber."));
+            return;
+        }
+        subscriber.onSubscribe(new PageItemSubscription(subscriber));
+    }
+    private final class PageItemSubscription implements Subscription, Runnable {
+        private final Subscriber<? super TEntity> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger pendingRuns = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile boolean invalidRequest;
+        private Spliterator<TEntity> pageItems;
+        private boolean done;
+        private PageItemSubscription(@Nonnull Subscriber<? super TEntity> subscriber) {
+            this.subscriber = subscriber;
+        }
+        @Override
+        public void request(long n) {
+            if(n <= 0) {
+                invalidRequest = true;
+            } else {
+                demand.getAndUpdate(current -> Long.MAX_VALUE - current < n ? Long.MAX_VALUE : current + n);
+            }
+            drain();
+        }
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+        private void drain() {
+            if(pendingRuns.getAndIncrement() == 0) {
+                executor.execute(this);
+            }
+        }
+        /**
+         * Emits items while there is demand. Runs are serialized by the pendingRuns counter, so the subscriber is never signalled concurrently.
+         */
+        @Override
+        public void run() {
+            int missedRuns = 1;
+            do {
+                if(emit()) {
+                    return;
+                }
+                missedRuns = pendingRuns.addAndGet(-missedRuns);
+            } while (missedRuns != 0);
+        }
+        /**
+         * Emits items until demand is exhausted.
+         * @return true once a terminal signal was sent or the subscription was cancelled.
+         */
+        private boolean emit() {
+            if(done || cancelled) {
+                return true;
+            }
+            if(invalidRequest) {
+                done = true;
+                subscriber.onError(new IllegalArgumentException("The number of requested items must be greater than 0."));
+                return true;
+            }
+            try {
+                if(pageItems == null) {
+                    pageItems = pageIterator.spliterator();
+                }
+                while (demand.get() > 0) {
+                    if(cancelled) {
+                        return true;
+                    }
+                    if(!pageItems.tryAdvance(subscriber::onNext)) {
+                        done = true;
+                        subscriber.onComplete();
+                        return true;
+                    }
+                    demand.getAndUpdate(current -> current == Long.MAX_VALUE ? current : current - 1);
+                }
+            } catch (RuntimeException ex) {
+                done = true;
+                subscriber.onError(ex);
+                return true;
+            }
+            return false;
+        }
+    }
+}
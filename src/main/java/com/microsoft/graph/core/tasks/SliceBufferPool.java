@@ -0,0 +1,93 @@
+package com.microsoft.graph.core.tasks;
+
+import jakarta.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Objects;
+
+/**
+ * A bounded pool of the buffers slices of a stream are read into before being uploaded.
+ * A pool can be shared by upload tasks running at the same time, so that slice buffers are reused instead of being allocated for every slice.
+ * Buffers are only kept while the total size of the idle buffers does not exceed the maximum number of pooled bytes; buffers in use are not accounted for.
+ * Buffers are allocated in multiples of {@link AdaptiveSliceSizer#SLICE_SIZE_INCREMENT}, so that slices of varying sizes reuse the same buffers.
+ */
+public final class SliceBufferPool {
+    private final long maxPooledBytes;
+    private final ArrayList<byte[]> buffers = new ArrayList<>();
+    private long pooledBytes;
+    /**
+     * Creates a new SliceBufferPool.
+     * @param maxPooledBytes the maximum total size in bytes of the idle buffers kept by the pool, 0 to never keep buffers.
+     */
+    public SliceBufferPool(long maxPooledBytes) {
+        if(maxPooledBytes < 0) {
+            throw new IllegalArgumentException("maxPooledBytes cannot be negative");
+        }
+        this.maxPooledBytes = maxPooledBytes;
+    }
+    /**
+     * Takes a buffer of at least the given length from the pool, allocating a new one if no pooled buffer is large enough.
+     * The smallest pooled buffer that is large enough is returned. Its content is undefined.
+     * A new buffer has the given length rounded up to the next multiple of 320 KiB.
+     * @param minimumLength the minimum length of the buffer.
+     * @return a buffer of at least the given length.
+     */
+    @Nonnull
+    public byte[] acquire(int minimumLength) {
+        if(minimumLength < 0) {
+            throw new IllegalArgumentException("minimumLength cannot be negative");
+        }
+        synchronized (buffers) {
+            int bestFit = -1;
+            for (int i = 0; i < buffers.size(); i++) {
+                int length = buffers.get(i).length;
+                if (length >= minimumLength && (bestFit == -1 || length < buffers.get(bestFit).length)) {
+                    bestFit = i;
+                }
+            }
+            if (bestFit != -1) {
+                byte[] buffer = buffers.remove(bestFit);
+                pooledBytes -= buffer.length;
+                return buffer;
+            }
+        }
+        return new byte[(int) getAllocationLength(minimumLength)];
+    }
+    /**
+     * Gets the length of the buffers allocated for the given length, rounded up to the next multiple of the slice size increment.
+     */
+    static long getAllocationLength(long minimumLength) {
+        long increments = (minimumLength + AdaptiveSliceSizer.SLICE_SIZE_INCREMENT - 1) / AdaptiveSliceSizer.SLICE_SIZE_INCREMENT;
+        long rounded = Math.max(1, increments) * AdaptiveSliceSizer.SLICE_SIZE_INCREMENT;
+        return rounded > Integer.MAX_VALUE - 8 ? minimumLength : rounded;
+    }
+    /**
+     * Returns a buffer to the pool once it is no longer used.
+     * The buffer is dropped if keeping it would exceed the maximum number of pooled bytes.
+     * @param buffer the buffer to return to the pool.
+     */
+    public void release(@Nonnull byte[] buffer) {
+        Objects.requireNonNull(buffer);
+        synchronized (buffers) {
+            if (pooledBytes + buffer.length <= maxPooledBytes) {
+                buffers.add(buffer);
+                pooledBytes += buffer.length;
+            }
+        }
+    }
+    /**
+     * Gets the total size in bytes of the idle buffers currently kept by the pool.
+     * @return the number of pooled bytes.
+     */
+    public long getPooledBytes() {
+        synchronized (buffers) {
+            return pooledBytes;
+        }
+    }
+    /**
+     * Gets the maximum total size in bytes of the idle buffers kept by the pool.
+     * @return the maximum number of pooled bytes.
+     */
+    public long getMaxPooledBytes() {
+        return maxPooledBytes;
+    }
+}
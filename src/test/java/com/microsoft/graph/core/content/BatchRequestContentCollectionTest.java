@@ -0,0 +1,100 @@
+package com.microsoft.graph.core.content;
+
+import com.microsoft.graph.core.BaseClient;
+import com.microsoft.graph.core.CoreConstants;
+import com.microsoft.graph.core.models.BatchRequestStep;
+import com.microsoft.graph.core.requests.IBaseClient;
+import com.microsoft.kiota.authentication.AnonymousAuthenticationProvider;
+import okhttp3.Request;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchRequestContentCollectionTest {
+    private final IBaseClient client = new BaseClient(new AnonymousAuthenticationProvider(), "https://graph.microsoft.com/v1.0");
+    private final Request request = new Request.Builder().url("https://graph.microsoft.com/v1.0/me").build();
+
+    @Test
+    void BatchRequestContentCollection_KeepsDependencyChainInOneBatch() {
+        BatchRequestContentCollection collection = new BatchRequestContentCollection(client);
+        for (int i = 0; i < 15; i++) {
+            collection.addBatchRequestStep(request);
+        }
+        List<String> chain = addChain(collection, 10);
+
+        List<List<BatchRequestContent>> waves = collection.getBatchRequestWavesForExecution();
+
+        assertEquals(1, waves.size());
+        assertEquals(2, waves.get(0).size());
+        assertEquals(CoreConstants.BatchRequest.MAX_REQUESTS, waves.get(0).get(0).getBatchRequestSteps().size());
+        Map<String, BatchRequestStep> packedSteps = waves.get(0).get(0).getBatchRequestSteps();
+        assertTrue(packedSteps.keySet().containsAll(chain));
+        for (int i = 1; i < chain.size(); i++) {
+            assertEquals(Collections.singletonList(chain.get(i - 1)), packedSteps.get(chain.get(i)).getDependsOn());
+        }
+        assertEquals(5, waves.get(0).get(1).getBatchRequestSteps().size());
+        assertEquals(25, collection.getBatchRequestSteps().size());
+    }
+    @Test
+    void BatchRequestContentCollection_SplitsLongDependencyChainIntoWaves() {
+        BatchRequestContentCollection collection = new BatchRequestContentCollection(client);
+        List<String> chain = addChain(collection, 45);
+        for (int i = 0; i < 10; i++) {
+            collection.addBatchRequestStep(request);
+        }
+
+        List<List<BatchRequestContent>> waves = collection.getBatchRequestWavesForExecution();
+
+        assertEquals(3, waves.size());
+        for (List<BatchRequestContent> wave : waves) {
+            assertEquals(1, wave.size());
+        }
+        assertTrue(waves.get(0).get(0).getBatchRequestSteps().keySet().containsAll(chain.subList(0, 20)));
+        Map<String, BatchRequestStep> secondWave = waves.get(1).get(0).getBatchRequestSteps();
+        assertTrue(secondWave.get(chain.get(20)).getDependsOn().isEmpty());
+        assertEquals(Collections.singletonList(chain.get(20)), secondWave.get(chain.get(21)).getDependsOn());
+        // the independent steps fill the batch of the end of the chain
+        assertEquals(15, waves.get(2).get(0).getBatchRequestSteps().size());
+        assertEquals(3, collection.getBatchRequestsForExecution().size());
+        // the steps of the collection keep the relations dropped from the packed batches
+        assertEquals(Collections.singletonList(chain.get(19)), collection.getBatchRequestSteps().get(chain.get(20)).getDependsOn());
+        assertEquals(55, collection.getBatchRequestSteps().size());
+    }
+    @Test
+    void BatchRequestContentCollection_RejectsDependencyCycle() {
+        BatchRequestContentCollection collection = new BatchRequestContentCollection(client);
+        List<String> chain = addChain(collection, 3);
+        collection.getBatchRequestSteps().get(chain.get(0)).addDependsOnId(chain.get(2));
+
+        assertThrows(IllegalArgumentException.class, collection::getBatchRequestWavesForExecution);
+    }
+    @Test
+    void BatchRequestContentCollection_RemovesDependsOnAcrossBatches() {
+        BatchRequestContentCollection collection = new BatchRequestContentCollection(client);
+        String first = collection.addBatchRequestStep(request);
+        for (int i = 0; i < CoreConstants.BatchRequest.MAX_REQUESTS; i++) {
+            collection.addBatchRequestStep(request);
+        }
+        String last = collection.addBatchRequestStep(request);
+        collection.getBatchRequestSteps().get(last).addDependsOnId(first);
+
+        assertTrue(collection.removeBatchRequestStepWithId(first));
+        assertTrue(collection.getBatchRequestSteps().get(last).getDependsOn().isEmpty());
+    }
+    private static List<String> addChain(BatchRequestContentCollection collection, int length) {
+        List<String> chain = new ArrayList<>();
+        for (int i = 0; i < length; i++) {
+            String requestId = collection.addBatchRequestStep(new Request.Builder().url("https://graph.microsoft.com/v1.0/me").build());
+            if(!chain.isEmpty()) {
+                collection.getBatchRequestSteps().get(requestId).addDependsOnId(chain.get(chain.size() - 1));
+            }
+            chain.add(requestId);
+        }
+        return chain;
+    }
+}
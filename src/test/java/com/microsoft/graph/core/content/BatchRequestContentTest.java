@@ -16,7 +16,9 @@ import com.microsoft.kiota.authentication.AnonymousAuthenticationProvider;
 import com.microsoft.kiota.authentication.AuthenticationProvider;
 import com.microsoft.kiota.http.OkHttpRequestAdapter;
 import com.microsoft.kiota.http.middleware.UrlReplaceHandler;
+import jakarta.annotation.Nonnull;
 import okhttp3.*;
+import okio.BufferedSink;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -28,6 +30,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.microsoft.graph.core.CoreConstants.ReplacementConstants.USERS_ENDPOINT_WITH_REPLACE_TOKEN;
 import static org.junit.jupiter.api.Assertions.*;
@@ -450,6 +453,69 @@ class BatchRequestContentTest {
         requestContentString = requestContentString.replaceAll("\\s", "").replace("\n", "");
         assertEquals(expectedJson, requestContentString);
     }
+    @Test
+    void BatchRequestContent_WritesRequestContentWithJsonBodiesAsTheyAre() throws Exception {
+        String jsonBody = "{\"displayName\":\"caf\u00e9 \\u00e9\",\"amount\":1.50,\"tags\":[]}";
+        Request jsonRequest = new Request.Builder().url(requestUrl).post(RequestBody.create(jsonBody, MediaType.get(CoreConstants.MimeTypeNames.APPLICATION_JSON))).build();
+        Request textRequest = new Request.Builder().url(requestUrl).post(RequestBody.create("a \"quoted\"\tline", MediaType.get("text/plain"))).build();
+        BatchRequestContent batchRequestContent = new BatchRequestContent(client, Arrays.asList(new BatchRequestStep("1", jsonRequest), new BatchRequestStep("2", textRequest, Arrays.asList("1"))));
+
+        String requestContentString = readInputStream(batchRequestContent.getBatchRequestContent());
+
+        assertTrue(requestContentString.contains("\"body\":" + jsonBody + ","));
+        JsonArray requests = JsonParser.parseString(requestContentString).getAsJsonObject().getAsJsonArray(CoreConstants.BatchRequest.REQUESTS);
+        assertEquals("caf\u00e9 \u00e9", requests.get(0).getAsJsonObject().getAsJsonObject(CoreConstants.BatchRequest.BODY).get("displayName").getAsString());
+        assertEquals("a \"quoted\"\tline", requests.get(1).getAsJsonObject().get(CoreConstants.BatchRequest.BODY).getAsString());
+    }
+    @Test
+    void BatchRequestContent_WritesStepsAsTheContentIsRead() throws Exception {
+        AtomicInteger writtenBodies = new AtomicInteger();
+        RequestBody countingBody = new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return MediaType.get(CoreConstants.MimeTypeNames.APPLICATION_JSON);
+            }
+            @Override
+            public void writeTo(@Nonnull BufferedSink sink) {
+                writtenBodies.incrementAndGet();
+                sink.writeUtf8("{\"displayName\":\"group\"}");
+            }
+        };
+        Request request = new Request.Builder().url(requestUrl).post(countingBody).build();
+        BatchRequestContent batchRequestContent = new BatchRequestContent(client, Arrays.asList(new BatchRequestStep("1", request), new BatchRequestStep("2", request)));
+
+        InputStream stream = batchRequestContent.getBatchRequestContent();
+        assertEquals(0, writtenBodies.get());
+        assertEquals('{', stream.read());
+        assertEquals(0, writtenBodies.get());
+        String requestContentString = readInputStream(stream);
+
+        assertEquals(2, writtenBodies.get());
+        assertEquals(2, JsonParser.parseString("{" + requestContentString).getAsJsonObject().getAsJsonArray(CoreConstants.BatchRequest.REQUESTS).size());
+    }
+    @Test
+    void BatchRequestContent_RejectsInvalidJsonBodies() {
+        RequestBody emptyBodyOfUnknownLength = new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return MediaType.get(CoreConstants.MimeTypeNames.APPLICATION_JSON);
+            }
+            @Override
+            public void writeTo(@Nonnull BufferedSink sink) {
+                // writes no content, as a streamed body that turned out to be empty
+            }
+        };
+        for (RequestBody body : Arrays.asList(emptyBodyOfUnknownLength,
+                RequestBody.create("not json", MediaType.get(CoreConstants.MimeTypeNames.APPLICATION_JSON)),
+                RequestBody.create("{\"a\":1} {\"b\":2}", MediaType.get(CoreConstants.MimeTypeNames.APPLICATION_JSON)),
+                RequestBody.create("{\"a\":", MediaType.get(CoreConstants.MimeTypeNames.APPLICATION_JSON)))) {
+            Request request = new Request.Builder().url(requestUrl).post(body).build();
+            BatchRequestContent batchRequestContent = new BatchRequestContent(client, Collections.singletonList(new BatchRequestStep("1", request)));
+
+            IOException exception = assertThrows(IOException.class, () -> readInputStream(batchRequestContent.getBatchRequestContent()));
+            assertEquals(ErrorConstants.Messages.UNABLE_TO_DESERIALIZE_CONTENT, exception.getMessage());
+        }
+    }
     private static String readInputStream(InputStream stream) throws Exception {
         ByteArrayOutputStream result = new ByteArrayOutputStream();
         byte[] buffer = new byte[1024];
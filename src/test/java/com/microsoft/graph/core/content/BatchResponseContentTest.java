@@ -1,5 +1,6 @@
 package com.microsoft.graph.core.content;
 
+import com.google.gson.JsonSyntaxException;
 import com.microsoft.graph.core.CoreConstants;
 import com.microsoft.graph.core.ErrorConstants;
 import com.microsoft.graph.core.testModels.*;
@@ -12,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
+import java.util.Arrays;
 import java.util.Map;
 
 import static com.microsoft.kiota.serialization.ParseNodeFactoryRegistry.defaultInstance;
@@ -261,4 +263,59 @@ class BatchResponseContentTest {
         assertEquals("2019-07-30T22:00:00.0000000", event.getStart().getDateTime());
         assertEquals("UTC", event.getEnd().getTimeZone());
     }
+    @Test
+    void BatchResponseContent_IndexesResponsesAndKeepsRawBodies() throws IOException {
+        String responseJSON = "{\"@odata.nextLink\":\"https://graph.microsoft.com/v1.0/$batch?skiptoken=1\","
+            + "\"unknown\":{\"nested\":[1,2,{\"a\":null}]},"
+            + "\"responses\":[{"
+            + "\"headers\":{\"Content-Type\":\"application/json\"},"
+            + "\"body\":{\"value\":[1.50,true,null,\"a\\\"b\"],\"big\":12345678901234567890},"
+            + "\"status\":200,"
+            + "\"id\":\"1\""
+            + "},{"
+            + "\"id\":\"2\","
+            + "\"status\":404,"
+            + "\"body\":{\"error\":{\"code\":\"itemNotFound\",\"innerError\":{\"date\":\"2019-03-22T23:17:50\"},\"message\":\"The resource could not be found.\"}}"
+            + "}]}";
+        ResponseBody body = ResponseBody.create(responseJSON, MediaType.parse("application/json"));
+        Response response = defaultBuilder.code(HttpURLConnection.HTTP_OK).body(body).build();
+        BatchResponseContent batchResponseContent = new BatchResponseContent(response);
+
+        assertEquals("https://graph.microsoft.com/v1.0/$batch?skiptoken=1", batchResponseContent.getNextLink());
+        assertEquals(2, batchResponseContent.getResponsesStatusCode().size());
+        Response response1 = batchResponseContent.getResponseById("1");
+        assertEquals(HttpURLConnection.HTTP_OK, response1.code());
+        assertEquals("{\"value\":[1.50,true,null,\"a\\\"b\"],\"big\":12345678901234567890}", response1.body().string());
+        // each lookup materializes a new response whose body can be read again
+        assertEquals(response1.request(), batchResponseContent.getResponseById("1").request());
+        assertTrue(batchResponseContent.getResponseStreamById("1").available() > 0);
+        Response response2 = batchResponseContent.getResponseById("2");
+        assertEquals(HttpURLConnection.HTTP_NOT_FOUND, response2.code());
+        assertEquals("The resource could not be found.", response2.message());
+        assertEquals("See status code for details", response1.message());
+    }
+    @Test
+    void BatchResponseContent_ThrowsOnPayloadTruncatedInResponsesArray() {
+        String responseJSON = "{\"responses\":[{\"id\":\"1\",\"status\":200,\"body\":{}},{\"id\":\"2\",\"sta";
+        ResponseBody body = ResponseBody.create(responseJSON, MediaType.parse("application/json"));
+        Response response = defaultBuilder.code(HttpURLConnection.HTTP_OK).body(body).build();
+        BatchResponseContent batchResponseContent = new BatchResponseContent(response);
+
+        assertThrows(JsonSyntaxException.class, batchResponseContent::getResponses);
+    }
+    @Test
+    void BatchResponseContent_ReadsHeaderValuesOfAnyType() {
+        String responseJSON = "{\"responses\":[{\"id\":\"1\",\"status\":200,"
+            + "\"headers\":{\"Retry-After\":10,\"X-Flag\":true,\"X-Empty\":null,\"Vary\":[\"Accept\",\"Prefer\"],\"X-Object\":{\"a\":1}}}]}";
+        ResponseBody body = ResponseBody.create(responseJSON, MediaType.parse("application/json"));
+        Response response = defaultBuilder.code(HttpURLConnection.HTTP_OK).body(body).build();
+        BatchResponseContent batchResponseContent = new BatchResponseContent(response);
+
+        Response response1 = batchResponseContent.getResponseById("1");
+        assertEquals("10", response1.header("Retry-After"));
+        assertEquals("true", response1.header("X-Flag"));
+        assertEquals(Arrays.asList("Accept", "Prefer"), response1.headers("Vary"));
+        assertNull(response1.header("X-Empty"));
+        assertNull(response1.header("X-Object"));
+    }
 }
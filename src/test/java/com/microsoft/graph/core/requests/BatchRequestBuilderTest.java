@@ -2,27 +2,52 @@ package com.microsoft.graph.core.requests;
 
 import com.microsoft.graph.core.BaseClient;
 import com.microsoft.graph.core.CoreConstants;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
 import com.microsoft.graph.core.content.BatchRequestContent;
+import com.microsoft.graph.core.content.BatchRequestContentCollection;
+import com.microsoft.graph.core.content.BatchResponseContentCollection;
 import com.microsoft.graph.core.models.BatchRequestStep;
 import com.microsoft.kiota.HttpMethod;
 import com.microsoft.kiota.RequestInformation;
 import com.microsoft.kiota.authentication.AnonymousAuthenticationProvider;
+import com.microsoft.kiota.authentication.AuthenticationProvider;
+import com.microsoft.kiota.http.OkHttpRequestAdapter;
 import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import okhttp3.Request;
 import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.HttpURLConnection;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.io.ByteArrayInputStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
 
 class BatchRequestBuilderTest {
 
@@ -66,4 +91,131 @@ class BatchRequestBuilderTest {
             inputStream.close();
         }
     }
+    @Test
+    void PostsBatchesOfCollectionConcurrentlyWithinLimit() throws Exception {
+        AtomicInteger inFlightBatches = new AtomicInteger();
+        AtomicInteger maxInFlightBatches = new AtomicInteger();
+        CountDownLatch firstBatches = new CountDownLatch(2);
+        OkHttpClient httpClient = new OkHttpClient.Builder().addInterceptor(chain -> {
+            maxInFlightBatches.accumulateAndGet(inFlightBatches.incrementAndGet(), Math::max);
+            try {
+                firstBatches.countDown();
+                // the first batches are only answered once the limit of batches were sent together
+                assertTrue(firstBatches.await(10, TimeUnit.SECONDS));
+                Buffer requestBody = new Buffer();
+                Objects.requireNonNull(chain.request().body()).writeTo(requestBody);
+                StringBuilder responses = new StringBuilder();
+                for (JsonElement request : JsonParser.parseString(requestBody.readUtf8()).getAsJsonObject().getAsJsonArray(CoreConstants.BatchRequest.REQUESTS)) {
+                    responses.append(responses.length() == 0 ? "" : ",")
+                        .append("{\"id\":\"").append(request.getAsJsonObject().get(CoreConstants.BatchRequest.ID).getAsString()).append("\",\"status\":204}");
+                }
+                return new Response.Builder()
+                    .request(chain.request())
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(HttpURLConnection.HTTP_OK)
+                    .message("OK")
+                    .body(ResponseBody.create("{\"responses\":[" + responses + "]}", MediaType.get(CoreConstants.MimeTypeNames.APPLICATION_JSON)))
+                    .build();
+            } catch (InterruptedException ex) {
+                throw new IOException(ex);
+            } finally {
+                inFlightBatches.decrementAndGet();
+            }
+        }).build();
+        OkHttpRequestAdapter requestAdapter = new OkHttpRequestAdapter(mock(AuthenticationProvider.class), null, null, httpClient);
+        requestAdapter.setBaseUrl("https://graph.microsoft.com/v1.0");
+        BaseClient client = new BaseClient(requestAdapter);
+        BatchRequestContentCollection collection = new BatchRequestContentCollection(client);
+        List<String> requestIds = new ArrayList<>();
+        for (int i = 0; i < 5 * CoreConstants.BatchRequest.MAX_REQUESTS; i++) {
+            requestIds.add(collection.addBatchRequestStep(new Request.Builder().url("https://graph.microsoft.com/v1.0/me/").build()));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            BatchResponseContentCollection responses = new BatchRequestBuilder(requestAdapter).postAsync(collection, null, 2, executor).get(30, TimeUnit.SECONDS);
+
+            assertEquals(2, maxInFlightBatches.get());
+            assertEquals(requestIds.size(), responses.getResponsesStatusCodes().size());
+            for (String requestId : requestIds) {
+                assertEquals(HttpURLConnection.HTTP_NO_CONTENT, responses.getResponseById(requestId).code());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+    @Test
+    void PostsBatchesOfCollectionOnThreadsOwnedByTheCall() throws Exception {
+        Set<String> postingThreads = ConcurrentHashMap.newKeySet();
+        OkHttpRequestAdapter requestAdapter = createAdapter(requestId -> {
+            postingThreads.add(Thread.currentThread().getName());
+            return HttpURLConnection.HTTP_NO_CONTENT;
+        }, new CopyOnWriteArrayList<>());
+        BatchRequestContentCollection collection = new BatchRequestContentCollection(new BaseClient(requestAdapter));
+        for (int i = 0; i < 3 * CoreConstants.BatchRequest.MAX_REQUESTS; i++) {
+            collection.addBatchRequestStep(new Request.Builder().url("https://graph.microsoft.com/v1.0/me/").build());
+        }
+
+        BatchResponseContentCollection responses = new BatchRequestBuilder(requestAdapter).post(collection, null, 2);
+
+        assertEquals(3 * CoreConstants.BatchRequest.MAX_REQUESTS, responses.getResponsesStatusCodes().size());
+        assertEquals(Collections.singleton("batch-request-post"), postingThreads);
+    }
+    @Test
+    void AnswersStepsOfLaterWavesDependingOnFailedStepsWithoutPostingThem() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int postPath = 0; postPath < 3; postPath++) {
+                List<List<String>> postedBatches = new CopyOnWriteArrayList<>();
+                // the service answers the steps depending on a failed step of the same batch with 424
+                OkHttpRequestAdapter requestAdapter = createAdapter(requestId -> requestId.equals("A") ? HttpURLConnection.HTTP_NOT_FOUND : requestId.equals("B") ? 424 : HttpURLConnection.HTTP_OK, postedBatches);
+                BatchRequestContentCollection collection = new BatchRequestContentCollection(new BaseClient(requestAdapter), 2);
+                collection.addBatchRequestStep(new BatchRequestStep("A", new Request.Builder().url("https://graph.microsoft.com/v1.0/me/").build()));
+                collection.addBatchRequestStep(new BatchRequestStep("B", new Request.Builder().url("https://graph.microsoft.com/v1.0/me/").build(), Collections.singletonList("A")));
+                collection.addBatchRequestStep(new BatchRequestStep("C", new Request.Builder().url("https://graph.microsoft.com/v1.0/me/").build(), Collections.singletonList("B")));
+                collection.addBatchRequestStep(new BatchRequestStep("D", new Request.Builder().url("https://graph.microsoft.com/v1.0/me/").build()));
+                BatchRequestBuilder batchRequestBuilder = new BatchRequestBuilder(requestAdapter);
+
+                BatchResponseContentCollection responses = postPath == 0 ? batchRequestBuilder.post(collection, null)
+                    : postPath == 1 ? batchRequestBuilder.post(collection, null, 2)
+                    : batchRequestBuilder.postAsync(collection, null, 2, executor).get(10, TimeUnit.SECONDS);
+
+                assertEquals(Arrays.asList(Arrays.asList("A", "B"), Collections.singletonList("D")), postedBatches);
+                assertEquals(HttpURLConnection.HTTP_NOT_FOUND, responses.getResponseById("A").code());
+                assertEquals(424, responses.getResponseById("B").code());
+                assertEquals(424, responses.getResponseById("C").code());
+                assertEquals(HttpURLConnection.HTTP_OK, responses.getResponseById("D").code());
+                assertEquals(4, responses.getResponsesStatusCodes().size());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+    /**
+     * Creates an adapter answering each step of a batch with the status code returned for its id, and recording the ids of the steps of each posted batch.
+     */
+    private static OkHttpRequestAdapter createAdapter(Function<String, Integer> stepStatusCodes, List<List<String>> postedBatches) {
+        OkHttpClient httpClient = new OkHttpClient.Builder().addInterceptor(chain -> {
+            Buffer requestBody = new Buffer();
+            Objects.requireNonNull(chain.request().body()).writeTo(requestBody);
+            List<String> postedIds = new ArrayList<>();
+            StringBuilder responses = new StringBuilder();
+            for (JsonElement request : JsonParser.parseString(requestBody.readUtf8()).getAsJsonObject().getAsJsonArray(CoreConstants.BatchRequest.REQUESTS)) {
+                String requestId = request.getAsJsonObject().get(CoreConstants.BatchRequest.ID).getAsString();
+                postedIds.add(requestId);
+                responses.append(responses.length() == 0 ? "" : ",")
+                    .append("{\"id\":\"").append(requestId).append("\",\"status\":").append(stepStatusCodes.apply(requestId)).append("}");
+            }
+            postedBatches.add(postedIds);
+            return new Response.Builder()
+                .request(chain.request())
+                .protocol(Protocol.HTTP_1_1)
+                .code(HttpURLConnection.HTTP_OK)
+                .message("OK")
+                .body(ResponseBody.create("{\"responses\":[" + responses + "]}", MediaType.get(CoreConstants.MimeTypeNames.APPLICATION_JSON)))
+                .build();
+        }).build();
+        OkHttpRequestAdapter requestAdapter = new OkHttpRequestAdapter(mock(AuthenticationProvider.class), null, null, httpClient);
+        requestAdapter.setBaseUrl("https://graph.microsoft.com/v1.0");
+        return requestAdapter;
+    }
 }
@@ -0,0 +1,41 @@
+package com.microsoft.graph.core.requests;
+
+import com.microsoft.kiota.ApiExceptionBuilder;
+import com.microsoft.kiota.ResponseHeaders;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryAfterTest {
+
+    @Test
+    void given_Seconds_It_Parses_The_Delay() {
+        assertEquals(Duration.ofSeconds(30), RetryAfter.parse(" 30 "));
+    }
+    @Test
+    void given_Http_Date_It_Parses_The_Delay() {
+        String date = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusMinutes(2));
+        Duration delay = RetryAfter.parse(date);
+        assertNotNull(delay);
+        assertTrue(delay.getSeconds() > 60 && delay.getSeconds() <= 120);
+    }
+    @Test
+    void given_Invalid_Value_It_Returns_Null() {
+        assertNull(RetryAfter.parse("soon"));
+        assertNull(RetryAfter.parse(null));
+    }
+    @Test
+    void given_ApiException_It_Reads_The_Header() {
+        ResponseHeaders headers = new ResponseHeaders();
+        headers.add("retry-after", "5");
+        assertEquals(Duration.ofSeconds(5), RetryAfter.fromException(new ApiExceptionBuilder().withResponseStatusCode(429).withResponseHeaders(headers).build()));
+        assertNull(RetryAfter.fromException(new ApiExceptionBuilder().withResponseStatusCode(429).build()));
+        assertTrue(RetryAfter.isRetryable(429));
+        assertFalse(RetryAfter.isRetryable(404));
+    }
+}
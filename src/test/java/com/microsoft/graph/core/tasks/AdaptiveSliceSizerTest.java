@@ -0,0 +1,51 @@
+package com.microsoft.graph.core.tasks;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AdaptiveSliceSizerTest {
+
+    private static final long INCREMENT = AdaptiveSliceSizer.SLICE_SIZE_INCREMENT;
+
+    @Test
+    void roundsTheInitialSliceSizeToTheAllowedBounds() {
+        assertEquals(16 * INCREMENT, new AdaptiveSliceSizer(5 * 1024 * 1024, Duration.ofSeconds(5)).getSliceSize());
+        assertEquals(INCREMENT, new AdaptiveSliceSizer(1, Duration.ofSeconds(5)).getSliceSize());
+        assertEquals(AdaptiveSliceSizer.MAX_SLICE_SIZE, new AdaptiveSliceSizer(Long.MAX_VALUE, Duration.ofSeconds(5)).getSliceSize());
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveSliceSizer(INCREMENT, Duration.ZERO));
+    }
+    @Test
+    void growsAtMostTwiceOnFastSlicesUpToTheMaximum() {
+        AdaptiveSliceSizer sizer = new AdaptiveSliceSizer(INCREMENT, Duration.ofSeconds(5));
+        sizer.recordSlice(INCREMENT, Duration.ofMillis(10));
+        assertEquals(2 * INCREMENT, sizer.getSliceSize());
+        for (int i = 0; i < 20; i++) {
+            sizer.recordSlice(sizer.getSliceSize(), Duration.ofMillis(10));
+        }
+        assertEquals(AdaptiveSliceSizer.MAX_SLICE_SIZE, sizer.getSliceSize());
+    }
+    @Test
+    void shrinksTowardsTheTargetDurationOnSlowSlices() {
+        AdaptiveSliceSizer sizer = new AdaptiveSliceSizer(64 * INCREMENT, Duration.ofSeconds(5));
+        // 1 increment per second, the target is 5 increments per slice
+        for (int i = 0; i < 20; i++) {
+            long sliceSize = sizer.getSliceSize();
+            sizer.recordSlice(sliceSize, Duration.ofMillis(1000 * sliceSize / INCREMENT));
+        }
+        assertEquals(5 * INCREMENT, sizer.getSliceSize());
+    }
+    @Test
+    void halvesTheSliceSizeOnFailure() {
+        AdaptiveSliceSizer sizer = new AdaptiveSliceSizer(16 * INCREMENT, Duration.ofSeconds(5));
+        sizer.recordFailure();
+        assertEquals(8 * INCREMENT, sizer.getSliceSize());
+        for (int i = 0; i < 10; i++) {
+            sizer.recordFailure();
+        }
+        assertEquals(INCREMENT, sizer.getSliceSize());
+    }
+}
@@ -0,0 +1,141 @@
+package com.microsoft.graph.core.tasks;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.microsoft.graph.core.BaseClient;
+import com.microsoft.graph.core.CoreConstants;
+import com.microsoft.graph.core.content.BatchRequestContentCollection;
+import com.microsoft.graph.core.content.BatchResponseContentCollection;
+import com.microsoft.graph.core.models.BatchRequestStep;
+import com.microsoft.kiota.authentication.AuthenticationProvider;
+import com.microsoft.kiota.http.OkHttpRequestAdapter;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import org.junit.jupiter.api.Test;
+
+import java.net.HttpURLConnection;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+class BatchRequestExecutorTest {
+    private final Request request = new Request.Builder().url("https://graph.microsoft.com/v1.0/me").build();
+    private final AtomicInteger postedBatches = new AtomicInteger();
+    private final Map<String, AtomicInteger> stepAttempts = new ConcurrentHashMap<>();
+
+    @Test
+    void retriesThrottledStepsAndTheirDependentsInOneBatch() throws Exception {
+        BaseClient client = createClient((id, attempt) -> {
+            if(attempt == 1 && id.equals("A")) {
+                return throttledResponse();
+            }
+            if(attempt == 1 && id.equals("C")) {
+                return "\"status\":503";
+            }
+            return "\"status\":200";
+        });
+        BatchRequestContentCollection collection = new BatchRequestContentCollection(client);
+        collection.addBatchRequestStep(new BatchRequestStep("A", request));
+        collection.addBatchRequestStep(new BatchRequestStep("B", request, Collections.singletonList("A")));
+        collection.addBatchRequestStep(new BatchRequestStep("C", request));
+        collection.addBatchRequestStep(new BatchRequestStep("D", request));
+
+        BatchResponseContentCollection responses = new BatchRequestExecutor.Builder(client).initialBackoff(Duration.ZERO).build().execute(collection, null);
+
+        assertEquals(2, postedBatches.get());
+        for (String id : Arrays.asList("A", "B", "C", "D")) {
+            assertEquals(HttpURLConnection.HTTP_OK, responses.getResponseById(id).code());
+            assertEquals(HttpURLConnection.HTTP_OK, responses.getResponsesStatusCodes().get(id));
+        }
+        assertEquals(1, stepAttempts.get("D").get());
+        assertEquals(2, stepAttempts.get("B").get());
+    }
+    @Test
+    void keepsLastResponseOnceStepWasAttemptedMaxAttemptsTimes() throws Exception {
+        BaseClient client = createClient((id, attempt) -> id.equals("A") ? throttledResponse() : "\"status\":200");
+        BatchRequestContentCollection collection = new BatchRequestContentCollection(client);
+        collection.addBatchRequestStep(new BatchRequestStep("A", request));
+        collection.addBatchRequestStep(new BatchRequestStep("B", request, Collections.singletonList("A")));
+
+        BatchResponseContentCollection responses = new BatchRequestExecutor.Builder(client).maxAttempts(2).build().execute(collection, null);
+
+        assertEquals(2, postedBatches.get());
+        assertEquals(429, responses.getResponseById("A").code());
+        assertEquals(424, responses.getResponseById("B").code());
+    }
+    @Test
+    void answersStepsOfLaterWavesDependingOnFailedStepsWithoutPostingThem() throws Exception {
+        BaseClient client = createClient((id, attempt) -> id.equals("A") ? "\"status\":404" : "\"status\":200");
+        BatchRequestContentCollection collection = new BatchRequestContentCollection(client, 2);
+        collection.addBatchRequestStep(new BatchRequestStep("A", request));
+        collection.addBatchRequestStep(new BatchRequestStep("B", request, Collections.singletonList("A")));
+        collection.addBatchRequestStep(new BatchRequestStep("C", request, Collections.singletonList("B")));
+
+        BatchResponseContentCollection responses = new BatchRequestExecutor.Builder(client).batchRequestLimit(2).build().execute(collection, null);
+
+        assertEquals(1, postedBatches.get());
+        assertEquals(HttpURLConnection.HTTP_NOT_FOUND, responses.getResponseById("A").code());
+        assertEquals(424, responses.getResponseById("B").code());
+        assertEquals(424, responses.getResponseById("C").code());
+        assertNull(stepAttempts.get("C"));
+    }
+    private static String throttledResponse() {
+        return "\"status\":429,\"headers\":{\"Retry-After\":\"0\"}";
+    }
+    /**
+     * Creates a client answering each step with the status returned for its id and attempt, and with 424 when a step it depends on failed within the batch.
+     */
+    private BaseClient createClient(BiFunction<String, Integer, String> stepResponses) {
+        OkHttpClient httpClient = new OkHttpClient.Builder().addInterceptor(chain -> {
+            postedBatches.incrementAndGet();
+            Buffer requestBody = new Buffer();
+            Objects.requireNonNull(chain.request().body()).writeTo(requestBody);
+            Set<String> failedIds = new HashSet<>();
+            StringBuilder responses = new StringBuilder();
+            for (JsonElement element : JsonParser.parseString(requestBody.readUtf8()).getAsJsonObject().getAsJsonArray(CoreConstants.BatchRequest.REQUESTS)) {
+                JsonObject step = element.getAsJsonObject();
+                String id = step.get(CoreConstants.BatchRequest.ID).getAsString();
+                int attempt = stepAttempts.computeIfAbsent(id, key -> new AtomicInteger()).incrementAndGet();
+                String stepResponse = stepResponses.apply(id, attempt);
+                if(step.has(CoreConstants.BatchRequest.DEPENDS_ON)) {
+                    for (JsonElement dependency : step.getAsJsonArray(CoreConstants.BatchRequest.DEPENDS_ON)) {
+                        if(failedIds.contains(dependency.getAsString())) {
+                            stepResponse = "\"status\":424";
+                        }
+                    }
+                }
+                if(!stepResponse.startsWith("\"status\":2")) {
+                    failedIds.add(id);
+                }
+                responses.append(responses.length() == 0 ? "" : ",").append("{\"id\":\"").append(id).append("\",").append(stepResponse).append("}");
+            }
+            return new Response.Builder()
+                .request(chain.request())
+                .protocol(Protocol.HTTP_1_1)
+                .code(HttpURLConnection.HTTP_OK)
+                .message("OK")
+                .body(ResponseBody.create("{\"responses\":[" + responses + "]}", MediaType.get(CoreConstants.MimeTypeNames.APPLICATION_JSON)))
+                .build();
+        }).build();
+        OkHttpRequestAdapter requestAdapter = new OkHttpRequestAdapter(mock(AuthenticationProvider.class), null, null, httpClient);
+        requestAdapter.setBaseUrl("https://graph.microsoft.com/v1.0");
+        return new BaseClient(requestAdapter);
+    }
+}
@@ -0,0 +1,146 @@
+package com.microsoft.graph.core.tasks;
+
+import com.microsoft.graph.core.CoreConstants;
+import com.microsoft.graph.core.testModels.TestEventItem;
+import com.microsoft.graph.core.testModels.TestEventsDeltaResponse;
+import com.microsoft.kiota.ApiExceptionBuilder;
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.authentication.AuthenticationProvider;
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParsableFactory;
+import org.junit.jupiter.api.Test;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class DeltaSyncEngineTest {
+
+    @Test
+    void given_Delta_Rounds_It_Applies_Changes_Incrementally() throws ReflectiveOperationException {
+        MockPagedAdapter mockAdapter = new MockPagedAdapter(mock(AuthenticationProvider.class));
+        mockAdapter.pages.put("http://localhost/events/delta?$skiptoken=1", createDeltaPage(null, "http://localhost/events/delta?$deltatoken=1", "2"));
+        mockAdapter.pages.put("http://localhost/events/delta?$deltatoken=1", createDeltaPage(null, "http://localhost/events/delta?$deltatoken=2", "3", "-1"));
+        Map<String, TestEventItem> mirror = new ConcurrentHashMap<>();
+        List<DeltaSyncRoundMetrics> reportedMetrics = new ArrayList<>();
+
+        DeltaSyncEngine<TestEventItem, TestEventsDeltaResponse> engine = new DeltaSyncEngine.Builder<TestEventItem, TestEventsDeltaResponse>()
+            .requestAdapter(mockAdapter)
+            .collectionPageFactory(TestEventsDeltaResponse::createFromDiscriminatorValue)
+            .stateStore(new InMemoryPageIteratorCheckpointStore())
+            .initialPage(() -> createDeltaPage("http://localhost/events/delta?$skiptoken=1", null, "0", "1"))
+            .onChanged(item -> mirror.put(item.getSubject(), item))
+            .onRemoved(item -> mirror.remove(item.getSubject()))
+            .metricsListener(reportedMetrics::add)
+            .build();
+
+        DeltaSyncRoundMetrics firstRound = engine.runRound();
+
+        assertTrue(firstRound.isSuccessful());
+        assertTrue(firstRound.isFullSync());
+        assertFalse(firstRound.isDeltaLinkExpired());
+        assertEquals(3, firstRound.getChangedCount());
+        assertEquals(2, firstRound.getRequestCount());
+        assertEquals(3, mirror.size());
+        assertEquals("http://localhost/events/delta?$deltatoken=1", engine.getDeltaLink());
+
+        DeltaSyncRoundMetrics secondRound = engine.runRound();
+
+        assertFalse(secondRound.isFullSync());
+        assertEquals(2, secondRound.getRound());
+        assertEquals(1, secondRound.getChangedCount());
+        assertEquals(1, secondRound.getRemovedCount());
+        assertEquals(1, secondRound.getRequestCount());
+        assertEquals(3, mirror.size());
+        assertFalse(mirror.containsKey("1"));
+        assertEquals("http://localhost/events/delta?$deltatoken=2", engine.getDeltaLink());
+        assertEquals(2, reportedMetrics.size());
+        assertEquals(1, mockAdapter.requestCount("http://localhost/events/delta?$skiptoken=1"));
+    }
+    @Test
+    void given_Expired_DeltaLink_It_Enumerates_The_Collection_Again() throws ReflectiveOperationException {
+        MockPagedAdapter mockAdapter = new MockPagedAdapter(mock(AuthenticationProvider.class)) {
+            @Override
+            public <T extends Parsable> T send(@Nonnull RequestInformation request, @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings, @Nonnull ParsableFactory<T> parsableFactory) {
+                if(request.urlTemplate.endsWith("expired")) {
+                    throw new ApiExceptionBuilder().withMessage("Gone").withResponseStatusCode(410).build();
+                }
+                return super.send(request, errorMappings, parsableFactory);
+            }
+        };
+        InMemoryPageIteratorCheckpointStore stateStore = new InMemoryPageIteratorCheckpointStore();
+        stateStore.save(new PageIteratorCheckpoint(null, 0, "", "http://localhost/events/delta?$deltatoken=expired", PageIterator.PageIteratorState.DELTA));
+        List<String> changed = new ArrayList<>();
+        AtomicBoolean expiredHandlerCalled = new AtomicBoolean(false);
+
+        DeltaSyncEngine<TestEventItem, TestEventsDeltaResponse> engine = new DeltaSyncEngine.Builder<TestEventItem, TestEventsDeltaResponse>()
+            .requestAdapter(mockAdapter)
+            .collectionPageFactory(TestEventsDeltaResponse::createFromDiscriminatorValue)
+            .stateStore(stateStore)
+            .initialPage(() -> createDeltaPage(null, "http://localhost/events/delta?$deltatoken=1", "0", "1"))
+            .onChanged(item -> changed.add(item.getSubject()))
+            .onRemoved(item -> fail("No item was removed"))
+            .onDeltaLinkExpired(() -> {
+                assertTrue(changed.isEmpty());
+                expiredHandlerCalled.set(true);
+            })
+            .build();
+
+        DeltaSyncRoundMetrics round = engine.runRound();
+
+        assertTrue(expiredHandlerCalled.get());
+        assertTrue(round.isFullSync());
+        assertTrue(round.isDeltaLinkExpired());
+        assertEquals(2, round.getChangedCount());
+        assertEquals(2, changed.size());
+        assertEquals("http://localhost/events/delta?$deltatoken=1", engine.getDeltaLink());
+    }
+    @Test
+    void given_No_State_Store_Or_Metrics_Listener_It_Surfaces_The_Missing_Option() {
+        DeltaSyncEngine.Builder<TestEventItem, TestEventsDeltaResponse> builder = new DeltaSyncEngine.Builder<TestEventItem, TestEventsDeltaResponse>()
+            .requestAdapter(new MockPagedAdapter(mock(AuthenticationProvider.class)))
+            .collectionPageFactory(TestEventsDeltaResponse::createFromDiscriminatorValue)
+            .initialPage(() -> createDeltaPage(null, "http://localhost/events/delta?$deltatoken=1", "0"))
+            .onChanged(item -> {})
+            .onRemoved(item -> {});
+
+        assertThrows(NullPointerException.class, builder::build);
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try (DeltaSyncEngine<TestEventItem, TestEventsDeltaResponse> engine = builder.stateStore(new InMemoryPageIteratorCheckpointStore()).build()) {
+            assertThrows(IllegalStateException.class, () -> engine.start(scheduler, 1, TimeUnit.MINUTES));
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+    private static TestEventsDeltaResponse createDeltaPage(String nextLink, String deltaLink, String... subjects) {
+        TestEventsDeltaResponse page = new TestEventsDeltaResponse();
+        page.setValue(new LinkedList<>());
+        page.setOdataNextLink(nextLink);
+        page.setOdataDeltaLink(deltaLink);
+        for(String subject : subjects) {
+            TestEventItem testEventItem = new TestEventItem();
+            if(subject.startsWith("-")) {
+                testEventItem.setSubject(subject.substring(1));
+                testEventItem.setAdditionalData(new HashMap<>());
+                testEventItem.getAdditionalData().put(CoreConstants.OdataInstanceAnnotations.REMOVED, new HashMap<>());
+            } else {
+                testEventItem.setSubject(subject);
+            }
+            page.getValue().add(testEventItem);
+        }
+        return page;
+    }
+}
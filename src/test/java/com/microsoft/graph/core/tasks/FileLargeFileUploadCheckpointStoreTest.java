@@ -0,0 +1,68 @@
+package com.microsoft.graph.core.tasks;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileLargeFileUploadCheckpointStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void given_Saved_Checkpoint_It_Is_Loaded() throws IOException {
+        FileLargeFileUploadCheckpointStore checkpointStore = new FileLargeFileUploadCheckpointStore(tempDir.resolve("checkpoint.json"));
+        OffsetDateTime expirationDateTime = OffsetDateTime.parse("2026-11-07T06:39:31.499Z");
+        checkpointStore.save(new LargeFileUploadCheckpoint("http://localhost/upload", expirationDateTime, Collections.singletonList("0-1023"), "/data/backup.bin", 1024, 1700000000000L, null));
+        checkpointStore.save(new LargeFileUploadCheckpoint("http://localhost/upload", expirationDateTime, Arrays.asList("256-511", "768-1023"), "/data/backup.bin", 1024, 1700000000000L, "sha256"));
+
+        LargeFileUploadCheckpoint checkpoint = checkpointStore.load();
+
+        assertNotNull(checkpoint);
+        assertEquals("http://localhost/upload", checkpoint.getUploadUrl());
+        assertEquals(expirationDateTime, checkpoint.getExpirationDateTime());
+        assertEquals(Arrays.asList("256-511", "768-1023"), checkpoint.getNextExpectedRanges());
+        assertEquals("/data/backup.bin", checkpoint.getSourcePath());
+        assertEquals(1024, checkpoint.getSourceSize());
+        assertEquals(1700000000000L, checkpoint.getSourceLastModified());
+        assertEquals("sha256", checkpoint.getSourceId());
+        assertFalse(Files.exists(tempDir.resolve("checkpoint.json.tmp")));
+    }
+    @Test
+    void given_Checkpoint_Of_Stream_It_Is_Loaded_Without_File_Identity() throws IOException {
+        FileLargeFileUploadCheckpointStore checkpointStore = new FileLargeFileUploadCheckpointStore(tempDir.resolve("checkpoint.json"));
+        checkpointStore.save(new LargeFileUploadCheckpoint("http://localhost/upload", null, Collections.singletonList("0-1023"), null, 1024, null, null));
+
+        LargeFileUploadCheckpoint checkpoint = checkpointStore.load();
+
+        assertNotNull(checkpoint);
+        assertNull(checkpoint.getExpirationDateTime());
+        assertNull(checkpoint.getSourcePath());
+        assertNull(checkpoint.getSourceLastModified());
+        assertNull(checkpoint.getSourceId());
+    }
+    @Test
+    void given_No_Saved_Checkpoint_It_Loads_Null() throws IOException {
+        FileLargeFileUploadCheckpointStore checkpointStore = new FileLargeFileUploadCheckpointStore(tempDir.resolve("checkpoint.json"));
+        checkpointStore.save(new LargeFileUploadCheckpoint("http://localhost/upload", null, Collections.singletonList("0-1023"), null, 1024, null, null));
+        checkpointStore.clear();
+
+        assertNull(checkpointStore.load());
+    }
+    @Test
+    void given_Invalid_Checkpoint_File_Will_Throw_IOException() throws IOException {
+        Path path = tempDir.resolve("checkpoint.json");
+        Files.write(path, "{\"uploadUrl\":\"http://localhost/upload\"}".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IOException.class, () -> new FileLargeFileUploadCheckpointStore(path).load());
+    }
+}
@@ -0,0 +1,49 @@
+package com.microsoft.graph.core.tasks;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilePageIteratorCheckpointStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void given_Saved_Checkpoint_It_Is_Loaded() throws IOException {
+        FilePageIteratorCheckpointStore checkpointStore = new FilePageIteratorCheckpointStore(tempDir.resolve("checkpoint.json"));
+        checkpointStore.save(new PageIteratorCheckpoint("http://localhost/events?$skip=5", 1, "", null, PageIterator.PageIteratorState.PAUSED));
+        checkpointStore.save(new PageIteratorCheckpoint("http://localhost/events?$skip=5", 3, "http://localhost/events?$skip=10", null, PageIterator.PageIteratorState.PAUSED));
+
+        PageIteratorCheckpoint checkpoint = checkpointStore.load();
+
+        assertNotNull(checkpoint);
+        assertEquals("http://localhost/events?$skip=5", checkpoint.getPageLink());
+        assertEquals(3, checkpoint.getPageItemIndex());
+        assertEquals("http://localhost/events?$skip=10", checkpoint.getNextLink());
+        assertNull(checkpoint.getDeltaLink());
+        assertEquals(PageIterator.PageIteratorState.PAUSED, checkpoint.getState());
+        assertFalse(Files.exists(tempDir.resolve("checkpoint.json.tmp")));
+    }
+    @Test
+    void given_No_Saved_Checkpoint_It_Loads_Null() throws IOException {
+        FilePageIteratorCheckpointStore checkpointStore = new FilePageIteratorCheckpointStore(tempDir.resolve("checkpoint.json"));
+        checkpointStore.save(new PageIteratorCheckpoint(null, 0, null, "http://localhost/events?$deltatoken=1", PageIterator.PageIteratorState.DELTA));
+        checkpointStore.clear();
+
+        assertNull(checkpointStore.load());
+    }
+    @Test
+    void given_Invalid_Checkpoint_File_Will_Throw_IOException() throws IOException {
+        Path path = tempDir.resolve("checkpoint.json");
+        Files.write(path, "{\"pageLink\":null}".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IOException.class, () -> new FilePageIteratorCheckpointStore(path).load());
+    }
+}
@@ -0,0 +1,216 @@
+package com.microsoft.graph.core.tasks;
+
+import com.microsoft.graph.core.CoreConstants;
+import com.microsoft.graph.core.requests.RetryAfter;
+import com.microsoft.kiota.ApiException;
+import com.microsoft.kiota.authentication.AuthenticationProvider;
+import com.microsoft.kiota.http.OkHttpRequestAdapter;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Okio;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class LargeFileDownloadTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void downloadsRangesConcurrentlyAndRetriesThrottledRange() throws Exception {
+        byte[] data = createData(1000000);
+        AtomicInteger throttledRanges = new AtomicInteger();
+        List<String> requestedRanges = Collections.synchronizedList(new ArrayList<>());
+        OkHttpRequestAdapter requestAdapter = createAdapter(chain -> {
+            String range = chain.request().header("Range");
+            requestedRanges.add(range);
+            if ("bytes=300000-599999".equals(range) && throttledRanges.getAndIncrement() == 0) {
+                return new Response.Builder()
+                    .request(chain.request())
+                    .protocol(Protocol.HTTP_1_1)
+                    .message("Too Many Requests")
+                    .code(RetryAfter.TOO_MANY_REQUESTS)
+                    .header(CoreConstants.Headers.RETRY_AFTER, "0")
+                    .body(ResponseBody.create("", MediaType.parse("text/plain")))
+                    .build();
+            }
+            return rangeResponse(chain, data, range);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        LargeFileDownloadOptions options = new LargeFileDownloadOptions();
+        options.setMaxConcurrentRanges(3);
+        options.setExecutor(executor);
+        Path destination = tempDir.resolve("download.bin");
+        List<Long> progress = Collections.synchronizedList(new ArrayList<>());
+
+        try {
+            LargeFileDownloadTask task = new LargeFileDownloadTask(requestAdapter, "http://localhost/content", destination, data.length, 300000, options);
+            task.download((current, max) -> progress.add(current));
+            assertEquals(data.length, task.getDownloadedBytes());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertArrayEquals(data, Files.readAllBytes(destination));
+        assertEquals(5, requestedRanges.size());
+        assertEquals(2, Collections.frequency(requestedRanges, "bytes=300000-599999"));
+        assertEquals((long) data.length, Collections.max(progress));
+        assertFalse(Files.exists(tempDir.resolve("download.bin.ranges")));
+    }
+    @Test
+    void resumesFromRecordedRangesOfPartialFile() throws Exception {
+        byte[] data = createData(1000);
+        Path destination = tempDir.resolve("download.bin");
+        byte[] partial = new byte[data.length];
+        System.arraycopy(data, 0, partial, 0, 400);
+        System.arraycopy(data, 600, partial, 600, 200);
+        Files.write(destination, partial);
+        Files.write(tempDir.resolve("download.bin.ranges"), Arrays.asList("1000", "0-399", "600-799"), StandardCharsets.UTF_8);
+        List<String> requestedRanges = new ArrayList<>();
+        OkHttpRequestAdapter requestAdapter = createAdapter(chain -> {
+            String range = chain.request().header("Range");
+            requestedRanges.add(range);
+            return rangeResponse(chain, data, range);
+        });
+        LargeFileDownloadOptions options = new LargeFileDownloadOptions();
+        options.setMaxConcurrentRanges(1);
+
+        LargeFileDownloadTask task = new LargeFileDownloadTask(requestAdapter, "http://localhost/content", destination, data.length, 100, options);
+        task.download();
+
+        assertEquals(Arrays.asList("bytes=400-499", "bytes=500-599", "bytes=800-899", "bytes=900-999"), requestedRanges);
+        assertArrayEquals(data, Files.readAllBytes(destination));
+        assertFalse(Files.exists(tempDir.resolve("download.bin.ranges")));
+    }
+    @Test
+    void recordsCompletedRangesWhenRangeFails() throws Exception {
+        byte[] data = createData(1000);
+        Path destination = tempDir.resolve("download.bin");
+        OkHttpRequestAdapter requestAdapter = createAdapter(chain -> {
+            String range = chain.request().header("Range");
+            if ("bytes=500-999".equals(range)) {
+                return new Response.Builder()
+                    .request(chain.request())
+                    .protocol(Protocol.HTTP_1_1)
+                    .message("Forbidden")
+                    .code(HttpURLConnection.HTTP_FORBIDDEN)
+                    .body(ResponseBody.create("", MediaType.parse("text/plain")))
+                    .build();
+            }
+            return rangeResponse(chain, data, range);
+        });
+        LargeFileDownloadOptions options = new LargeFileDownloadOptions();
+        options.setMaxConcurrentRanges(1);
+
+        LargeFileDownloadTask task = new LargeFileDownloadTask(requestAdapter, "http://localhost/content", destination, data.length, 500, options);
+        ApiException exception = assertThrows(ApiException.class, task::download);
+
+        assertEquals(HttpURLConnection.HTTP_FORBIDDEN, exception.getResponseStatusCode());
+        assertEquals(Arrays.asList("1000", "0-499"), Files.readAllLines(tempDir.resolve("download.bin.ranges"), StandardCharsets.UTF_8));
+    }
+    @Test
+    void stopsRetryingRangesOnceAnotherRangeFailed() throws Exception {
+        byte[] data = createData(1000);
+        CountDownLatch downloadFailed = new CountDownLatch(1);
+        List<String> requestedRanges = Collections.synchronizedList(new ArrayList<>());
+        OkHttpRequestAdapter requestAdapter = createAdapter(chain -> {
+            String range = chain.request().header("Range");
+            requestedRanges.add(range);
+            if ("bytes=0-499".equals(range)) {
+                return new Response.Builder()
+                    .request(chain.request())
+                    .protocol(Protocol.HTTP_1_1)
+                    .message("Forbidden")
+                    .code(HttpURLConnection.HTTP_FORBIDDEN)
+                    .body(ResponseBody.create("", MediaType.parse("text/plain")))
+                    .build();
+            }
+            // the connection of the other range drops once the download failed
+            InputStream droppedContent = new InputStream() {
+                @Override
+                public int read() throws IOException {
+                    try {
+                        downloadFailed.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    throw new IOException("connection reset");
+                }
+            };
+            return new Response.Builder()
+                .request(chain.request())
+                .protocol(Protocol.HTTP_1_1)
+                .message("Partial Content")
+                .code(HttpURLConnection.HTTP_PARTIAL)
+                .header("Content-Range", "bytes 500-999/" + data.length)
+                .body(ResponseBody.create(Okio.buffer(Okio.source(droppedContent)), MediaType.parse("application/octet-stream"), 500))
+                .build();
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        LargeFileDownloadOptions options = new LargeFileDownloadOptions();
+        options.setMaxConcurrentRanges(2);
+        options.setExecutor(executor);
+        options.setInitialBackoff(Duration.ofMinutes(1));
+
+        try {
+            LargeFileDownloadTask task = new LargeFileDownloadTask(requestAdapter, "http://localhost/content", tempDir.resolve("download.bin"), data.length, 500, options);
+            ApiException exception = assertThrows(ApiException.class, task::download);
+            assertEquals(HttpURLConnection.HTTP_FORBIDDEN, exception.getResponseStatusCode());
+            downloadFailed.countDown();
+
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, Collections.frequency(requestedRanges, "bytes=500-999"));
+    }
+    private static OkHttpRequestAdapter createAdapter(Interceptor interceptor) {
+        OkHttpClient client = new OkHttpClient.Builder().addInterceptor(interceptor).build();
+        return new OkHttpRequestAdapter(mock(AuthenticationProvider.class), null, null, client);
+    }
+    private static Response rangeResponse(Interceptor.Chain chain, byte[] data, String range) {
+        String[] specifiers = range.substring("bytes=".length()).split("-");
+        int rangeBegin = Integer.parseInt(specifiers[0]);
+        int rangeEnd = Integer.parseInt(specifiers[1]);
+        return new Response.Builder()
+            .request(chain.request())
+            .protocol(Protocol.HTTP_1_1)
+            .message("Partial Content")
+            .code(HttpURLConnection.HTTP_PARTIAL)
+            .header("Content-Range", "bytes " + rangeBegin + "-" + rangeEnd + "/" + data.length)
+            .body(ResponseBody.create(Arrays.copyOfRange(data, rangeBegin, rangeEnd + 1), MediaType.parse("application/octet-stream")))
+            .build();
+    }
+    private static byte[] createData(int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (i % 251);
+        }
+        return data;
+    }
+}
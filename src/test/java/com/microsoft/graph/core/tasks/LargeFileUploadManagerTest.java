@@ -0,0 +1,125 @@
+package com.microsoft.graph.core.tasks;
+
+import com.microsoft.graph.core.CoreConstants;
+import com.microsoft.graph.core.models.UploadResult;
+import com.microsoft.graph.core.models.UploadSession;
+import com.microsoft.graph.core.testModels.TestDriveItem;
+import com.microsoft.kiota.authentication.AuthenticationProvider;
+import com.microsoft.kiota.http.OkHttpRequestAdapter;
+import com.microsoft.kiota.serialization.JsonParseNodeFactory;
+import com.microsoft.kiota.serialization.ParseNodeFactoryRegistry;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class LargeFileUploadManagerTest {
+
+    @Test
+    void given_Queued_Uploads_Smallest_File_Is_Uploaded_First() throws Exception {
+        ParseNodeFactoryRegistry.defaultInstance.contentTypeAssociatedFactories.put(CoreConstants.MimeTypeNames.APPLICATION_JSON, new JsonParseNodeFactory());
+        List<Long> uploadedFileSizes = Collections.synchronizedList(new ArrayList<>());
+        OkHttpClient client = new OkHttpClient.Builder().addInterceptor(chain -> {
+            String contentRange = chain.request().header("Content-Range");
+            long fileSize = Long.parseLong(contentRange.substring(contentRange.indexOf('/') + 1));
+            long rangeEnd = Long.parseLong(contentRange.substring("bytes ".length(), contentRange.indexOf('/')).split("-")[1]);
+            uploadedFileSizes.add(fileSize);
+            boolean lastSlice = rangeEnd == fileSize - 1;
+            return new Response.Builder()
+                .request(chain.request())
+                .protocol(Protocol.HTTP_1_1)
+                .message("OK")
+                .code(lastSlice ? HttpURLConnection.HTTP_CREATED : HttpURLConnection.HTTP_ACCEPTED)
+                .body(ResponseBody.create(lastSlice ? "{\"id\":\"item\"}" : "{\"nextExpectedRanges\":[\"" + (rangeEnd + 1) + "-\"]}",
+                    MediaType.parse(CoreConstants.MimeTypeNames.APPLICATION_JSON)))
+                .build();
+        }).build();
+        OkHttpRequestAdapter requestAdapter = new OkHttpRequestAdapter(mock(AuthenticationProvider.class), null, null, client);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                started.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        List<Long> progress = Collections.synchronizedList(new ArrayList<>());
+
+        try (LargeFileUploadManager manager = new LargeFileUploadManager.Builder().maxConcurrentSlices(1).executor(executor).build()) {
+            CompletableFuture<UploadResult<TestDriveItem>> largeUpload = manager.submit(createTask(requestAdapter, 3000));
+            CompletableFuture<UploadResult<TestDriveItem>> mediumUpload = manager.submit(createTask(requestAdapter, 2000));
+            CompletableFuture<UploadResult<TestDriveItem>> smallUpload = manager.submit(createTask(requestAdapter, 1000), 1, (current, max) -> progress.add(current));
+            assertEquals(3, manager.getActiveUploadCount());
+            started.countDown();
+
+            CompletableFuture.allOf(largeUpload, mediumUpload, smallUpload).get(10, TimeUnit.SECONDS);
+
+            assertTrue(smallUpload.get().isUploadSuccessful());
+            assertTrue(mediumUpload.get().isUploadSuccessful());
+            assertTrue(largeUpload.get().isUploadSuccessful());
+            assertEquals(0, manager.getActiveUploadCount());
+            assertEquals(6000, manager.getUploadedBytes());
+            assertTrue(manager.getThroughput() > 0);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(Arrays.asList(1000L, 2000L, 2000L, 3000L, 3000L, 3000L), uploadedFileSizes);
+        assertEquals(Collections.singletonList(1000L), progress);
+    }
+    @Test
+    void given_Rejecting_Executor_Upload_Fails_Without_Running_The_Step() throws Exception {
+        AtomicInteger requests = new AtomicInteger();
+        OkHttpClient client = new OkHttpClient.Builder().addInterceptor(chain -> {
+            requests.incrementAndGet();
+            throw new IOException("unexpected slice request");
+        }).build();
+        OkHttpRequestAdapter requestAdapter = new OkHttpRequestAdapter(mock(AuthenticationProvider.class), null, null, client);
+
+        try (LargeFileUploadManager manager = new LargeFileUploadManager.Builder().executor(command -> {
+            throw new RejectedExecutionException("executor is shut down");
+        }).build()) {
+            CompletableFuture<UploadResult<TestDriveItem>> upload = manager.submit(createTask(requestAdapter, 1000));
+
+            ExecutionException exception = assertThrows(ExecutionException.class, () -> upload.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+            assertEquals(0, manager.getInFlightSliceCount());
+            assertEquals(0, manager.getActiveUploadCount());
+        }
+        assertEquals(0, requests.get());
+    }
+    @Test
+    void given_Negative_Byte_Rate_Builder_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new LargeFileUploadManager.Builder().maxBytesPerSecond(-1));
+        assertThrows(IllegalArgumentException.class, () -> new LargeFileUploadManager.Builder().maxConcurrentSlices(0));
+    }
+    private static LargeFileUploadTask<TestDriveItem> createTask(OkHttpRequestAdapter requestAdapter, int size) throws Exception {
+        UploadSession session = new UploadSession();
+        session.setNextExpectedRanges(Arrays.asList("0-"));
+        session.setUploadUrl("http://localhost/" + size);
+        session.setExpirationDateTime(OffsetDateTime.now().plusHours(1));
+        return new LargeFileUploadTask<>(requestAdapter, session, new ByteArrayInputStream(new byte[size]), size, 1000, TestDriveItem::createFromDiscriminatorValue);
+    }
+}
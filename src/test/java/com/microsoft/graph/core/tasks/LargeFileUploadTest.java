@@ -3,24 +3,56 @@ package com.microsoft.graph.core.tasks;
 import com.microsoft.graph.core.requests.upload.UploadSliceRequestBuilder;
 import com.microsoft.graph.core.testModels.TestDriveItem;
 import com.microsoft.graph.core.models.UploadSession;
+import com.microsoft.kiota.ApiException;
 import com.microsoft.kiota.authentication.AuthenticationProvider;
 import com.microsoft.kiota.http.OkHttpRequestAdapter;
+import com.microsoft.kiota.serialization.JsonParseNodeFactory;
+import com.microsoft.kiota.serialization.ParseNodeFactoryRegistry;
+import com.microsoft.graph.core.CoreConstants;
+import com.microsoft.graph.core.requests.RetryAfter;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.ArgumentMatchers.any;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import org.mockito.ArgumentCaptor;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
+import java.net.HttpURLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.mockito.internal.matchers.Any;
 
@@ -170,4 +202,530 @@ class LargeFileUploadTest {
             assertEquals(data[i], capturedBytes[i], "Byte at position " + i + " should match original data");
         }
     }
+    @Test
+    void uploadsSlicesConcurrentlyAndCompletesWithLastSlice() throws Exception {
+        UploadSession session = new UploadSession();
+        session.setNextExpectedRanges(Arrays.asList("0-"));
+        session.setUploadUrl("http://localhost");
+        session.setExpirationDateTime(OffsetDateTime.now().plusHours(1));
+
+        byte[] data = new byte[1000000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte)(i % 251);
+        }
+        ByteArrayInputStream stream = new ByteArrayInputStream(data);
+        int size = stream.available();
+        LargeFileUploadOptions options = new LargeFileUploadOptions();
+        options.setMaxConcurrentSlices(3);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        options.setExecutor(executor);
+
+        LargeFileUploadTask<TestDriveItem> realTask = new LargeFileUploadTask<>(adapter, session, stream, size, 200*1024, TestDriveItem::createFromDiscriminatorValue);
+        List<UploadSliceRequestBuilder<TestDriveItem>> realBuilders = realTask.getUploadSliceRequests();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        AtomicInteger completedSlices = new AtomicInteger();
+        ArrayList<UploadSliceRequestBuilder<TestDriveItem>> spyBuilders = new ArrayList<>();
+        for (UploadSliceRequestBuilder<TestDriveItem> builder : realBuilders) {
+            UploadSliceRequestBuilder<TestDriveItem> spyBuilder = spy(builder);
+            boolean lastSlice = builder.getRangeEnd() == size - 1;
+            doAnswer(invocation -> {
+                InputStream sliceStream = invocation.getArgument(0);
+                byte[] sliceBytes = new byte[(int) builder.getRangeLength() + 1];
+                assertEquals(builder.getRangeLength(), sliceStream.read(sliceBytes));
+                assertEquals(data[(int) builder.getRangeBegin()], sliceBytes[0]);
+                UploadResult<TestDriveItem> result = new UploadResult<>();
+                if (lastSlice) {
+                    assertEquals(realBuilders.size() - 1, completedSlices.get());
+                    result.itemResponse = new TestDriveItem();
+                    return result;
+                }
+                result.uploadSession = new UploadSession();
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                Thread.sleep(20);
+                inFlight.decrementAndGet();
+                completedSlices.incrementAndGet();
+                return result;
+            }).when(spyBuilder).put(any(InputStream.class));
+            spyBuilders.add(spyBuilder);
+        }
+        LargeFileUploadTask<TestDriveItem> task = new LargeFileUploadTask<>(adapter, session, stream, size, 200*1024, TestDriveItem::createFromDiscriminatorValue, options) {
+            @Override
+            protected java.util.List<UploadSliceRequestBuilder<TestDriveItem>> getUploadSliceRequests() {
+                return spyBuilders;
+            }
+        };
+        ArrayList<Long> progress = new ArrayList<>();
+
+        try {
+            UploadResult<TestDriveItem> result = task.upload(1, (current, max) -> progress.add(current));
+            assertTrue(result.isUploadSuccessful());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(maxInFlight.get() <= 3);
+        assertEquals(5, progress.size());
+        assertEquals((long) size, progress.get(4));
+    }
+    @Test
+    void waitsForSlicesInFlightWhenAConcurrentSliceFails() throws Exception {
+        UploadSession session = new UploadSession();
+        session.setNextExpectedRanges(Arrays.asList("0-"));
+        session.setUploadUrl("http://localhost");
+        session.setExpirationDateTime(OffsetDateTime.now().plusHours(1));
+
+        ByteArrayInputStream stream = new ByteArrayInputStream(new byte[1000000]);
+        int size = stream.available();
+        LargeFileUploadOptions options = new LargeFileUploadOptions();
+        options.setMaxConcurrentSlices(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        options.setExecutor(executor);
+
+        LargeFileUploadTask<TestDriveItem> realTask = new LargeFileUploadTask<>(adapter, session, stream, size, 200*1024, TestDriveItem::createFromDiscriminatorValue);
+        List<UploadSliceRequestBuilder<TestDriveItem>> realBuilders = realTask.getUploadSliceRequests();
+        AtomicBoolean secondSliceFinished = new AtomicBoolean();
+        ArrayList<UploadSliceRequestBuilder<TestDriveItem>> spyBuilders = new ArrayList<>();
+        for (UploadSliceRequestBuilder<TestDriveItem> builder : realBuilders) {
+            UploadSliceRequestBuilder<TestDriveItem> spyBuilder = spy(builder);
+            doAnswer(invocation -> {
+                if (builder.getRangeBegin() == 0) {
+                    throw new IllegalStateException("first slice failed");
+                }
+                Thread.sleep(200);
+                secondSliceFinished.set(true);
+                UploadResult<TestDriveItem> result = new UploadResult<>();
+                result.uploadSession = new UploadSession();
+                return result;
+            }).when(spyBuilder).put(any(InputStream.class));
+            spyBuilders.add(spyBuilder);
+        }
+        LargeFileUploadTask<TestDriveItem> task = new LargeFileUploadTask<>(adapter, session, stream, size, 200*1024, TestDriveItem::createFromDiscriminatorValue, options) {
+            @Override
+            protected java.util.List<UploadSliceRequestBuilder<TestDriveItem>> getUploadSliceRequests() {
+                return spyBuilders;
+            }
+        };
+
+        try {
+            assertThrows(IllegalStateException.class, () -> task.upload(1, null));
+            assertTrue(secondSliceFinished.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    @Test
+    void uploadsRemainingRangesOfFileFromTheirOffsets(@TempDir Path tempDir) throws Exception {
+        UploadSession session = new UploadSession();
+        session.setNextExpectedRanges(Arrays.asList("300000-"));
+        session.setUploadUrl("http://localhost");
+        session.setExpirationDateTime(OffsetDateTime.now().plusHours(1));
+
+        byte[] data = new byte[1000000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte)(i % 251);
+        }
+        Path file = tempDir.resolve("upload.bin");
+        Files.write(file, data);
+        LargeFileUploadOptions options = new LargeFileUploadOptions();
+        options.setMaxConcurrentSlices(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        options.setExecutor(executor);
+
+        LargeFileUploadTask<TestDriveItem> realTask = new LargeFileUploadTask<>(adapter, session, file, 200*1024, TestDriveItem::createFromDiscriminatorValue, options);
+        List<UploadSliceRequestBuilder<TestDriveItem>> realBuilders = realTask.getUploadSliceRequests();
+        Map<Long, byte[]> uploadedSlices = new ConcurrentHashMap<>();
+        ArrayList<UploadSliceRequestBuilder<TestDriveItem>> spyBuilders = new ArrayList<>();
+        for (UploadSliceRequestBuilder<TestDriveItem> builder : realBuilders) {
+            UploadSliceRequestBuilder<TestDriveItem> spyBuilder = spy(builder);
+            doAnswer(invocation -> {
+                InputStream sliceStream = invocation.getArgument(0);
+                byte[] sliceBytes = new byte[(int) builder.getRangeLength()];
+                int totalRead = 0;
+                int bytesRead;
+                while ((bytesRead = sliceStream.read(sliceBytes, totalRead, sliceBytes.length - totalRead)) > 0) {
+                    totalRead += bytesRead;
+                }
+                assertEquals(builder.getRangeLength(), totalRead);
+                assertEquals(-1, sliceStream.read());
+                uploadedSlices.put(builder.getRangeBegin(), sliceBytes);
+                UploadResult<TestDriveItem> result = new UploadResult<>();
+                if (builder.getRangeEnd() == data.length - 1) {
+                    result.itemResponse = new TestDriveItem();
+                }
+                return result;
+            }).when(spyBuilder).put(any(InputStream.class));
+            spyBuilders.add(spyBuilder);
+        }
+        LargeFileUploadTask<TestDriveItem> task = new LargeFileUploadTask<>(adapter, session, file, 200*1024, TestDriveItem::createFromDiscriminatorValue, options) {
+            @Override
+            protected java.util.List<UploadSliceRequestBuilder<TestDriveItem>> getUploadSliceRequests() {
+                return spyBuilders;
+            }
+        };
+
+        try {
+            UploadResult<TestDriveItem> result = task.upload(1, null);
+            assertTrue(result.isUploadSuccessful());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(4, uploadedSlices.size());
+        for (Map.Entry<Long, byte[]> slice : uploadedSlices.entrySet()) {
+            for (int i = 0; i < slice.getValue().length; i++) {
+                assertEquals(data[(int) (slice.getKey() + i)], slice.getValue()[i]);
+            }
+        }
+    }
+    @Test
+    void sizesSlicesAdaptivelyInMultiplesOf320KiB() throws Exception {
+        ParseNodeFactoryRegistry.defaultInstance.contentTypeAssociatedFactories.put(CoreConstants.MimeTypeNames.APPLICATION_JSON, new JsonParseNodeFactory());
+        UploadSession session = new UploadSession();
+        session.setNextExpectedRanges(Arrays.asList("0-"));
+        session.setUploadUrl("http://localhost");
+        session.setExpirationDateTime(OffsetDateTime.now().plusHours(1));
+
+        byte[] data = new byte[4 * 1024 * 1024];
+        ByteArrayInputStream stream = new ByteArrayInputStream(data);
+        LargeFileUploadOptions options = new LargeFileUploadOptions();
+        options.setAdaptiveSliceSizing(true);
+        ArrayList<Long> sliceLengths = new ArrayList<>();
+        OkHttpClient client = new OkHttpClient.Builder().addInterceptor(chain -> {
+            String contentRange = chain.request().header("Content-Range");
+            String[] range = contentRange.substring("bytes ".length(), contentRange.indexOf('/')).split("-");
+            long rangeEnd = Long.parseLong(range[1]);
+            sliceLengths.add(rangeEnd - Long.parseLong(range[0]) + 1);
+            boolean lastSlice = rangeEnd == data.length - 1;
+            return new Response.Builder()
+                .request(chain.request())
+                .protocol(Protocol.HTTP_1_1)
+                .code(lastSlice ? HttpURLConnection.HTTP_CREATED : HttpURLConnection.HTTP_ACCEPTED)
+                .message("OK")
+                .body(ResponseBody.create(lastSlice ? "{\"id\":\"item\"}" : "{\"nextExpectedRanges\":[\"" + (rangeEnd + 1) + "-\"]}",
+                    MediaType.parse(CoreConstants.MimeTypeNames.APPLICATION_JSON)))
+                .build();
+        }).build();
+        OkHttpRequestAdapter requestAdapter = new OkHttpRequestAdapter(mock(AuthenticationProvider.class), null, null, client);
+
+        LargeFileUploadTask<TestDriveItem> task = new LargeFileUploadTask<>(requestAdapter, session, stream, data.length, 320 * 1024, TestDriveItem::createFromDiscriminatorValue, options);
+        UploadResult<TestDriveItem> result = task.upload(1, null);
+
+        assertTrue(result.isUploadSuccessful());
+        assertEquals(320 * 1024, (long) sliceLengths.get(0));
+        assertEquals(2 * 320 * 1024, (long) sliceLengths.get(1));
+        long total = 0;
+        for (int i = 0; i < sliceLengths.size(); i++) {
+            if (i < sliceLengths.size() - 1) {
+                assertEquals(0, sliceLengths.get(i) % (320 * 1024));
+            }
+            total += sliceLengths.get(i);
+        }
+        assertEquals(data.length, total);
+    }
+    @Test
+    void retriesThrottledSliceAloneHonoringRetryAfter() throws Exception {
+        ParseNodeFactoryRegistry.defaultInstance.contentTypeAssociatedFactories.put(CoreConstants.MimeTypeNames.APPLICATION_JSON, new JsonParseNodeFactory());
+        UploadSession session = new UploadSession();
+        session.setNextExpectedRanges(Arrays.asList("0-"));
+        session.setUploadUrl("http://localhost");
+        session.setExpirationDateTime(OffsetDateTime.now().plusHours(1));
+
+        byte[] data = new byte[3 * 320 * 1024];
+        ByteArrayInputStream stream = new ByteArrayInputStream(data);
+        LargeFileUploadOptions options = new LargeFileUploadOptions();
+        options.setInitialBackoff(Duration.ofMinutes(1));
+        ArrayList<String> requests = new ArrayList<>();
+        AtomicInteger throttledSlices = new AtomicInteger();
+        OkHttpClient client = new OkHttpClient.Builder().addInterceptor(chain -> {
+            Buffer body = new Buffer();
+            chain.request().body().writeTo(body);
+            String contentRange = chain.request().header("Content-Range");
+            requests.add(chain.request().method() + " " + contentRange + " " + body.size());
+            String[] range = contentRange.substring("bytes ".length(), contentRange.indexOf('/')).split("-");
+            long rangeEnd = Long.parseLong(range[1]);
+            Response.Builder response = new Response.Builder()
+                .request(chain.request())
+                .protocol(Protocol.HTTP_1_1)
+                .message("OK");
+            if (Long.parseLong(range[0]) == 320 * 1024 && throttledSlices.getAndIncrement() == 0) {
+                return response.code(RetryAfter.SERVICE_UNAVAILABLE)
+                    .header(CoreConstants.Headers.RETRY_AFTER, "0")
+                    .body(ResponseBody.create("{\"error\":{\"code\":\"serviceNotAvailable\"}}", MediaType.parse(CoreConstants.MimeTypeNames.APPLICATION_JSON)))
+                    .build();
+            }
+            boolean lastSlice = rangeEnd == data.length - 1;
+            return response
+                .code(lastSlice ? HttpURLConnection.HTTP_CREATED : HttpURLConnection.HTTP_ACCEPTED)
+                .body(ResponseBody.create(lastSlice ? "{\"id\":\"item\"}" : "{\"nextExpectedRanges\":[\"" + (rangeEnd + 1) + "-\"]}",
+                    MediaType.parse(CoreConstants.MimeTypeNames.APPLICATION_JSON)))
+                .build();
+        }).build();
+        OkHttpRequestAdapter requestAdapter = new OkHttpRequestAdapter(mock(AuthenticationProvider.class), null, null, client);
+
+        LargeFileUploadTask<TestDriveItem> task = new LargeFileUploadTask<>(requestAdapter, session, stream, data.length, 320 * 1024, TestDriveItem::createFromDiscriminatorValue, options);
+        UploadResult<TestDriveItem> result = task.upload(1, null);
+
+        assertTrue(result.isUploadSuccessful());
+        assertEquals(Arrays.asList(
+            "PUT bytes 0-327679/983040 327680",
+            "PUT bytes 327680-655359/983040 327680",
+            "PUT bytes 327680-655359/983040 327680",
+            "PUT bytes 655360-983039/983040 327680"), requests);
+    }
+    @Test
+    void resumesUploadOfFileFromCheckpointInAnotherTask(@TempDir Path tempDir) throws Exception {
+        ParseNodeFactoryRegistry.defaultInstance.contentTypeAssociatedFactories.put(CoreConstants.MimeTypeNames.APPLICATION_JSON, new JsonParseNodeFactory());
+        UploadSession session = new UploadSession();
+        session.setNextExpectedRanges(Arrays.asList("0-"));
+        session.setUploadUrl("http://localhost/upload");
+        session.setExpirationDateTime(OffsetDateTime.now().plusHours(1));
+        byte[] data = new byte[3 * 320 * 1024];
+        Path file = tempDir.resolve("backup.bin");
+        Files.write(file, data);
+        Path checkpointPath = tempDir.resolve("checkpoint.json");
+        ArrayList<String> requests = new ArrayList<>();
+        OkHttpClient client = new OkHttpClient.Builder().addInterceptor(chain -> {
+            Response.Builder response = new Response.Builder()
+                .request(chain.request())
+                .protocol(Protocol.HTTP_1_1)
+                .message("OK");
+            if ("GET".equals(chain.request().method())) {
+                requests.add("GET");
+                return response.code(HttpURLConnection.HTTP_OK)
+                    .body(ResponseBody.create("{\"uploadUrl\":\"http://localhost/upload\",\"expirationDateTime\":\"" + OffsetDateTime.now().plusHours(1) + "\",\"nextExpectedRanges\":[\"327680-\"]}",
+                        MediaType.parse(CoreConstants.MimeTypeNames.APPLICATION_JSON)))
+                    .build();
+            }
+            String contentRange = chain.request().header("Content-Range");
+            requests.add("PUT " + contentRange);
+            String[] range = contentRange.substring("bytes ".length(), contentRange.indexOf('/')).split("-");
+            long rangeEnd = Long.parseLong(range[1]);
+            if (requests.size() == 2) {
+                return response.code(HttpURLConnection.HTTP_BAD_REQUEST)
+                    .body(ResponseBody.create("{\"error\":{\"code\":\"invalidRequest\"}}", MediaType.parse(CoreConstants.MimeTypeNames.APPLICATION_JSON)))
+                    .build();
+            }
+            boolean lastSlice = rangeEnd == data.length - 1;
+            return response
+                .code(lastSlice ? HttpURLConnection.HTTP_CREATED : HttpURLConnection.HTTP_ACCEPTED)
+                .body(ResponseBody.create(lastSlice ? "{\"id\":\"item\"}" : "{\"nextExpectedRanges\":[\"" + (rangeEnd + 1) + "-\"]}",
+                    MediaType.parse(CoreConstants.MimeTypeNames.APPLICATION_JSON)))
+                .build();
+        }).build();
+        OkHttpRequestAdapter requestAdapter = new OkHttpRequestAdapter(mock(AuthenticationProvider.class), null, null, client);
+        LargeFileUploadOptions options = new LargeFileUploadOptions();
+        options.setCheckpointStore(new FileLargeFileUploadCheckpointStore(checkpointPath));
+        options.setSourceId("backup-1");
+
+        LargeFileUploadTask<TestDriveItem> task = new LargeFileUploadTask<>(requestAdapter, session, file, 320 * 1024, TestDriveItem::createFromDiscriminatorValue, options);
+        assertThrows(ApiException.class, () -> task.upload(1, null));
+
+        LargeFileUploadCheckpoint checkpoint = new FileLargeFileUploadCheckpointStore(checkpointPath).load();
+        assertEquals("http://localhost/upload", checkpoint.getUploadUrl());
+        assertEquals(Arrays.asList("327680-983039"), checkpoint.getNextExpectedRanges());
+        assertEquals(file.toAbsolutePath().toString(), checkpoint.getSourcePath());
+        assertEquals(data.length, checkpoint.getSourceSize());
+
+        LargeFileUploadOptions resumedOptions = new LargeFileUploadOptions();
+        resumedOptions.setCheckpointStore(new FileLargeFileUploadCheckpointStore(checkpointPath));
+        resumedOptions.setSourceId("backup-1");
+        LargeFileUploadTask<TestDriveItem> resumedTask = LargeFileUploadTask.fromCheckpoint(requestAdapter, checkpoint, file, 320 * 1024, TestDriveItem::createFromDiscriminatorValue, resumedOptions);
+        UploadResult<TestDriveItem> result = resumedTask.resume();
+
+        assertTrue(result.isUploadSuccessful());
+        assertEquals(Arrays.asList(
+            "PUT bytes 0-327679/983040",
+            "PUT bytes 327680-655359/983040",
+            "GET",
+            "PUT bytes 327680-655359/983040",
+            "PUT bytes 655360-983039/983040"), requests);
+        assertFalse(Files.exists(checkpointPath));
+
+        LargeFileUploadOptions otherSourceOptions = new LargeFileUploadOptions();
+        otherSourceOptions.setSourceId("backup-2");
+        assertThrows(IllegalArgumentException.class, () -> LargeFileUploadTask.fromCheckpoint(requestAdapter, checkpoint, file, 320 * 1024, TestDriveItem::createFromDiscriminatorValue, otherSourceOptions));
+    }
+    @Test
+    void uploadsAsynchronouslyRetryingThrottledSliceOnScheduler() throws Exception {
+        ParseNodeFactoryRegistry.defaultInstance.contentTypeAssociatedFactories.put(CoreConstants.MimeTypeNames.APPLICATION_JSON, new JsonParseNodeFactory());
+        UploadSession session = new UploadSession();
+        session.setNextExpectedRanges(Arrays.asList("0-"));
+        session.setUploadUrl("http://localhost");
+        session.setExpirationDateTime(OffsetDateTime.now().plusHours(1));
+
+        byte[] data = new byte[3 * 320 * 1024];
+        ByteArrayInputStream stream = new ByteArrayInputStream(data);
+        List<String> requests = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger throttledSlices = new AtomicInteger();
+        OkHttpClient client = new OkHttpClient.Builder().addInterceptor(chain -> {
+            String contentRange = chain.request().header("Content-Range");
+            requests.add(contentRange);
+            String[] range = contentRange.substring("bytes ".length(), contentRange.indexOf('/')).split("-");
+            long rangeEnd = Long.parseLong(range[1]);
+            Response.Builder response = new Response.Builder()
+                .request(chain.request())
+                .protocol(Protocol.HTTP_1_1)
+                .message("OK");
+            if (Long.parseLong(range[0]) == 320 * 1024 && throttledSlices.getAndIncrement() == 0) {
+                return response.code(RetryAfter.TOO_MANY_REQUESTS)
+                    .header(CoreConstants.Headers.RETRY_AFTER, "0")
+                    .body(ResponseBody.create("{\"error\":{\"code\":\"activityLimitReached\"}}", MediaType.parse(CoreConstants.MimeTypeNames.APPLICATION_JSON)))
+                    .build();
+            }
+            boolean lastSlice = rangeEnd == data.length - 1;
+            return response
+                .code(lastSlice ? HttpURLConnection.HTTP_CREATED : HttpURLConnection.HTTP_ACCEPTED)
+                .body(ResponseBody.create(lastSlice ? "{\"id\":\"item\"}" : "{\"nextExpectedRanges\":[\"" + (rangeEnd + 1) + "-\"]}",
+                    MediaType.parse(CoreConstants.MimeTypeNames.APPLICATION_JSON)))
+                .build();
+        }).build();
+        OkHttpRequestAdapter requestAdapter = new OkHttpRequestAdapter(mock(AuthenticationProvider.class), null, null, client);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        LargeFileUploadOptions options = new LargeFileUploadOptions();
+        options.setMaxConcurrentSlices(2);
+        options.setExecutor(executor);
+        options.setScheduler(scheduler);
+        ArrayList<Long> progress = new ArrayList<>();
+
+        try {
+            LargeFileUploadTask<TestDriveItem> task = new LargeFileUploadTask<>(requestAdapter, session, stream, data.length, 320 * 1024, TestDriveItem::createFromDiscriminatorValue, options);
+            UploadResult<TestDriveItem> result = task.uploadAsync(1, (current, max) -> progress.add(current)).get(10, TimeUnit.SECONDS);
+
+            assertTrue(result.isUploadSuccessful());
+        } finally {
+            executor.shutdownNow();
+            scheduler.shutdownNow();
+        }
+        assertEquals(4, requests.size());
+        assertEquals("bytes 655360-983039/983040", requests.get(3));
+        assertEquals(Arrays.asList(327680L, 655360L, 983040L), progress);
+    }
+    @Test
+    void cancelsAsynchronousUploadWhileWaitingToRetry() throws Exception {
+        ParseNodeFactoryRegistry.defaultInstance.contentTypeAssociatedFactories.put(CoreConstants.MimeTypeNames.APPLICATION_JSON, new JsonParseNodeFactory());
+        UploadSession session = new UploadSession();
+        session.setNextExpectedRanges(Arrays.asList("0-"));
+        session.setUploadUrl("http://localhost");
+        session.setExpirationDateTime(OffsetDateTime.now().plusHours(1));
+
+        byte[] data = new byte[2 * 320 * 1024];
+        AtomicInteger requestCount = new AtomicInteger();
+        CountDownLatch throttled = new CountDownLatch(1);
+        OkHttpClient client = new OkHttpClient.Builder().addInterceptor(chain -> {
+            requestCount.incrementAndGet();
+            throttled.countDown();
+            return new Response.Builder()
+                .request(chain.request())
+                .protocol(Protocol.HTTP_1_1)
+                .message("Service Unavailable")
+                .code(RetryAfter.SERVICE_UNAVAILABLE)
+                .body(ResponseBody.create("{\"error\":{\"code\":\"serviceNotAvailable\"}}", MediaType.parse(CoreConstants.MimeTypeNames.APPLICATION_JSON)))
+                .build();
+        }).build();
+        OkHttpRequestAdapter requestAdapter = new OkHttpRequestAdapter(mock(AuthenticationProvider.class), null, null, client);
+        LargeFileUploadOptions options = new LargeFileUploadOptions();
+        options.setInitialBackoff(Duration.ofMinutes(1));
+
+        LargeFileUploadTask<TestDriveItem> task = new LargeFileUploadTask<>(requestAdapter, session, new ByteArrayInputStream(data), data.length, 320 * 1024, TestDriveItem::createFromDiscriminatorValue, options);
+        CompletableFuture<UploadResult<TestDriveItem>> upload = task.uploadAsync();
+        assertTrue(throttled.await(10, TimeUnit.SECONDS));
+        assertTrue(upload.cancel(true));
+
+        assertTrue(upload.isCancelled());
+        Thread.sleep(100);
+        assertEquals(1, requestCount.get());
+    }
+    @Test
+    void reportsMetricsCountingOnlyAcceptedSlices() throws Exception {
+        ParseNodeFactoryRegistry.defaultInstance.contentTypeAssociatedFactories.put(CoreConstants.MimeTypeNames.APPLICATION_JSON, new JsonParseNodeFactory());
+        UploadSession session = new UploadSession();
+        session.setNextExpectedRanges(Arrays.asList("0-"));
+        session.setUploadUrl("http://localhost");
+        session.setExpirationDateTime(OffsetDateTime.now().plusHours(1));
+
+        byte[] data = new byte[3 * 320 * 1024];
+        AtomicInteger rejectedSlices = new AtomicInteger();
+        AtomicInteger throttledSlices = new AtomicInteger();
+        OkHttpClient client = new OkHttpClient.Builder().addInterceptor(chain -> {
+            Response.Builder response = new Response.Builder()
+                .request(chain.request())
+                .protocol(Protocol.HTTP_1_1)
+                .message("OK");
+            if ("GET".equals(chain.request().method())) {
+                return response.code(HttpURLConnection.HTTP_OK)
+                    .body(ResponseBody.create("{\"expirationDateTime\":\"" + OffsetDateTime.now().plusHours(1) + "\",\"nextExpectedRanges\":[\"327680-655359\"]}",
+                        MediaType.parse(CoreConstants.MimeTypeNames.APPLICATION_JSON)))
+                    .build();
+            }
+            String contentRange = chain.request().header("Content-Range");
+            String[] range = contentRange.substring("bytes ".length(), contentRange.indexOf('/')).split("-");
+            long rangeBegin = Long.parseLong(range[0]);
+            long rangeEnd = Long.parseLong(range[1]);
+            if (rangeBegin == 0 && throttledSlices.getAndIncrement() == 0) {
+                return response.code(RetryAfter.SERVICE_UNAVAILABLE)
+                    .header(CoreConstants.Headers.RETRY_AFTER, "0")
+                    .body(ResponseBody.create("{\"error\":{\"code\":\"serviceNotAvailable\"}}", MediaType.parse(CoreConstants.MimeTypeNames.APPLICATION_JSON)))
+                    .build();
+            }
+            if (rangeBegin == 320 * 1024 && rejectedSlices.getAndIncrement() == 0) {
+                return response.code(HttpURLConnection.HTTP_ACCEPTED)
+                    .body(ResponseBody.create("{\"nextExpectedRanges\":[\"327680-\"]}", MediaType.parse(CoreConstants.MimeTypeNames.APPLICATION_JSON)))
+                    .build();
+            }
+            boolean complete = rangeBegin == 320 * 1024;
+            return response
+                .code(complete ? HttpURLConnection.HTTP_CREATED : HttpURLConnection.HTTP_ACCEPTED)
+                .body(ResponseBody.create(complete ? "{\"id\":\"item\"}" : "{\"nextExpectedRanges\":[\"" + (rangeEnd + 1) + "-\"]}",
+                    MediaType.parse(CoreConstants.MimeTypeNames.APPLICATION_JSON)))
+                .build();
+        }).build();
+        OkHttpRequestAdapter requestAdapter = new OkHttpRequestAdapter(mock(AuthenticationProvider.class), null, null, client);
+        List<LargeFileUploadMetrics> reportedMetrics = new ArrayList<>();
+        List<Duration> sliceLatencies = new ArrayList<>();
+        LargeFileUploadOptions options = new LargeFileUploadOptions();
+        options.setUploadListener(new LargeFileUploadListener() {
+            @Override
+            public void onSliceUploaded(UploadSliceRequestBuilder<?> slice, Duration latency) {
+                sliceLatencies.add(latency);
+            }
+            @Override
+            public void onProgress(LargeFileUploadMetrics metrics) {
+                reportedMetrics.add(metrics);
+            }
+        });
+        ArrayList<Long> progress = new ArrayList<>();
+
+        LargeFileUploadTask<TestDriveItem> task = new LargeFileUploadTask<>(requestAdapter, session, new ByteArrayInputStream(data), data.length, 320 * 1024, TestDriveItem::createFromDiscriminatorValue, options) {
+            @Override
+            protected List<UploadSliceRequestBuilder<TestDriveItem>> getUploadSliceRequests() {
+                List<UploadSliceRequestBuilder<TestDriveItem>> builders = super.getUploadSliceRequests();
+                if (builders.size() == 3) {
+                    return builders;
+                }
+                // the rejected slice is uploaded again from a new stream in the second pass
+                return Arrays.asList(new UploadSliceRequestBuilder<TestDriveItem>("http://localhost", requestAdapter, 327680, 655359, data.length, TestDriveItem::createFromDiscriminatorValue) {
+                    @Override
+                    public UploadResult<TestDriveItem> put(InputStream stream) {
+                        return super.put(new ByteArrayInputStream(new byte[320 * 1024]));
+                    }
+                });
+            }
+        };
+        UploadResult<TestDriveItem> result = task.upload(2, (current, max) -> progress.add(current));
+
+        assertTrue(result.isUploadSuccessful());
+        assertEquals(Arrays.asList(327680L, 327680L, 655360L, 983040L), progress);
+        LargeFileUploadMetrics metrics = task.getMetrics();
+        assertEquals(data.length, metrics.getCommittedBytes());
+        assertEquals(4, metrics.getUploadedSliceCount());
+        assertEquals(1, metrics.getRejectedSliceCount());
+        assertEquals(1, metrics.getRetryCount());
+        assertTrue(metrics.getBytesPerSecond() > 0);
+        assertEquals(Duration.ZERO, metrics.getEstimatedTimeRemaining());
+        assertEquals(4, sliceLatencies.size());
+        assertEquals(4, reportedMetrics.size());
+        assertEquals(327680L, reportedMetrics.get(0).getCommittedBytes());
+    }
 }
@@ -0,0 +1,180 @@
+package com.microsoft.graph.core.tasks;
+
+import com.microsoft.graph.core.testModels.TestEventItem;
+import com.microsoft.graph.core.testModels.TestEventsResponse;
+import com.microsoft.kiota.ApiException;
+import com.microsoft.kiota.ApiExceptionBuilder;
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.ResponseHeaders;
+import com.microsoft.kiota.authentication.AuthenticationProvider;
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParsableFactory;
+import org.junit.jupiter.api.Test;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class PageIteratorCrawlerTest {
+
+    @Test
+    void given_Many_Iterators_It_Limits_The_Page_Requests_In_Flight() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        MockPagedAdapter mockAdapter = new MockPagedAdapter(mock(AuthenticationProvider.class)) {
+            @Override
+            public <T extends Parsable> T send(@Nonnull RequestInformation request, @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings, @Nonnull ParsableFactory<T> parsableFactory) {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                inFlight.decrementAndGet();
+                return super.send(request, errorMappings, parsableFactory);
+            }
+        };
+        AtomicInteger processed = new AtomicInteger();
+        List<CompletableFuture<PageIterator.PageIteratorState>> results = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try (PageIteratorCrawler crawler = new PageIteratorCrawler.Builder().maxConcurrentRequests(2).executor(executor).build()) {
+            for (int collection = 0; collection < 5; collection++) {
+                String baseUrl = "http://localhost/collection" + collection + "?$skip=";
+                for (int page = 1; page < 4; page++) {
+                    mockAdapter.pages.put(baseUrl + page, createPage(3, page < 3 ? baseUrl + (page + 1) : null));
+                }
+                results.add(crawler.submit(new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+                    .requestAdapter(mockAdapter)
+                    .collectionPage(createPage(3, baseUrl + 1))
+                    .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+                    .processPageItemCallback(item -> processed.incrementAndGet() > 0)
+                    .build()));
+            }
+            for (CompletableFuture<PageIterator.PageIteratorState> result : results) {
+                assertEquals(PageIterator.PageIteratorState.COMPLETE, result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(60, processed.get());
+        assertTrue(maxInFlight.get() <= 2);
+    }
+    @Test
+    void given_Throttled_Request_It_Retries_After_The_Requested_Delay() throws Exception {
+        AtomicInteger throttledRequests = new AtomicInteger();
+        MockPagedAdapter mockAdapter = createThrottlingAdapter(throttledRequests, 1);
+        mockAdapter.pages.put("http://localhost/events?$skip=1", createPage(2, null));
+
+        try (PageIteratorCrawler crawler = new PageIteratorCrawler.Builder().build()) {
+            CompletableFuture<PageIterator.PageIteratorState> result = crawler.submit(new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+                .requestAdapter(mockAdapter)
+                .collectionPage(createPage(2, "http://localhost/events?$skip=1"))
+                .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+                .processPageItemCallback(item -> true)
+                .build());
+
+            assertEquals(PageIterator.PageIteratorState.COMPLETE, result.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, throttledRequests.get());
+        assertEquals(2, mockAdapter.requestCount("http://localhost/events?$skip=1"));
+    }
+    @Test
+    void given_Throttled_Requests_Beyond_The_Retries_It_Fails() throws Exception {
+        MockPagedAdapter mockAdapter = createThrottlingAdapter(new AtomicInteger(), Integer.MAX_VALUE);
+
+        try (PageIteratorCrawler crawler = new PageIteratorCrawler.Builder().maxThrottledRetries(1).maxBackoff(Duration.ZERO).build()) {
+            CompletableFuture<PageIterator.PageIteratorState> result = crawler.submit(new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+                .requestAdapter(mockAdapter)
+                .collectionPage(createPage(2, "http://localhost/events?$skip=1"))
+                .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+                .processPageItemCallback(item -> true)
+                .build());
+
+            ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(ApiException.class, exception.getCause());
+            assertEquals(0, crawler.getInFlightRequestCount());
+        }
+        assertEquals(2, mockAdapter.requestCount("http://localhost/events?$skip=1"));
+    }
+    @Test
+    void given_New_Iterator_It_Processes_The_Collection_Page_Without_Taking_A_Request_Slot() throws Exception {
+        MockPagedAdapter mockAdapter = new MockPagedAdapter(mock(AuthenticationProvider.class));
+        mockAdapter.pages.put("http://localhost/other?$skip=1", createPage(2, null));
+        CountDownLatch processing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (PageIteratorCrawler crawler = new PageIteratorCrawler.Builder().maxConcurrentRequests(1).executor(executor).build()) {
+            CompletableFuture<PageIterator.PageIteratorState> blocked = crawler.submit(new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+                .requestAdapter(mockAdapter)
+                .collectionPage(createPage(2, null))
+                .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+                .processPageItemCallback(item -> {
+                    processing.countDown();
+                    try {
+                        return release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        return false;
+                    }
+                })
+                .build());
+            assertTrue(processing.await(10, TimeUnit.SECONDS));
+            assertEquals(0, crawler.getInFlightRequestCount());
+
+            CompletableFuture<PageIterator.PageIteratorState> other = crawler.submit(new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+                .requestAdapter(mockAdapter)
+                .collectionPage(createPage(0, "http://localhost/other?$skip=1"))
+                .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+                .processPageItemCallback(item -> true)
+                .build());
+            assertEquals(PageIterator.PageIteratorState.COMPLETE, other.get(10, TimeUnit.SECONDS));
+
+            release.countDown();
+            assertEquals(PageIterator.PageIteratorState.COMPLETE, blocked.get(10, TimeUnit.SECONDS));
+            assertEquals(0, crawler.getInFlightRequestCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    private static MockPagedAdapter createThrottlingAdapter(AtomicInteger throttledRequests, int throttledRequestLimit) {
+        return new MockPagedAdapter(mock(AuthenticationProvider.class)) {
+            @Override
+            public <T extends Parsable> T send(@Nonnull RequestInformation request, @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings, @Nonnull ParsableFactory<T> parsableFactory) {
+                T page = super.send(request, errorMappings, parsableFactory);
+                if(throttledRequests.get() < throttledRequestLimit) {
+                    throttledRequests.incrementAndGet();
+                    ResponseHeaders headers = new ResponseHeaders();
+                    headers.add("Retry-After", "0");
+                    throw new ApiExceptionBuilder().withMessage("Too many requests").withResponseStatusCode(429).withResponseHeaders(headers).build();
+                }
+                return page;
+            }
+        };
+    }
+    private static TestEventsResponse createPage(int itemCount, String nextLink) {
+        TestEventsResponse page = new TestEventsResponse();
+        page.setValue(new LinkedList<>());
+        page.setOdataNextLink(nextLink);
+        for(int i = 0; i < itemCount; i++) {
+            TestEventItem testEventItem = new TestEventItem();
+            testEventItem.setSubject("Test Event: " + i);
+            page.getValue().add(testEventItem);
+        }
+        return page;
+    }
+}
@@ -0,0 +1,130 @@
+package com.microsoft.graph.core.tasks;
+
+import com.microsoft.graph.core.testModels.TestEventItem;
+import com.microsoft.graph.core.testModels.TestEventsResponse;
+import com.microsoft.kiota.authentication.AuthenticationProvider;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class PageIteratorPublisherTest {
+
+    @Test
+    void given_Demand_It_Only_Requests_Pages_While_Demand_Is_Outstanding() throws Exception {
+        MockPagedAdapter mockAdapter = new MockPagedAdapter(mock(AuthenticationProvider.class));
+        mockAdapter.pages.put("http://localhost/events?$skip=5", createPage("Second Page Test Event: ", 5, null));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            PageIterator<TestEventItem, TestEventsResponse> pageIterator = new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+                .requestAdapter(mockAdapter)
+                .collectionPage(createPage("Test Event: ", 5, "http://localhost/events?$skip=5"))
+                .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+                .executor(executor)
+                .build();
+            TestSubscriber subscriber = new TestSubscriber();
+            pageIterator.publisher().subscribe(subscriber);
+
+            subscriber.subscription.get().request(5);
+            subscriber.awaitItems(5);
+            executor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+            assertEquals(0, mockAdapter.requestCount("http://localhost/events?$skip=5"));
+
+            subscriber.subscription.get().request(Long.MAX_VALUE);
+            assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+            assertEquals(10, subscriber.items.size());
+            assertEquals("Second Page Test Event: 4", subscriber.items.get(9));
+            assertEquals(1, mockAdapter.requestCount("http://localhost/events?$skip=5"));
+            assertNull(subscriber.error.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    @Test
+    void given_Invalid_Request_It_Signals_Error() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            PageIterator<TestEventItem, TestEventsResponse> pageIterator = new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+                .requestAdapter(new MockPagedAdapter(mock(AuthenticationProvider.class)))
+                .collectionPage(createPage("Test Event: ", 5, null))
+                .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+                .executor(executor)
+                .build();
+            TestSubscriber subscriber = new TestSubscriber();
+            pageIterator.publisher().subscribe(subscriber);
+
+            subscriber.subscription.get().request(0);
+
+            assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+            assertEquals(IllegalArgumentException.class, subscriber.error.get().getClass());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    @Test
+    void given_Second_Subscriber_It_Signals_Error() throws Exception {
+        PageIterator<TestEventItem, TestEventsResponse> pageIterator = new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+            .requestAdapter(new MockPagedAdapter(mock(AuthenticationProvider.class)))
+            .collectionPage(createPage("Test Event: ", 5, null))
+            .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+            .build();
+        PageIteratorPublisher<TestEventItem, TestEventsResponse> publisher = pageIterator.publisher();
+        publisher.subscribe(new TestSubscriber());
+        TestSubscriber secondSubscriber = new TestSubscriber();
+
+        publisher.subscribe(secondSubscriber);
+
+        assertEquals(IllegalStateException.class, secondSubscriber.error.get().getClass());
+    }
+    private static TestEventsResponse createPage(String subjectPrefix, int itemCount, String nextLink) {
+        TestEventsResponse page = new TestEventsResponse();
+        page.setValue(new LinkedList<>());
+        page.setOdataNextLink(nextLink);
+        for(int i = 0; i < itemCount; i++) {
+            TestEventItem testEventItem = new TestEventItem();
+            testEventItem.setSubject(subjectPrefix + i);
+            page.getValue().add(testEventItem);
+        }
+        return page;
+    }
+    private static class TestSubscriber implements Subscriber<TestEventItem> {
+        final AtomicReference<Subscription> subscription = new AtomicReference<>();
+        final List<String> items = new CopyOnWriteArrayList<>();
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final CountDownLatch completed = new CountDownLatch(1);
+        @Override
+        public void onSubscribe(Subscription s) {
+            subscription.set(s);
+        }
+        @Override
+        public void onNext(TestEventItem item) {
+            items.add(item.getSubject());
+        }
+        @Override
+        public void onError(Throwable t) {
+            error.set(t);
+            completed.countDown();
+        }
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+        void awaitItems(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (items.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+        }
+    }
+}
@@ -12,16 +12,32 @@ import com.microsoft.kiota.http.OkHttpRequestAdapter;
 import com.microsoft.kiota.serialization.Parsable;
 import com.microsoft.kiota.serialization.ParsableFactory;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
@@ -391,6 +407,475 @@ class PageIteratorTest {
 
         assertTrue(requestConfiguratorInvoked[0]);
     }
+    @Test
+    void given_PrefetchDepth_It_Requests_Next_Page_While_Processing_Current_Page() throws ReflectiveOperationException, ApiException, InterruptedException {
+        TestEventsResponse originalPage = createPage("Test Event: ", 5, "http://localhost/events?$skip=5");
+        TestEventsResponse secondPage = createPage("Second Page Test Event: ", 5, "http://localhost/events?$skip=10");
+        TestEventsResponse thirdPage = createPage("Third Page Test Event: ", 5, null);
+
+        MockPagedAdapter mockAdapter = new MockPagedAdapter(mock(AuthenticationProvider.class));
+        mockAdapter.pages.put("http://localhost/events?$skip=5", secondPage);
+        mockAdapter.pages.put("http://localhost/events?$skip=10", thirdPage);
+
+        List<String> processedSubjects = new LinkedList<>();
+        boolean[] secondPageRequestedDuringFirstPage = {false};
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            pageIterator = new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+                .requestAdapter(mockAdapter)
+                .collectionPage(originalPage)
+                .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+                .prefetchDepth(2)
+                .executor(executor)
+                .processPageItemCallback(item -> {
+                    if(item.getSubject().equals("Test Event: 4")) {
+                        try {
+                            secondPageRequestedDuringFirstPage[0] = mockAdapter.awaitRequest("http://localhost/events?$skip=5");
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    processedSubjects.add(item.getSubject());
+                    return true;
+                })
+                .build();
+
+            pageIterator.iterate();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(secondPageRequestedDuringFirstPage[0]);
+        assertEquals(15, processedSubjects.size());
+        assertEquals("Test Event: 0", processedSubjects.get(0));
+        assertEquals("Second Page Test Event: 0", processedSubjects.get(5));
+        assertEquals("Third Page Test Event: 4", processedSubjects.get(14));
+        assertEquals(PageIterator.PageIteratorState.COMPLETE, pageIterator.getPageIteratorState());
+        assertEquals(1, mockAdapter.requestCount("http://localhost/events?$skip=5"));
+        assertEquals(1, mockAdapter.requestCount("http://localhost/events?$skip=10"));
+    }
+    @Test
+    void given_PrefetchDepth_It_Cancels_Pending_Page_Requests_When_Paused() throws ReflectiveOperationException, ApiException {
+        TestEventsResponse originalPage = createPage("Test Event: ", 5, "http://localhost/events?$skip=5");
+        MockPagedAdapter mockAdapter = new MockPagedAdapter(mock(AuthenticationProvider.class));
+        mockAdapter.pages.put("http://localhost/events?$skip=5", createPage("Second Page Test Event: ", 5, "http://localhost/events?$skip=10"));
+        mockAdapter.pages.put("http://localhost/events?$skip=10", createPage("Third Page Test Event: ", 5, null));
+        List<Runnable> queuedRequests = new ArrayList<>();
+        AtomicBoolean runRequests = new AtomicBoolean(false);
+        AtomicInteger processed = new AtomicInteger();
+
+        pageIterator = new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+            .requestAdapter(mockAdapter)
+            .collectionPage(originalPage)
+            .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+            .prefetchDepth(2)
+            .executor(request -> {
+                if(runRequests.get()) {
+                    request.run();
+                } else {
+                    queuedRequests.add(request);
+                }
+            })
+            .processPageItemCallback(item -> processed.incrementAndGet() != 2)
+            .build();
+        pageIterator.iterate();
+
+        assertEquals(PageIterator.PageIteratorState.PAUSED, pageIterator.getPageIteratorState());
+        assertEquals(1, queuedRequests.size());
+        queuedRequests.forEach(Runnable::run);
+        assertEquals(0, mockAdapter.requestCount("http://localhost/events?$skip=5"));
+
+        runRequests.set(true);
+        pageIterator.resume();
+
+        assertEquals(PageIterator.PageIteratorState.COMPLETE, pageIterator.getPageIteratorState());
+        assertEquals(15, processed.get());
+        assertEquals(1, mockAdapter.requestCount("http://localhost/events?$skip=5"));
+        assertEquals(1, mockAdapter.requestCount("http://localhost/events?$skip=10"));
+    }
+    @Test
+    void given_Many_Pages_It_Reads_Items_And_Links_Of_Each_Page() throws ReflectiveOperationException, ApiException {
+        MockPagedAdapter mockAdapter = new MockPagedAdapter(mock(AuthenticationProvider.class));
+        for (int page = 1; page < 10; page++) {
+            mockAdapter.pages.put("http://localhost/events?$skip=" + page, createDeltaPage(page, page < 9 ? "http://localhost/events?$skip=" + (page + 1) : null));
+        }
+        List<String> processed = new ArrayList<>();
+
+        PageIterator<TestEventItem, TestEventsDeltaResponse> deltaIterator = new PageIterator.Builder<TestEventItem, TestEventsDeltaResponse>()
+            .requestAdapter(mockAdapter)
+            .collectionPage(createDeltaPage(0, "http://localhost/events?$skip=1"))
+            .collectionPageFactory(TestEventsDeltaResponse::createFromDiscriminatorValue)
+            .prefetchDepth(1)
+            .executor(Runnable::run)
+            .processPageItemCallback(item -> processed.add(item.getSubject()))
+            .build();
+        deltaIterator.iterate();
+
+        assertEquals(PageIterator.PageIteratorState.DELTA, deltaIterator.getPageIteratorState());
+        assertEquals("http://localhost/events?$deltatoken=1", deltaIterator.getDeltaLink());
+        assertEquals(10, processed.size());
+        for (int page = 0; page < 10; page++) {
+            assertEquals("Test Event: " + page, processed.get(page));
+        }
+        for (int page = 1; page < 10; page++) {
+            assertEquals(1, mockAdapter.requestCount("http://localhost/events?$skip=" + page));
+        }
+    }
+    @Test
+    void given_Negative_PrefetchDepth_Will_Throw_IllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new PageIterator.Builder<TestEventItem, TestEventsResponse>().prefetchDepth(-1));
+    }
+    @Test
+    void given_Parallelism_It_Processes_PageItems_Concurrently() throws ReflectiveOperationException, ApiException {
+        TestEventsResponse originalPage = createPage("Test Event: ", 20, "http://localhost/events?$skip=20");
+        TestEventsResponse secondPage = createPage("Second Page Test Event: ", 20, null);
+        MockPagedAdapter mockAdapter = new MockPagedAdapter(mock(AuthenticationProvider.class));
+        mockAdapter.pages.put("http://localhost/events?$skip=20", secondPage);
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Map<String, AtomicInteger> processed = new ConcurrentHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            pageIterator = new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+                .requestAdapter(mockAdapter)
+                .collectionPage(originalPage)
+                .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+                .parallelism(4)
+                .orderedCompletion(false)
+                .executor(executor)
+                .processPageItemCallback(item -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(5);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    processed.computeIfAbsent(item.getSubject(), k -> new AtomicInteger()).incrementAndGet();
+                    running.decrementAndGet();
+                    return true;
+                })
+                .build();
+
+            pageIterator.iterate();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(PageIterator.PageIteratorState.COMPLETE, pageIterator.getPageIteratorState());
+        assertEquals(40, processed.size());
+        assertTrue(processed.values().stream().allMatch(count -> count.get() == 1));
+        assertTrue(maxRunning.get() > 1);
+        assertTrue(maxRunning.get() <= 4);
+    }
+    @Test
+    void given_Parallelism_With_Ordered_Completion_It_Pauses_And_Resumes() throws ReflectiveOperationException, ApiException {
+        TestEventsResponse originalPage = createPage("Test Event: ", 20, null);
+        Map<String, AtomicInteger> processed = new ConcurrentHashMap<>();
+        AtomicBoolean paused = new AtomicBoolean(false);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            pageIterator = new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+                .client(baseClient)
+                .collectionPage(originalPage)
+                .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+                .parallelism(3)
+                .executor(executor)
+                .processPageItemCallback(item -> {
+                    processed.computeIfAbsent(item.getSubject(), k -> new AtomicInteger()).incrementAndGet();
+                    return !(item.getSubject().equals("Test Event: 7") && paused.compareAndSet(false, true));
+                })
+                .build();
+
+            pageIterator.iterate();
+            assertEquals(PageIterator.PageIteratorState.PAUSED, pageIterator.getPageIteratorState());
+            for (int i = 0; i <= 7; i++) {
+                assertTrue(processed.containsKey("Test Event: " + i));
+            }
+            assertTrue(processed.size() < 20);
+
+            pageIterator.resume();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(PageIterator.PageIteratorState.COMPLETE, pageIterator.getPageIteratorState());
+        assertEquals(20, processed.size());
+        assertTrue(processed.values().stream().allMatch(count -> count.get() == 1));
+    }
+    @Test
+    void given_Invalid_Parallelism_Will_Throw_IllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new PageIterator.Builder<TestEventItem, TestEventsResponse>().parallelism(0));
+    }
+    @Test
+    void given_CollectionPage_Stream_Lazily_Iterates_Across_Pages() throws ReflectiveOperationException {
+        TestEventsResponse originalPage = createPage("Test Event: ", 5, "http://localhost/events?$skip=5");
+        TestEventsResponse secondPage = createPage("Second Page Test Event: ", 5, "http://localhost/events?$skip=10");
+        TestEventsResponse thirdPage = createPage("Third Page Test Event: ", 5, null);
+        MockPagedAdapter mockAdapter = new MockPagedAdapter(mock(AuthenticationProvider.class));
+        mockAdapter.pages.put("http://localhost/events?$skip=5", secondPage);
+        mockAdapter.pages.put("http://localhost/events?$skip=10", thirdPage);
+
+        pageIterator = new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+            .requestAdapter(mockAdapter)
+            .collectionPage(originalPage)
+            .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+            .build();
+
+        List<String> firstSubjects = pageIterator.stream().limit(3).map(TestEventItem::getSubject).collect(Collectors.toList());
+        assertEquals(3, firstSubjects.size());
+        assertEquals(0, mockAdapter.requestCount("http://localhost/events?$skip=5"));
+
+        List<String> remainingSubjects = pageIterator.stream().map(TestEventItem::getSubject).collect(Collectors.toList());
+        assertEquals(12, remainingSubjects.size());
+        assertEquals("Test Event: 3", remainingSubjects.get(0));
+        assertEquals("Third Page Test Event: 4", remainingSubjects.get(11));
+        assertEquals(PageIterator.PageIteratorState.COMPLETE, pageIterator.getPageIteratorState());
+        assertEquals(1, mockAdapter.requestCount("http://localhost/events?$skip=10"));
+    }
+    @Test
+    void given_CollectionPage_Parallel_Stream_Processes_All_Items() throws ReflectiveOperationException {
+        TestEventsResponse originalPage = createPage("Test Event: ", 10, "http://localhost/events?$skip=10");
+        TestEventsResponse secondPage = createPage("Second Page Test Event: ", 10, null);
+        MockPagedAdapter mockAdapter = new MockPagedAdapter(mock(AuthenticationProvider.class));
+        mockAdapter.pages.put("http://localhost/events?$skip=10", secondPage);
+
+        pageIterator = new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+            .requestAdapter(mockAdapter)
+            .collectionPage(originalPage)
+            .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+            .build();
+
+        List<String> subjects = pageIterator.stream().parallel().map(TestEventItem::getSubject).collect(Collectors.toList());
+
+        assertEquals(20, subjects.size());
+        assertEquals("Test Event: 0", subjects.get(0));
+        assertEquals("Second Page Test Event: 9", subjects.get(19));
+    }
+    @Test
+    void given_No_Callback_Iterate_Will_Throw_IllegalStateException() throws ReflectiveOperationException {
+        pageIterator = new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+            .client(baseClient)
+            .collectionPage(createPage("Test Event: ", 1, null))
+            .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+            .build();
+
+        assertThrows(IllegalStateException.class, () -> pageIterator.iterate());
+    }
+    @Test
+    void given_Checkpoint_It_Resumes_From_The_Page_It_Was_Taken_On(@TempDir Path tempDir) throws ReflectiveOperationException, IOException {
+        TestEventsResponse originalPage = createPage("Test Event: ", 5, "http://localhost/events?$skip=5");
+        TestEventsResponse secondPage = createPage("Second Page Test Event: ", 5, "http://localhost/events?$skip=10");
+        TestEventsResponse thirdPage = createPage("Third Page Test Event: ", 5, null);
+        MockPagedAdapter mockAdapter = new MockPagedAdapter(mock(AuthenticationProvider.class));
+        mockAdapter.pages.put("http://localhost/events?$skip=5", secondPage);
+        mockAdapter.pages.put("http://localhost/events?$skip=10", thirdPage);
+        PageIteratorCheckpointStore checkpointStore = new FilePageIteratorCheckpointStore(tempDir.resolve("checkpoint.json"));
+        List<String> processed = new ArrayList<>();
+
+        pageIterator = new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+            .requestAdapter(mockAdapter)
+            .collectionPage(originalPage)
+            .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+            .checkpointStore(checkpointStore)
+            .checkpointInterval(1)
+            .processPageItemCallback(item -> {
+                processed.add(item.getSubject());
+                return !item.getSubject().equals("Second Page Test Event: 2");
+            })
+            .build();
+        pageIterator.iterate();
+
+        PageIteratorCheckpoint checkpoint = checkpointStore.load();
+        assertNotNull(checkpoint);
+        assertEquals(PageIterator.PageIteratorState.PAUSED, checkpoint.getState());
+        assertEquals("http://localhost/events?$skip=5", checkpoint.getPageLink());
+        assertEquals(3, checkpoint.getPageItemIndex());
+
+        PageIterator<TestEventItem, TestEventsResponse> resumedIterator = new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+            .requestAdapter(mockAdapter)
+            .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+            .checkpoint(checkpoint)
+            .checkpointStore(checkpointStore)
+            .processPageItemCallback(item -> processed.add(item.getSubject()))
+            .build();
+        resumedIterator.iterate();
+
+        assertEquals(PageIterator.PageIteratorState.COMPLETE, resumedIterator.getPageIteratorState());
+        assertEquals(15, processed.size());
+        assertEquals("Second Page Test Event: 3", processed.get(8));
+        assertEquals(2, mockAdapter.requestCount("http://localhost/events?$skip=5"));
+        assertEquals(1, mockAdapter.requestCount("http://localhost/events?$skip=10"));
+        assertEquals(PageIterator.PageIteratorState.COMPLETE, Objects.requireNonNull(checkpointStore.load()).getState());
+    }
+    @Test
+    void given_Checkpoint_On_Collection_Page_Without_Collection_Page_Will_Throw_NullPointerException() {
+        PageIteratorCheckpoint checkpoint = new PageIteratorCheckpoint(null, 2, null, null, PageIterator.PageIteratorState.PAUSED);
+        PageIterator.Builder<TestEventItem, TestEventsResponse> builder = new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+            .client(baseClient)
+            .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+            .checkpoint(checkpoint);
+
+        assertThrows(NullPointerException.class, builder::build);
+    }
+    @Test
+    void given_StreamingDeserialization_It_Reads_Page_Items_And_Links_From_The_Response() throws ReflectiveOperationException {
+        TestEventsDeltaResponse originalPage = new TestEventsDeltaResponse();
+        originalPage.setValue(new LinkedList<>());
+        originalPage.getValue().add(new TestEventItem());
+        originalPage.getValue().get(0).setSubject("Test Event: 0");
+        originalPage.setOdataNextLink("http://localhost/events?$skip=1");
+        MockPagedAdapter mockAdapter = new MockPagedAdapter(mock(AuthenticationProvider.class));
+        mockAdapter.responseBodies.put("http://localhost/events?$skip=1",
+            "{\"@odata.nextLink\":\"http://localhost/events?$skip=3\",\"value\":[{\"subject\":\"Test Event: 1\"},{\"subject\":\"Test Event: 2\",\"body\":{\"content\":\"Body\"}}]}");
+        mockAdapter.responseBodies.put("http://localhost/events?$skip=3",
+            "{\"value\":[{\"subject\":\"Test Event: 3\"},{\"subject\":\"Test Event: 4\"}],\"@odata.deltaLink\":\"http://localhost/events?$deltatoken=1\"}");
+        List<String> processed = new ArrayList<>();
+
+        PageIterator<TestEventItem, TestEventsDeltaResponse> streamingIterator = new PageIterator.Builder<TestEventItem, TestEventsDeltaResponse>()
+            .requestAdapter(mockAdapter)
+            .collectionPage(originalPage)
+            .collectionPageFactory(TestEventsDeltaResponse::createFromDiscriminatorValue)
+            .streamingDeserialization(TestEventItem::createFromDiscriminatorValue)
+            .processPageItemCallback(item -> {
+                processed.add(item.getSubject());
+                return !item.getSubject().equals("Test Event: 3");
+            })
+            .build();
+        streamingIterator.iterate();
+
+        assertEquals(PageIterator.PageIteratorState.PAUSED, streamingIterator.getPageIteratorState());
+        assertEquals(4, processed.size());
+
+        streamingIterator.resume();
+
+        assertEquals(PageIterator.PageIteratorState.DELTA, streamingIterator.getPageIteratorState());
+        assertEquals("http://localhost/events?$deltatoken=1", streamingIterator.getDeltaLink());
+        assertEquals(5, processed.size());
+        assertEquals("Test Event: 4", processed.get(4));
+        assertEquals(1, mockAdapter.requestCount("http://localhost/events?$skip=3"));
+    }
+    @Test
+    void given_StreamingDeserialization_And_Failing_Callback_It_Releases_The_Response() throws ReflectiveOperationException {
+        TestEventsResponse originalPage = createPage("Test Event: ", 1, "http://localhost/events?$skip=1");
+        AtomicBoolean responseClosed = new AtomicBoolean(false);
+        MockPagedAdapter mockAdapter = new MockPagedAdapter(mock(AuthenticationProvider.class)) {
+            @Override
+            public <ModelType> ModelType sendPrimitive(@Nonnull RequestInformation request, @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings, @Nonnull Class<ModelType> targetClass) {
+                return (ModelType) new FilterInputStream((InputStream) super.sendPrimitive(request, errorMappings, targetClass)) {
+                    @Override
+                    public void close() throws IOException {
+                        responseClosed.set(true);
+                        super.close();
+                    }
+                };
+            }
+        };
+        mockAdapter.responseBodies.put("http://localhost/events?$skip=1",
+            "{\"value\":[{\"subject\":\"Test Event: 1\"},{\"subject\":\"Test Event: 2\"},{\"subject\":\"Test Event: 3\"}]}");
+        List<String> processed = new ArrayList<>();
+        AtomicBoolean failed = new AtomicBoolean(false);
+
+        pageIterator = new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+            .requestAdapter(mockAdapter)
+            .collectionPage(originalPage)
+            .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+            .streamingDeserialization(TestEventItem::createFromDiscriminatorValue)
+            .processPageItemCallback(item -> {
+                if(item.getSubject().equals("Test Event: 2") && failed.compareAndSet(false, true)) {
+                    throw new IllegalStateException("Unable to process the item.");
+                }
+                return processed.add(item.getSubject());
+            })
+            .build();
+
+        assertThrows(IllegalStateException.class, pageIterator::iterate);
+        assertTrue(responseClosed.get());
+
+        pageIterator.resume();
+
+        assertEquals(PageIterator.PageIteratorState.COMPLETE, pageIterator.getPageIteratorState());
+        assertEquals(3, processed.size());
+        assertEquals("Test Event: 3", processed.get(2));
+        assertEquals(1, mockAdapter.requestCount("http://localhost/events?$skip=1"));
+    }
+    @Test
+    void given_StreamingDeserialization_With_Prefetch_Will_Throw_IllegalArgumentException() {
+        PageIterator.Builder<TestEventItem, TestEventsResponse> builder = new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+            .client(baseClient)
+            .collectionPage(createPage("Test Event: ", 1, null))
+            .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+            .streamingDeserialization(TestEventItem::createFromDiscriminatorValue)
+            .prefetchDepth(1);
+
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+    @Test
+    void given_ProcessPageCallback_It_Delivers_Each_Page_At_Once() throws ReflectiveOperationException {
+        TestEventsResponse originalPage = createPage("Test Event: ", 3, "http://localhost/events?$skip=3");
+        TestEventsResponse secondPage = createPage("Second Page Test Event: ", 2, "http://localhost/events?$skip=5");
+        TestEventsResponse thirdPage = createPage("Third Page Test Event: ", 4, null);
+        MockPagedAdapter mockAdapter = new MockPagedAdapter(mock(AuthenticationProvider.class));
+        mockAdapter.pages.put("http://localhost/events?$skip=3", secondPage);
+        mockAdapter.pages.put("http://localhost/events?$skip=5", thirdPage);
+        List<List<String>> pages = new ArrayList<>();
+
+        pageIterator = new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+            .requestAdapter(mockAdapter)
+            .collectionPage(originalPage)
+            .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+            .processPageCallback(pageItems -> {
+                pages.add(pageItems.stream().map(TestEventItem::getSubject).collect(Collectors.toList()));
+                return pages.size() != 2;
+            })
+            .build();
+        pageIterator.iterate();
+
+        assertEquals(PageIterator.PageIteratorState.PAUSED, pageIterator.getPageIteratorState());
+        assertEquals(0, mockAdapter.requestCount("http://localhost/events?$skip=5"));
+
+        pageIterator.resume();
+
+        assertEquals(PageIterator.PageIteratorState.COMPLETE, pageIterator.getPageIteratorState());
+        assertEquals(3, pages.size());
+        assertEquals(3, pages.get(0).size());
+        assertEquals(2, pages.get(1).size());
+        assertEquals("Third Page Test Event: 3", pages.get(2).get(3));
+    }
+    @Test
+    void given_Both_Callbacks_Will_Throw_IllegalArgumentException() {
+        PageIterator.Builder<TestEventItem, TestEventsResponse> builder = new PageIterator.Builder<TestEventItem, TestEventsResponse>()
+            .client(baseClient)
+            .collectionPage(createPage("Test Event: ", 1, null))
+            .collectionPageFactory(TestEventsResponse::createFromDiscriminatorValue)
+            .processPageItemCallback(item -> true)
+            .processPageCallback(pageItems -> true);
+
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+    private static TestEventsResponse createPage(String subjectPrefix, int itemCount, String nextLink) {
+        TestEventsResponse page = new TestEventsResponse();
+        page.setValue(new LinkedList<>());
+        page.setOdataNextLink(nextLink);
+        for(int i = 0; i < itemCount; i++) {
+            TestEventItem testEventItem = new TestEventItem();
+            testEventItem.setSubject(subjectPrefix + i);
+            page.getValue().add(testEventItem);
+        }
+        return page;
+    }
+    private static TestEventsDeltaResponse createDeltaPage(int pageIndex, String nextLink) {
+        TestEventsDeltaResponse page = new TestEventsDeltaResponse();
+        page.setValue(new LinkedList<>());
+        page.setOdataNextLink(nextLink);
+        if(nextLink == null) {
+            page.setOdataDeltaLink("http://localhost/events?$deltatoken=1");
+        }
+        TestEventItem testEventItem = new TestEventItem();
+        testEventItem.setSubject("Test Event: " + pageIndex);
+        page.getValue().add(testEventItem);
+        return page;
+    }
 }
     class MockAdapter extends OkHttpRequestAdapter {
         Object mockResponse;
@@ -403,3 +888,32 @@ class PageIteratorTest {
             return (T) this.mockResponse;
         }
     }
+    class MockPagedAdapter extends OkHttpRequestAdapter {
+        final Map<String, Object> pages = new ConcurrentHashMap<>();
+        final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+        final Map<String, CountDownLatch> requestLatches = new ConcurrentHashMap<>();
+        final Map<String, String> responseBodies = new ConcurrentHashMap<>();
+        public MockPagedAdapter(@Nonnull AuthenticationProvider authenticationProvider) {
+            super(authenticationProvider);
+        }
+
+        public <T extends Parsable> T send(@Nonnull RequestInformation request, @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings, @Nonnull ParsableFactory<T> parsableFactory) {
+            requests.computeIfAbsent(request.urlTemplate, k -> new AtomicInteger()).incrementAndGet();
+            requestLatches.computeIfAbsent(request.urlTemplate, k -> new CountDownLatch(1)).countDown();
+            return (T) this.pages.get(request.urlTemplate);
+        }
+
+        public <ModelType> ModelType sendPrimitive(@Nonnull RequestInformation request, @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings, @Nonnull Class<ModelType> targetClass) {
+            requests.computeIfAbsent(request.urlTemplate, k -> new AtomicInteger()).incrementAndGet();
+            return (ModelType) new ByteArrayInputStream(this.responseBodies.get(request.urlTemplate).getBytes(StandardCharsets.UTF_8));
+        }
+
+        int requestCount(String url) {
+            AtomicInteger count = requests.get(url);
+            return count == null ? 0 : count.get();
+        }
+
+        boolean awaitRequest(String url) throws InterruptedException {
+            return requestLatches.computeIfAbsent(url, k -> new CountDownLatch(1)).await(5, TimeUnit.SECONDS);
+        }
+    }
@@ -0,0 +1,56 @@
+package com.microsoft.graph.core.tasks;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SliceBufferPoolTest {
+
+    private static final int INCREMENT = (int) AdaptiveSliceSizer.SLICE_SIZE_INCREMENT;
+
+    @Test
+    void reusesTheSmallestBufferThatIsLargeEnough() {
+        SliceBufferPool pool = new SliceBufferPool(4L * INCREMENT);
+        byte[] small = pool.acquire(100);
+        byte[] large = pool.acquire(INCREMENT + 1);
+        pool.release(large);
+        pool.release(small);
+        assertEquals(3L * INCREMENT, pool.getPooledBytes());
+
+        assertSame(large, pool.acquire(INCREMENT + 200));
+        assertEquals(INCREMENT, pool.getPooledBytes());
+        assertSame(small, pool.acquire(50));
+        assertEquals(0, pool.getPooledBytes());
+    }
+    @Test
+    void allocatesWhenNoPooledBufferIsLargeEnough() {
+        SliceBufferPool pool = new SliceBufferPool(4L * INCREMENT);
+        byte[] small = pool.acquire(100);
+        pool.release(small);
+
+        byte[] buffer = pool.acquire(INCREMENT + 1);
+        assertNotSame(small, buffer);
+        assertEquals(2 * INCREMENT, buffer.length);
+        assertEquals(INCREMENT, pool.getPooledBytes());
+    }
+    @Test
+    void roundsAllocationsUpToTheSliceSizeIncrement() {
+        SliceBufferPool pool = new SliceBufferPool(0);
+        assertEquals(INCREMENT, pool.acquire(0).length);
+        assertEquals(INCREMENT, pool.acquire(INCREMENT).length);
+        assertEquals(3 * INCREMENT, pool.acquire(3 * INCREMENT - 5).length);
+        assertEquals(AdaptiveSliceSizer.MAX_SLICE_SIZE, SliceBufferPool.getAllocationLength(AdaptiveSliceSizer.MAX_SLICE_SIZE - 1));
+    }
+    @Test
+    void dropsBuffersBeyondTheMaximumPooledBytes() {
+        SliceBufferPool pool = new SliceBufferPool(300);
+        pool.release(new byte[200]);
+        pool.release(new byte[200]);
+        assertEquals(200, pool.getPooledBytes());
+
+        assertThrows(IllegalArgumentException.class, () -> new SliceBufferPool(-1));
+    }
+}
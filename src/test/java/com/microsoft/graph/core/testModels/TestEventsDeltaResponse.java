@@ -34,6 +34,7 @@ public class TestEventsDeltaResponse extends BaseCollectionPaginationCountRespon
 
     public Map<String, Consumer<ParseNode>> getFieldDeserializers() {
         final HashMap<String, java.util.function.Consumer<ParseNode>> deserializerMap = new HashMap<String, java.util.function.Consumer<ParseNode>>(super.getFieldDeserializers());
+        deserializerMap.put("@odata.deltaLink", (n) -> { this.setOdataDeltaLink(n.getStringValue()); });
         deserializerMap.put("value", (n) -> { this.setValue(n.getCollectionOfObjectValues(TestEventItem::createFromDiscriminatorValue)); });
         return deserializerMap;
     }